@@ -3,22 +3,21 @@ package dev.akorovai.backend.auth;
 
 import dev.akorovai.backend.auth.dto.AuthenticationResponse;
 import dev.akorovai.backend.auth.dto.RegistrationRequest;
-import dev.akorovai.backend.emailToken.EmailService;
+import dev.akorovai.backend.emailToken.AccountEmailPayload;
 import dev.akorovai.backend.emailToken.EmailToken;
 import dev.akorovai.backend.emailToken.EmailTokenRepository;
-import dev.akorovai.backend.handler.email.EmailSendingException;
-import dev.akorovai.backend.handler.email.EmailTemplateException;
 import dev.akorovai.backend.handler.general.UniqueConstraintViolationException;
 import dev.akorovai.backend.handler.refresh_token.TokenExpiredException;
 import dev.akorovai.backend.handler.refresh_token.TokenNotFoundException;
 import dev.akorovai.backend.handler.role.RoleNotFoundException;
+import dev.akorovai.backend.outbox.OutboxEventType;
+import dev.akorovai.backend.outbox.OutboxService;
 import dev.akorovai.backend.refresh_token.RefreshTokenService;
 import dev.akorovai.backend.role.RoleRepository;
 import dev.akorovai.backend.security.JwtService;
 import dev.akorovai.backend.security.ResponseRecord;
 import dev.akorovai.backend.user.User;
 import dev.akorovai.backend.user.UserRepository;
-import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,7 +30,6 @@ import org.springframework.security.core.Authentication;
 import dev.akorovai.backend.auth.dto.AuthenticationRequest;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -54,7 +52,7 @@ public class AuthenticationService {
 	private final AuthenticationManager authenticationManager;
 	private final RoleRepository roleRepository;
 	private final EmailTokenRepository emailTokenRepository;
-	private final EmailService emailService;
+	private final OutboxService outboxService;
 	private final SecureRandom secureRandom = new SecureRandom();
 	private final RefreshTokenService refreshTokenService;
 
@@ -137,7 +135,7 @@ public class AuthenticationService {
 				       .refreshToken(refreshToken.getToken()).build();
 	}
 
-	@Transactional
+	@Transactional(noRollbackFor = TokenExpiredException.class)
 	public String activateAccount(String token) {
 		log.info("Attempting to activate account with token: {}", token);
 		EmailToken savedEmailToken = findTokenOrThrow(token);
@@ -151,6 +149,7 @@ public class AuthenticationService {
 	}
 
 
+	@Transactional
 	public String recoverAccount(String email) {
 		log.info("Initiating account recovery for email: {}", email);
 		userRepository.findByEmail(email).ifPresentOrElse(
@@ -160,7 +159,7 @@ public class AuthenticationService {
 		return "Message has been sent!";
 	}
 
-	@Transactional
+	@Transactional(noRollbackFor = TokenExpiredException.class)
 	public ResponseRecord changeUserPassword( String token, String password) {
 		log.info("Attempting to change password using token: {}", token);
 		EmailToken savedEmailToken = findTokenOrThrow(token);
@@ -195,26 +194,18 @@ public class AuthenticationService {
 
 	protected void sendValidationEmail( User user ) {
 		log.info("Sending validation email to user: {}", user.getEmail());
-		sendEmail(user, ACTIVATION_TOKEN_LENGTH, emailService::sendValidationEmail);
+		sendEmail(user, ACTIVATION_TOKEN_LENGTH, OutboxEventType.ACCOUNT_ACTIVATION);
 	}
 
 	private void sendRecoveryEmail(User user) {
 		log.info("Sending recovery email to user: {}", user.getEmail());
-		sendEmail(user, RECOVERY_TOKEN_LENGTH, emailService::sendRecoveryEmail);
+		sendEmail(user, RECOVERY_TOKEN_LENGTH, OutboxEventType.ACCOUNT_RECOVERY);
 	}
 
-	void sendEmail( User user, int tokenLength, EmailSender emailSender ) {
-		try {
-			String token = generateAndSaveToken(user, tokenLength);
-			emailSender.sendEmail(token, user.getEmail());
-			log.info("Email sent successfully to user: {}", user.getEmail());
-		} catch ( IOException e) {
-			log.error("Error reading email template for user: {}. Error: {}", user.getEmail(), e.getMessage());
-			throw new EmailTemplateException("Error reading email template");
-		} catch (MessagingException e) {
-			log.error("Error sending email to user: {}. Error: {}", user.getEmail(), e.getMessage());
-			throw new EmailSendingException("Error sending email");
-		}
+	void sendEmail( User user, int tokenLength, OutboxEventType type ) {
+		String token = generateAndSaveToken(user, tokenLength);
+		outboxService.enqueue(type, new AccountEmailPayload(user.getEmail(), token));
+		log.info("Email queued for user: {}", user.getEmail());
 	}
 
 	protected EmailToken findTokenOrThrow( String token) {
@@ -271,9 +262,4 @@ public class AuthenticationService {
 		log.debug("Generated token of length: {}", length);
 		return token;
 	}
-
-	@FunctionalInterface
-	protected interface EmailSender {
-		void sendEmail(String token, String email) throws IOException, MessagingException;
-	}
 }
\ No newline at end of file
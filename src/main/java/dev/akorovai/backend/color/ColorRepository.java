@@ -0,0 +1,6 @@
+package dev.akorovai.backend.color;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ColorRepository extends JpaRepository<Color, Long> {
+}
@@ -11,16 +11,17 @@ import org.springframework.stereotype.Component;
 import java.util.Optional;
 
 @Component("auditorAware")
-public class ApplicationAuditAware implements AuditorAware<Long> {
+public class ApplicationAuditAware implements AuditorAware<String> {
 	@NonNull
 	@Override
-	public Optional<Long> getCurrentAuditor() {
+	public Optional<String> getCurrentAuditor() {
 		return Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
 				       .filter(this::isValidAuthentication)
 				       .map(Authentication::getPrincipal)
 				       .filter(User.class::isInstance)
 				       .map(User.class::cast)
-				       .map(User::getId);
+				       .map(User::getId)
+				       .map(String::valueOf);
 	}
 
 	private boolean isValidAuthentication(Authentication authentication) {
@@ -0,0 +1,122 @@
+package dev.akorovai.backend.dictionary;
+
+import dev.akorovai.backend.color.Color;
+import dev.akorovai.backend.color.ColorRepository;
+import dev.akorovai.backend.product.Gender;
+import dev.akorovai.backend.product.Size;
+import dev.akorovai.backend.type.Type;
+import dev.akorovai.backend.type.TypeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DictionaryService {
+	private static final Map<String, Gender> GENDERS = enumLookup(Gender.values(), Gender::getDisplayName);
+	private static final Map<String, Size> SIZES = enumLookup(Size.values(), Size::getDisplayName);
+
+	private final TypeRepository typeRepository;
+	private final ColorRepository colorRepository;
+
+	private volatile Dictionary dictionary;
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${application.dictionary.refresh-interval}",
+			initialDelayString = "${application.dictionary.refresh-interval}")
+	public synchronized void refresh() {
+		try {
+			dictionary = load();
+			log.info("Dictionary refreshed with {} types and {} colors", dictionary.types().size(), dictionary.colors().size());
+		} catch (RuntimeException e) {
+			log.error("Failed to refresh dictionary: {}", e.getMessage());
+		}
+	}
+
+	public Optional<Type> findType(String name) {
+		return lookup(current().types(), name)
+				       .map(entry -> Type.builder().id(entry.id()).name(entry.name()).build());
+	}
+
+	public Optional<Long> findTypeId(String name) {
+		return lookup(current().types(), name).map(Entry::id);
+	}
+
+	public Optional<Color> findColor(String name) {
+		return lookup(current().colors(), name)
+				       .map(entry -> Color.builder().id(entry.id()).name(entry.name()).code(entry.code()).build());
+	}
+
+	public Optional<Long> findColorId(String name) {
+		return lookup(current().colors(), name).map(Entry::id);
+	}
+
+	public Optional<Gender> findGender(String name) {
+		return lookup(GENDERS, name);
+	}
+
+	public Optional<Size> findSize(String name) {
+		return lookup(SIZES, name);
+	}
+
+	private Dictionary current() {
+		Dictionary loaded = dictionary;
+		if (loaded != null) {
+			return loaded;
+		}
+		synchronized (this) {
+			if (dictionary == null) {
+				dictionary = load();
+			}
+			return dictionary;
+		}
+	}
+
+	private Dictionary load() {
+		Map<String, Entry> types = typeRepository.findAll().stream()
+				                           .sorted(Comparator.comparing(Type::getId))
+				                           .collect(Collectors.toMap(type -> key(type.getName()),
+						                           type -> new Entry(type.getId(), type.getName(), null),
+						                           (first, second) -> first));
+		Map<String, Entry> colors = colorRepository.findAll().stream()
+				                            .sorted(Comparator.comparing(Color::getId))
+				                            .collect(Collectors.toMap(color -> key(color.getName()),
+						                            color -> new Entry(color.getId(), color.getName(), color.getCode()),
+						                            (first, second) -> first));
+		return new Dictionary(Map.copyOf(types), Map.copyOf(colors));
+	}
+
+	private static <T> Optional<T> lookup(Map<String, T> values, String name) {
+		if (name == null) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(values.get(key(name)));
+	}
+
+	private static <E extends Enum<E>> Map<String, E> enumLookup(E[] values, Function<E, String> displayName) {
+		Map<String, E> lookup = new HashMap<>();
+		for (E value : values) {
+			lookup.put(key(value.name()), value);
+			lookup.putIfAbsent(key(displayName.apply(value)), value);
+		}
+		return Map.copyOf(lookup);
+	}
+
+	private static String key(String name) {
+		return name.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private record Entry(Long id, String name, String code) {
+	}
+
+	private record Dictionary(Map<String, Entry> types, Map<String, Entry> colors) {
+	}
+}
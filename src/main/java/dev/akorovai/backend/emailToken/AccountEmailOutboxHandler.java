@@ -0,0 +1,33 @@
+package dev.akorovai.backend.emailToken;
+
+import dev.akorovai.backend.outbox.OutboxEvent;
+import dev.akorovai.backend.outbox.OutboxEventType;
+import dev.akorovai.backend.outbox.OutboxHandler;
+import dev.akorovai.backend.outbox.OutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class AccountEmailOutboxHandler implements OutboxHandler {
+
+	private final EmailService emailService;
+	private final OutboxService outboxService;
+
+	@Override
+	public Set<OutboxEventType> types() {
+		return Set.of(OutboxEventType.ACCOUNT_ACTIVATION, OutboxEventType.ACCOUNT_RECOVERY);
+	}
+
+	@Override
+	public void handle( OutboxEvent event ) throws Exception {
+		AccountEmailPayload payload = outboxService.readPayload(event, AccountEmailPayload.class);
+		if ( event.getType() == OutboxEventType.ACCOUNT_ACTIVATION ) {
+			emailService.sendValidationEmail(payload.token(), payload.email());
+		} else {
+			emailService.sendRecoveryEmail(payload.token(), payload.email());
+		}
+	}
+}
@@ -0,0 +1,4 @@
+package dev.akorovai.backend.emailToken;
+
+public record AccountEmailPayload(String email, String token) {
+}
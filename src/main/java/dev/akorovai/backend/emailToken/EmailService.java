@@ -10,7 +10,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -18,6 +17,7 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 
 import static dev.akorovai.backend.emailToken.TemplatePath.ACTIVATION;
+import static dev.akorovai.backend.emailToken.TemplatePath.ORDER_CONFIRMATION;
 import static dev.akorovai.backend.emailToken.TemplatePath.RECOVERY;
 
 
@@ -26,7 +26,8 @@ import static dev.akorovai.backend.emailToken.TemplatePath.RECOVERY;
 enum TemplatePath {
 
 	RECOVERY("templates/recovery-mail.html", "${resetToken}"),
-	ACTIVATION("templates/activation-mail.html", "${activationToken}");
+	ACTIVATION("templates/activation-mail.html", "${activationToken}"),
+	ORDER_CONFIRMATION("templates/order-confirmation-mail.html", "${orderId}");
 
 	private final String path;
 	private final String placeHolder;
@@ -44,8 +45,9 @@ public class EmailService {
 	private String recoveryTitle;
 	@Value("${spring.mail.validation-title}")
 	private String validationTitle;
+	@Value("${spring.mail.order-confirmation-title}")
+	private String orderConfirmationTitle;
 
-	@Async
 	public void sendRecoveryEmail(String emailToken, String to) throws IOException, MessagingException {
 		log.info("Preparing to send recovery email to: {}", to);
 
@@ -55,7 +57,6 @@ public class EmailService {
 		log.info("Recovery email successfully sent to: {}", to);
 	}
 
-	@Async
 	public void sendValidationEmail(String emailToken, String to) throws IOException, MessagingException {
 		log.info("Preparing to send validation email to: {}", to);
 
@@ -65,6 +66,15 @@ public class EmailService {
 		log.info("Validation email successfully sent to: {}", to);
 	}
 
+	public void sendOrderConfirmationEmail(Long orderId, String to) throws IOException, MessagingException {
+		log.info("Preparing to send order confirmation email for order {} to: {}", orderId, to);
+
+		String htmlBody = prepareEmailBody(ORDER_CONFIRMATION.getPath(), String.valueOf(orderId), ORDER_CONFIRMATION.getPlaceHolder());
+		sendEmail(to, htmlBody, orderConfirmationTitle);
+
+		log.info("Order confirmation email successfully sent to: {}", to);
+	}
+
 	protected String prepareEmailBody( String templatePath, String emailToken, String tokenPlaceholder ) throws IOException {
 		log.debug("Preparing email body using template: {}", templatePath);
 
@@ -0,0 +1,46 @@
+package dev.akorovai.backend.flash_sale;
+
+import dev.akorovai.backend.flash_sale.response.FlashSaleResponse;
+import dev.akorovai.backend.security.ResponseRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/products/{productId}/flash-sale")
+@RequiredArgsConstructor
+public class FlashSaleController {
+
+    private final FlashSaleService flashSaleService;
+
+    @GetMapping
+    public ResponseEntity<ResponseRecord> getFlashSaleStatus(@PathVariable long productId) {
+        FlashSaleResponse response = flashSaleService.getStatus(productId);
+        ResponseRecord responseRecord = ResponseRecord.builder()
+                                                .code(HttpStatus.OK.value())
+                                                .message(response)
+                                                .build();
+        return ResponseEntity.ok(responseRecord);
+    }
+
+    @PostMapping
+    public ResponseEntity<ResponseRecord> startFlashSale(@PathVariable long productId) {
+        FlashSaleResponse response = flashSaleService.start(productId);
+        ResponseRecord responseRecord = ResponseRecord.builder()
+                                                .code(HttpStatus.OK.value())
+                                                .message(response)
+                                                .build();
+        return ResponseEntity.ok(responseRecord);
+    }
+
+    @DeleteMapping
+    public ResponseEntity<ResponseRecord> stopFlashSale(@PathVariable long productId) {
+        FlashSaleResponse response = flashSaleService.stop(productId);
+        ResponseRecord responseRecord = ResponseRecord.builder()
+                                                .code(HttpStatus.OK.value())
+                                                .message(response)
+                                                .build();
+        return ResponseEntity.ok(responseRecord);
+    }
+}
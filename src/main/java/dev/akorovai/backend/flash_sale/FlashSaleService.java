@@ -0,0 +1,170 @@
+package dev.akorovai.backend.flash_sale;
+
+import dev.akorovai.backend.flash_sale.response.FlashSaleResponse;
+import dev.akorovai.backend.handler.flash_sale.FlashSaleAlreadyActiveException;
+import dev.akorovai.backend.handler.product.ProductNotFoundException;
+import dev.akorovai.backend.product.Product;
+import dev.akorovai.backend.product.ProductChange;
+import dev.akorovai.backend.product.ProductChangedEvent;
+import dev.akorovai.backend.product.ProductRepository;
+import dev.akorovai.backend.product.ProductStockRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlashSaleService {
+
+	private final ProductRepository productRepository;
+	private final ProductStockRepository productStockRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+	private final MeterRegistry meterRegistry;
+
+	private final Map<Long, StripedStockCounter> counters = new ConcurrentHashMap<>();
+	private final Map<Long, AtomicInteger> pendingDecrements = new ConcurrentHashMap<>();
+
+	@Value("${application.flash-sale.stripes}")
+	private int stripes;
+
+	// Counters live in this JVM only. Each replica gets an equal share of the stock, so the sale has to be
+	// started on every replica and the shares together never exceed what the database holds.
+	@Value("${application.flash-sale.replicas}")
+	private int replicas;
+
+	// Restarting would rebuild the counter from the database amount while admitted units are still pending, re-admitting them.
+	public synchronized FlashSaleResponse start(Long productId) {
+		if (counters.containsKey(productId)) {
+			throw new FlashSaleAlreadyActiveException("Flash sale is already active for product with ID: " + productId);
+		}
+		flush();
+		Product product = productRepository.findById(productId)
+				                  .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + productId));
+
+		StripedStockCounter counter = new StripedStockCounter(product.getAmount() / Math.max(replicas, 1), stripes);
+		counters.put(productId, counter);
+		log.info("Flash sale started for product {} with {} units", productId, counter.available());
+		return toResponse(productId, true, counter);
+	}
+
+	public synchronized FlashSaleResponse stop(Long productId) {
+		StripedStockCounter counter = counters.remove(productId);
+		flush();
+		log.info("Flash sale stopped for product {}", productId);
+		return toResponse(productId, false, counter);
+	}
+
+	public FlashSaleResponse getStatus(Long productId) {
+		StripedStockCounter counter = counters.get(productId);
+		return toResponse(productId, counter != null, counter);
+	}
+
+	public Admission admit(Map<Long, Integer> quantitiesByProductId) {
+		if (counters.isEmpty()) {
+			return new Admission(quantitiesByProductId, List.of());
+		}
+
+		Map<Long, Integer> databaseQuantities = new TreeMap<>();
+		Map<Long, Integer> acquired = new TreeMap<>();
+		Map<StripedStockCounter, Integer> acquiredCounters = new IdentityHashMap<>();
+		for (Map.Entry<Long, Integer> line : quantitiesByProductId.entrySet()) {
+			StripedStockCounter counter = counters.get(line.getKey());
+			if (counter == null) {
+				databaseQuantities.put(line.getKey(), line.getValue());
+			} else if (counter.tryAcquire(line.getValue())) {
+				acquired.put(line.getKey(), line.getValue());
+				acquiredCounters.put(counter, line.getValue());
+			} else {
+				acquiredCounters.forEach(StripedStockCounter::release);
+				return new Admission(Map.of(), List.of(line.getKey()));
+			}
+		}
+
+		if (!acquired.isEmpty()) {
+			onCompletion(committed -> {
+				if (committed) {
+					acquired.forEach((productId, quantity) ->
+							pendingDecrements.computeIfAbsent(productId, id -> new AtomicInteger()).addAndGet(quantity));
+				} else {
+					acquiredCounters.forEach(StripedStockCounter::release);
+				}
+			});
+		}
+		return new Admission(databaseQuantities, List.of());
+	}
+
+	@Scheduled(fixedDelayString = "${application.flash-sale.flush-interval}")
+	@PreDestroy
+	public synchronized void flush() {
+		Map<Long, Integer> decrements = new TreeMap<>();
+		pendingDecrements.forEach((productId, pending) -> {
+			int quantity = pending.getAndSet(0);
+			if (quantity > 0) {
+				decrements.put(productId, quantity);
+			}
+		});
+		if (decrements.isEmpty()) {
+			return;
+		}
+
+		try {
+			List<Long> rejectedIds = transactionTemplate.execute(status -> {
+				List<Long> rejected = productStockRepository.decrementStock(decrements);
+				Map<Long, Integer> oversold = new TreeMap<>();
+				rejected.forEach(productId -> oversold.put(productId, decrements.get(productId)));
+				productStockRepository.clampStock(oversold);
+				return rejected;
+			});
+			if (rejectedIds != null && !rejectedIds.isEmpty()) {
+				rejectedIds.forEach(productId -> meterRegistry.counter("flash_sale.stock.oversold", "product", productId.toString())
+						                                 .increment(decrements.get(productId)));
+				log.error("Flash sale sold more units than the database holds for products {}; stock clamped to zero", rejectedIds);
+			}
+			eventPublisher.publishEvent(ProductChangedEvent.of(ProductChange.STOCK_CHANGED, decrements.keySet()));
+			log.info("Flushed flash sale stock for {} products", decrements.size());
+		} catch (RuntimeException e) {
+			decrements.forEach((productId, quantity) ->
+					pendingDecrements.computeIfAbsent(productId, id -> new AtomicInteger()).addAndGet(quantity));
+			log.error("Failed to flush flash sale stock, will retry: {}", e.getMessage());
+		}
+	}
+
+	private void onCompletion(Consumer<Boolean> callback) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			callback.accept(true);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				callback.accept(status == STATUS_COMMITTED);
+			}
+		});
+	}
+
+	private static FlashSaleResponse toResponse(Long productId, boolean active, StripedStockCounter counter) {
+		return FlashSaleResponse.builder()
+				       .productId(productId)
+				       .active(active)
+				       .availableStock(counter != null ? counter.available() : 0)
+				       .build();
+	}
+
+	public record Admission(Map<Long, Integer> databaseQuantities, List<Long> rejectedIds) {
+	}
+}
@@ -0,0 +1,61 @@
+package dev.akorovai.backend.flash_sale;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+final class StripedStockCounter {
+	private final AtomicIntegerArray stripes;
+
+	StripedStockCounter(int stock, int stripeCount) {
+		if (stripeCount < 1) {
+			throw new IllegalArgumentException("Stripe count must be positive: " + stripeCount);
+		}
+		this.stripes = new AtomicIntegerArray(stripeCount);
+		int remaining = Math.max(stock, 0);
+		for (int i = 0; i < stripeCount; i++) {
+			int share = remaining / (stripeCount - i);
+			stripes.set(i, share);
+			remaining -= share;
+		}
+	}
+
+	boolean tryAcquire(int quantity) {
+		int count = stripes.length();
+		int home = ThreadLocalRandom.current().nextInt(count);
+		int[] taken = new int[count];
+		int needed = quantity;
+		for (int offset = 0; offset < count && needed > 0; offset++) {
+			int stripe = (home + offset) % count;
+			int current;
+			int take;
+			do {
+				current = stripes.get(stripe);
+				take = Math.min(current, needed);
+			} while (take > 0 && !stripes.compareAndSet(stripe, current, current - take));
+			taken[stripe] = take;
+			needed -= take;
+		}
+
+		if (needed > 0) {
+			for (int stripe = 0; stripe < count; stripe++) {
+				if (taken[stripe] > 0) {
+					stripes.addAndGet(stripe, taken[stripe]);
+				}
+			}
+			return false;
+		}
+		return true;
+	}
+
+	void release(int quantity) {
+		stripes.addAndGet(ThreadLocalRandom.current().nextInt(stripes.length()), quantity);
+	}
+
+	int available() {
+		int available = 0;
+		for (int i = 0; i < stripes.length(); i++) {
+			available += stripes.get(i);
+		}
+		return available;
+	}
+}
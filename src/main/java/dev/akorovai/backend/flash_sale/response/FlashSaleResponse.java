@@ -0,0 +1,14 @@
+package dev.akorovai.backend.flash_sale.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class FlashSaleResponse {
+	private Long productId;
+	private boolean active;
+	private int availableStock;
+}
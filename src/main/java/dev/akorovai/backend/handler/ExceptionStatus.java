@@ -4,12 +4,16 @@ package dev.akorovai.backend.handler;
 import dev.akorovai.backend.handler.azure.FileTypeException;
 import dev.akorovai.backend.handler.email.EmailSendingException;
 import dev.akorovai.backend.handler.email.EmailTemplateException;
+import dev.akorovai.backend.handler.flash_sale.FlashSaleAlreadyActiveException;
 import dev.akorovai.backend.handler.general.UniqueConstraintViolationException;
+import dev.akorovai.backend.handler.order.CheckoutNotFoundException;
+import dev.akorovai.backend.handler.order.CheckoutQueueFullException;
 import dev.akorovai.backend.handler.order.NoOrdersFoundException;
 import dev.akorovai.backend.handler.product.ProductNotFoundException;
 import dev.akorovai.backend.handler.refresh_token.TokenExpiredException;
 import dev.akorovai.backend.handler.refresh_token.TokenNotFoundException;
 import dev.akorovai.backend.handler.refresh_token.TokenRefreshException;
+import dev.akorovai.backend.handler.sales.InvalidDateRangeException;
 import dev.akorovai.backend.handler.shopping_cart.InsufficientStockException;
 import dev.akorovai.backend.handler.shopping_cart.ShoppingCartItemNotFoundException;
 import dev.akorovai.backend.handler.shopping_cart.UnauthorizedItemDeletionException;
@@ -34,6 +38,7 @@ public enum ExceptionStatus {
 	ROLE_NOT_FOUND(RoleNotFoundException.class, NOT_FOUND),
 	TOKEN_NOT_FOUND(TokenNotFoundException.class, NOT_FOUND),
 	ORDERS_NOT_FOUND(NoOrdersFoundException.class, NOT_FOUND),
+	CHECKOUT_NOT_FOUND(CheckoutNotFoundException.class, NOT_FOUND),
 	PRODUCT_NOT_FOUND(ProductNotFoundException.class, NOT_FOUND),
 	SHOPPING_CART_ITEM_NOT_FOUND(ShoppingCartItemNotFoundException.class, NOT_FOUND),
 
@@ -44,6 +49,7 @@ public enum ExceptionStatus {
 	TOKEN_REFRESH(TokenRefreshException.class, BAD_REQUEST),
 	TOKEN_EXPIRED(TokenExpiredException.class, BAD_REQUEST),
 	INSUFFICIENT_STOCK(InsufficientStockException.class, BAD_REQUEST),
+	INVALID_DATE_RANGE(InvalidDateRangeException.class, BAD_REQUEST),
 
 
 	FILE_TYPE_EXCEPTION(FileTypeException.class, BAD_REQUEST),
@@ -53,6 +59,10 @@ public enum ExceptionStatus {
 	UNAUTHORIZED_ITEM_MODIFICATION(UnauthorizedItemModificationException.class, UNAUTHORIZED),
 	// CONFLICT
 	UNIQUE_CONSTRAINT_VIOLATION(UniqueConstraintViolationException.class, CONFLICT),
+	FLASH_SALE_ALREADY_ACTIVE(FlashSaleAlreadyActiveException.class, CONFLICT),
+
+	// SERVICE_UNAVAILABLE
+	CHECKOUT_QUEUE_FULL(CheckoutQueueFullException.class, SERVICE_UNAVAILABLE),
 
 	// INTERNAL_SERVER_ERROR
 	EMAIL_TEMPLATE(EmailTemplateException.class, INTERNAL_SERVER_ERROR),
@@ -0,0 +1,10 @@
+package dev.akorovai.backend.handler.flash_sale;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper=false)
+public class FlashSaleAlreadyActiveException extends RuntimeException {
+	private final String message;
+}
@@ -0,0 +1,10 @@
+package dev.akorovai.backend.handler.order;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper=false)
+public class CheckoutQueueFullException extends RuntimeException {
+	private final String message;
+}
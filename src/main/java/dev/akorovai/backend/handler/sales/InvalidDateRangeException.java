@@ -0,0 +1,10 @@
+package dev.akorovai.backend.handler.sales;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper=false)
+public class InvalidDateRangeException extends RuntimeException {
+	private final String message;
+}
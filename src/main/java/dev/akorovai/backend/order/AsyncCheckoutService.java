@@ -0,0 +1,261 @@
+package dev.akorovai.backend.order;
+
+import dev.akorovai.backend.handler.ExceptionStatus;
+import dev.akorovai.backend.handler.order.CheckoutNotFoundException;
+import dev.akorovai.backend.handler.order.CheckoutQueueFullException;
+import dev.akorovai.backend.order.request.CreateOrderRequest;
+import dev.akorovai.backend.order.response.CheckoutStatusResponse;
+import dev.akorovai.backend.order.response.OrderResponse;
+import dev.akorovai.backend.security.JwtService;
+import dev.akorovai.backend.user.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+// Checkout status is persisted so that any replica can answer a poll; the queue itself stays node-local.
+@Slf4j
+@Service
+public class AsyncCheckoutService {
+	private static final long POLL_TIMEOUT_MS = 500;
+	private static final String CHECKOUT_FAILED_MESSAGE = "Checkout could not be completed, please try again later.";
+
+	private final OrderService orderService;
+	private final JwtService jwtService;
+	private final CheckoutStateRepository checkoutStateRepository;
+	private final BlockingQueue<CheckoutTask> queue;
+	private final Map<Long, String> queuedByUser = new ConcurrentHashMap<>();
+	private final ExecutorService workers;
+	private final int workerCount;
+	private final int batchSize;
+	private final Duration statusTtl;
+	private final Duration shutdownTimeout;
+	private volatile boolean running = true;
+
+	public AsyncCheckoutService( OrderService orderService, JwtService jwtService,
+	                             CheckoutStateRepository checkoutStateRepository, MeterRegistry meterRegistry,
+	                             @Value("${application.checkout.queue-capacity}") int queueCapacity,
+	                             @Value("${application.checkout.workers}") int workerCount,
+	                             @Value("${application.checkout.batch-size}") int batchSize,
+	                             @Value("${application.checkout.status-ttl}") Duration statusTtl,
+	                             @Value("${application.checkout.shutdown-timeout}") Duration shutdownTimeout ) {
+		this.orderService = orderService;
+		this.jwtService = jwtService;
+		this.checkoutStateRepository = checkoutStateRepository;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.workers = Executors.newFixedThreadPool(workerCount);
+		this.workerCount = workerCount;
+		this.batchSize = batchSize;
+		this.statusTtl = statusTtl;
+		this.shutdownTimeout = shutdownTimeout;
+		meterRegistry.gaugeCollectionSize("orders.checkout.queue", Tags.empty(), queue);
+	}
+
+	public CheckoutStatusResponse submit( CreateOrderRequest request ) {
+		User user = jwtService.getAuthenticatedUser();
+		validate(request);
+		if ( !running ) {
+			throw new CheckoutQueueFullException("Checkout is shutting down, please retry later.");
+		}
+
+		String token = UUID.randomUUID().toString();
+		String queuedToken = queuedByUser.putIfAbsent(user.getId(), token);
+		if ( queuedToken != null ) {
+			return status(queuedToken, CheckoutStatus.QUEUED, null, null);
+		}
+
+		CheckoutStatusResponse queued = status(token, CheckoutStatus.QUEUED, null, null);
+		try {
+			save(user.getId(), queued);
+		} catch ( RuntimeException e ) {
+			queuedByUser.remove(user.getId(), token);
+			throw e;
+		}
+		SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+		securityContext.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+		if ( !queue.offer(new CheckoutTask(token, user, request, securityContext)) ) {
+			checkoutStateRepository.deleteById(token);
+			queuedByUser.remove(user.getId(), token);
+			throw new CheckoutQueueFullException("Checkout queue is full, please retry later.");
+		}
+		return queued;
+	}
+
+	public CheckoutStatusResponse getStatus( String token ) {
+		User user = jwtService.getAuthenticatedUser();
+		LocalDateTime now = LocalDateTime.now();
+		return checkoutStateRepository.findById(token)
+				       .filter(state -> state.getUserId().equals(user.getId()) && state.getExpiresAt().isAfter(now))
+				       .map(state -> status(state.getToken(), state.getStatus(), state.getOrderId(), state.getError()))
+				       .orElseThrow(() -> new CheckoutNotFoundException("Checkout not found: " + token));
+	}
+
+	@Scheduled(fixedDelayString = "${application.checkout.status-sweep-interval}")
+	@Transactional
+	public void deleteExpiredStatuses() {
+		checkoutStateRepository.deleteExpired(LocalDateTime.now());
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		for ( int i = 0; i < workerCount; i++ ) {
+			workers.submit(this::drainLoop);
+		}
+		log.info("Started {} checkout workers", workerCount);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		running = false;
+		workers.shutdown();
+		try {
+			if ( !workers.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS) ) {
+				log.warn("Checkout workers did not stop within {}", shutdownTimeout);
+			}
+		} catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+		}
+
+		int drained = 0;
+		int placed;
+		while ( (placed = drain()) > 0 ) {
+			drained += placed;
+		}
+		if ( drained > 0 ) {
+			log.info("Placed {} queued checkouts during shutdown", drained);
+		}
+	}
+
+	int drain() {
+		CheckoutTask first = queue.poll();
+		if ( first == null ) {
+			return 0;
+		}
+		return drain(first);
+	}
+
+	private void drainLoop() {
+		while ( running && !Thread.currentThread().isInterrupted() ) {
+			try {
+				CheckoutTask task = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+				if ( task != null ) {
+					drain(task);
+				}
+			} catch ( InterruptedException e ) {
+				Thread.currentThread().interrupt();
+			} catch ( RuntimeException e ) {
+				log.error("Checkout worker failed: {}", e.getMessage());
+			}
+		}
+	}
+
+	private int drain( CheckoutTask first ) {
+		List<CheckoutTask> batch = new ArrayList<>(batchSize);
+		batch.add(first);
+		queue.drainTo(batch, batchSize - 1);
+
+		List<OrderResponse> orders;
+		try {
+			orders = orderService.createOrders(batch);
+		} catch ( RuntimeException e ) {
+			if ( batch.size() == 1 ) {
+				fail(batch.get(0), e);
+			} else {
+				log.info("Checkout batch of {} failed, placing orders one by one: {}", batch.size(), e.getMessage());
+				batch.forEach(this::placeAlone);
+			}
+			return batch.size();
+		}
+		for ( int i = 0; i < batch.size(); i++ ) {
+			complete(batch.get(i), orders.get(i));
+		}
+		return batch.size();
+	}
+
+	private void placeAlone( CheckoutTask task ) {
+		OrderResponse order;
+		try {
+			order = task.callAs(() -> orderService.createOrder(task.user(), task.request(), null));
+		} catch ( RuntimeException e ) {
+			fail(task, e);
+			return;
+		}
+		complete(task, order);
+	}
+
+	private void complete( CheckoutTask task, OrderResponse order ) {
+		finish(task, status(task.token(), CheckoutStatus.COMPLETED, order.getId(), null));
+	}
+
+	private void fail( CheckoutTask task, RuntimeException e ) {
+		log.warn("Checkout {} for user {} failed: {}", task.token(), task.user().getId(), e.getMessage());
+		finish(task, status(task.token(), CheckoutStatus.FAILED, null, errorMessage(e)));
+	}
+
+	// Never throws: the order is already placed or rejected, and a failure here must not send the task to a retry.
+	private void finish( CheckoutTask task, CheckoutStatusResponse status ) {
+		try {
+			save(task.user().getId(), status);
+		} catch ( RuntimeException e ) {
+			log.error("Failed to store checkout {} status {}: {}", task.token(), status.getStatus(), e.getMessage());
+		} finally {
+			queuedByUser.remove(task.user().getId(), task.token());
+		}
+	}
+
+	private void save( Long userId, CheckoutStatusResponse status ) {
+		checkoutStateRepository.save(CheckoutState.builder()
+				                             .token(status.getToken())
+				                             .userId(userId)
+				                             .status(status.getStatus())
+				                             .orderId(status.getOrderId())
+				                             .error(status.getError())
+				                             .expiresAt(LocalDateTime.now().plus(statusTtl))
+				                             .build());
+	}
+
+	// OrderService reports empty carts and missing stock as IllegalArgumentException; business exceptions
+	// mapped to a 4xx status carry client-facing messages too. Anything else is hidden behind a generic message.
+	private static String errorMessage( RuntimeException e ) {
+		String message = e.getMessage();
+		if ( message == null || !(e instanceof IllegalArgumentException || ExceptionStatus.getStatusFor(e).is4xxClientError()) ) {
+			return CHECKOUT_FAILED_MESSAGE;
+		}
+		return message.length() > CheckoutState.MAX_ERROR_LENGTH ? message.substring(0, CheckoutState.MAX_ERROR_LENGTH) : message;
+	}
+
+	private static void validate( CreateOrderRequest request ) {
+		try {
+			PaymentMethod.valueOf(request.getPaymentMethod());
+			LocalDateTime.parse(request.getShippingTime());
+		} catch ( IllegalArgumentException | DateTimeParseException e ) {
+			throw new IllegalArgumentException("Invalid checkout request: " + e.getMessage());
+		}
+	}
+
+	private static CheckoutStatusResponse status( String token, CheckoutStatus status, Long orderId, String error ) {
+		return CheckoutStatusResponse.builder()
+				       .token(token)
+				       .status(status)
+				       .orderId(orderId)
+				       .error(error)
+				       .build();
+	}
+}
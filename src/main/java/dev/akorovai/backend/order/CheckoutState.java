@@ -0,0 +1,39 @@
+package dev.akorovai.backend.order;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "checkout_state", indexes = {
+		@Index(name = "idx_checkout_state_expires_at", columnList = "expires_at")
+})
+public class CheckoutState {
+	public static final int MAX_ERROR_LENGTH = 255;
+
+	@Id
+	@Column(name = "token", length = 36)
+	private String token;
+
+	@Column(name = "user_id", nullable = false)
+	private Long userId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", nullable = false, length = 16)
+	private CheckoutStatus status;
+
+	@Column(name = "order_id")
+	private Long orderId;
+
+	@Column(name = "error", length = MAX_ERROR_LENGTH)
+	private String error;
+
+	@Column(name = "expires_at", nullable = false)
+	private LocalDateTime expiresAt;
+}
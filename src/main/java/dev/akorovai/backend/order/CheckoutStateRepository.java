@@ -0,0 +1,15 @@
+package dev.akorovai.backend.order;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface CheckoutStateRepository extends JpaRepository<CheckoutState, String> {
+
+	@Modifying
+	@Query("DELETE FROM CheckoutState c WHERE c.expiresAt <= :now")
+	int deleteExpired( @Param("now") LocalDateTime now );
+}
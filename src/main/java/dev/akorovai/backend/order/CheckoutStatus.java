@@ -0,0 +1,7 @@
+package dev.akorovai.backend.order;
+
+public enum CheckoutStatus {
+	QUEUED,
+	COMPLETED,
+	FAILED
+}
@@ -0,0 +1,21 @@
+package dev.akorovai.backend.order;
+
+import dev.akorovai.backend.order.request.CreateOrderRequest;
+import dev.akorovai.backend.user.User;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.function.Supplier;
+
+public record CheckoutTask( String token, User user, CreateOrderRequest request, SecurityContext securityContext ) {
+
+	public <T> T callAs( Supplier<T> action ) {
+		SecurityContext previous = SecurityContextHolder.getContext();
+		SecurityContextHolder.setContext(securityContext);
+		try {
+			return action.get();
+		} finally {
+			SecurityContextHolder.setContext(previous);
+		}
+	}
+}
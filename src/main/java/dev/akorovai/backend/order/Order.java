@@ -23,7 +23,8 @@ import java.util.Set;
 @Table(name = "orders", indexes = {
 		@Index(name = "idx_order_user_id", columnList = "user_id"),
 		@Index(name = "idx_order_status", columnList = "status"),
-		@Index(name = "idx_order_created_at", columnList = "createdAt")
+		@Index(name = "idx_order_created_at", columnList = "createdAt"),
+		@Index(name = "idx_order_user_created_at", columnList = "user_id, createdAt, id")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class Order {
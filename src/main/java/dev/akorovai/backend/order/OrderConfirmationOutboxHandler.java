@@ -0,0 +1,30 @@
+package dev.akorovai.backend.order;
+
+import dev.akorovai.backend.emailToken.EmailService;
+import dev.akorovai.backend.outbox.OutboxEvent;
+import dev.akorovai.backend.outbox.OutboxEventType;
+import dev.akorovai.backend.outbox.OutboxHandler;
+import dev.akorovai.backend.outbox.OutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class OrderConfirmationOutboxHandler implements OutboxHandler {
+
+	private final EmailService emailService;
+	private final OutboxService outboxService;
+
+	@Override
+	public Set<OutboxEventType> types() {
+		return Set.of(OutboxEventType.ORDER_PLACED);
+	}
+
+	@Override
+	public void handle( OutboxEvent event ) throws Exception {
+		OrderPlacedPayload payload = outboxService.readPayload(event, OrderPlacedPayload.class);
+		emailService.sendOrderConfirmationEmail(payload.orderId(), payload.email());
+	}
+}
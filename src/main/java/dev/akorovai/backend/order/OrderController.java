@@ -1,6 +1,8 @@
 package dev.akorovai.backend.order;
 
 import dev.akorovai.backend.order.request.CreateOrderRequest;
+import dev.akorovai.backend.order.response.CheckoutStatusResponse;
+import dev.akorovai.backend.order.response.OrderPageResponse;
 import dev.akorovai.backend.order.response.OrderResponse;
 import dev.akorovai.backend.security.ResponseRecord;
 import jakarta.validation.Valid;
@@ -17,6 +19,8 @@ import java.util.List;
 public class OrderController {
 
 	private final OrderService orderService;
+	private final OrderIdempotencyService orderIdempotencyService;
+	private final AsyncCheckoutService asyncCheckoutService;
 
 
 	@GetMapping
@@ -32,9 +36,24 @@ public class OrderController {
 	}
 
 
+	@GetMapping("/history")
+	public ResponseEntity<ResponseRecord> getOrderHistory(@RequestParam(required = false) Long cursor,
+	                                                      @RequestParam(defaultValue = "20") int limit) {
+		OrderPageResponse page = orderService.getOrderHistory(cursor, limit);
+
+		ResponseRecord record = ResponseRecord.builder()
+				                        .code(HttpStatus.OK.value())
+				                        .message(page)
+				                        .build();
+
+		return ResponseEntity.ok(record);
+	}
+
+
 	@PostMapping
-	public ResponseEntity<ResponseRecord> createOrder(@Valid @RequestBody CreateOrderRequest request) {
-		OrderResponse orderResponse = orderService.createOrder(request);
+	public ResponseEntity<ResponseRecord> createOrder(@Valid @RequestBody CreateOrderRequest request,
+	                                                  @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+		OrderResponse orderResponse = orderIdempotencyService.createOrder(request, idempotencyKey);
 
 		ResponseRecord record = ResponseRecord.builder()
 				                        .code(HttpStatus.CREATED.value())
@@ -43,4 +62,30 @@ public class OrderController {
 
 		return ResponseEntity.status(HttpStatus.CREATED).body(record);
 	}
+
+
+	@PostMapping("/checkout")
+	public ResponseEntity<ResponseRecord> checkout(@Valid @RequestBody CreateOrderRequest request) {
+		CheckoutStatusResponse checkout = asyncCheckoutService.submit(request);
+
+		ResponseRecord record = ResponseRecord.builder()
+				                        .code(HttpStatus.ACCEPTED.value())
+				                        .message(checkout)
+				                        .build();
+
+		return ResponseEntity.status(HttpStatus.ACCEPTED).body(record);
+	}
+
+
+	@GetMapping("/checkout/{token}")
+	public ResponseEntity<ResponseRecord> getCheckoutStatus(@PathVariable String token) {
+		CheckoutStatusResponse checkout = asyncCheckoutService.getStatus(token);
+
+		ResponseRecord record = ResponseRecord.builder()
+				                        .code(HttpStatus.OK.value())
+				                        .message(checkout)
+				                        .build();
+
+		return ResponseEntity.ok(record);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package dev.akorovai.backend.order;
+
+import com.google.common.collect.Lists;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+@Slf4j
+@Component
+public class OrderDeliveryScheduler {
+
+	private final OrderRepository orderRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+	private final TimerWheel wheel;
+
+	public OrderDeliveryScheduler( OrderRepository orderRepository, TransactionTemplate transactionTemplate,
+	                               @Value("${application.order-delivery.tick-interval}") Duration tick,
+	                               @Value("${application.order-delivery.chunk-size}") int batchSize ) {
+		this.orderRepository = orderRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.batchSize = batchSize;
+		this.wheel = new TimerWheel(tick.toMillis(), toMillis(LocalDateTime.now()));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onOrderPlaced( OrderPlacedEvent event ) {
+		schedule(event.orderId(), event.shippingTime());
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		try {
+			List<PendingDelivery> pending = orderRepository.findPendingDeliveries(OrderStatus.IN_PROGRESS);
+			pending.forEach(delivery -> schedule(delivery.getId(), delivery.getShippingTime()));
+			log.info("Delivery timer wheel rebuilt with {} pending orders", pending.size());
+		} catch ( RuntimeException e ) {
+			log.error("Failed to rebuild delivery timer wheel: {}", e.getMessage());
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${application.order-delivery.tick-interval}")
+	public void deliverDueOrders() {
+		deliverDueOrders(LocalDateTime.now());
+	}
+
+	void deliverDueOrders( LocalDateTime now ) {
+		List<Long> due;
+		synchronized ( wheel ) {
+			due = wheel.advance(toMillis(now));
+		}
+		if ( due.isEmpty() ) {
+			return;
+		}
+
+		int delivered = 0;
+		for ( List<Long> batch : Lists.partition(due, batchSize) ) {
+			try {
+				Integer updated = transactionTemplate.execute(status -> orderRepository.markDelivered(
+						batch, now, OrderStatus.DELIVERED, OrderStatus.IN_PROGRESS));
+				delivered += updated != null ? updated : 0;
+			} catch ( RuntimeException e ) {
+				log.error("Failed to mark {} orders as delivered, leaving them to the nightly sweep: {}", batch.size(), e.getMessage());
+			}
+		}
+		log.info("Marked {} of {} due orders as delivered", delivered, due.size());
+	}
+
+	int pendingCount() {
+		synchronized ( wheel ) {
+			return wheel.size();
+		}
+	}
+
+	private void schedule( Long orderId, LocalDateTime shippingTime ) {
+		synchronized ( wheel ) {
+			wheel.schedule(orderId, toMillis(shippingTime));
+		}
+	}
+
+	private static long toMillis( LocalDateTime time ) {
+		return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+}
@@ -0,0 +1,42 @@
+package dev.akorovai.backend.order;
+
+import dev.akorovai.backend.user.User;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "order_idempotency_key", indexes = {
+		@Index(name = "idx_order_idempotency_key_user_key", columnList = "user_id, idempotency_key", unique = true),
+		@Index(name = "idx_order_idempotency_key_expires_at", columnList = "expires_at")
+})
+public class OrderIdempotencyKey {
+	public static final int MAX_KEY_LENGTH = 64;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "idempotency_key", nullable = false, length = MAX_KEY_LENGTH)
+	private String key;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "user_id", nullable = false)
+	@ToString.Exclude
+	private User user;
+
+	// Empty while the order that claimed the key is still being placed.
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "order_id")
+	@ToString.Exclude
+	private Order order;
+
+	@Column(name = "expires_at", nullable = false)
+	private LocalDateTime expiresAt;
+}
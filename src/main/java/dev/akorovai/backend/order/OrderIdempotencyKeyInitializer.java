@@ -0,0 +1,21 @@
+package dev.akorovai.backend.order;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// A key is now claimed before its order exists, but ddl-auto never relaxes the NOT NULL it
+// created on order_id earlier, so the constraint is dropped here.
+@Component
+@RequiredArgsConstructor
+public class OrderIdempotencyKeyInitializer implements CommandLineRunner {
+	private static final String DROP_ORDER_NOT_NULL = "ALTER TABLE order_idempotency_key ALTER COLUMN order_id DROP NOT NULL";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Override
+	public void run(String... args) {
+		jdbcTemplate.execute(DROP_ORDER_NOT_NULL);
+	}
+}
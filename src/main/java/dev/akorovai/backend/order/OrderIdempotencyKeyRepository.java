@@ -0,0 +1,24 @@
+package dev.akorovai.backend.order;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, Long> {
+
+	@Query("SELECT k.order.id FROM OrderIdempotencyKey k " +
+			       "WHERE k.user.id = :userId AND k.key = :key AND k.expiresAt > :now")
+	Optional<Long> findOrderId( @Param("userId") Long userId, @Param("key") String key, @Param("now") LocalDateTime now );
+
+	@Modifying
+	@Query("DELETE FROM OrderIdempotencyKey k WHERE k.user.id = :userId AND k.key = :key AND k.expiresAt <= :now")
+	int deleteExpiredKey( @Param("userId") Long userId, @Param("key") String key, @Param("now") LocalDateTime now );
+
+	@Modifying
+	@Query("DELETE FROM OrderIdempotencyKey k WHERE k.expiresAt <= :now")
+	int deleteExpired( @Param("now") LocalDateTime now );
+}
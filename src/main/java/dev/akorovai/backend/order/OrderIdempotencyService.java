@@ -0,0 +1,65 @@
+package dev.akorovai.backend.order;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.akorovai.backend.order.request.CreateOrderRequest;
+import dev.akorovai.backend.order.response.OrderResponse;
+import dev.akorovai.backend.security.JwtService;
+import dev.akorovai.backend.user.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+@Slf4j
+@Service
+public class OrderIdempotencyService {
+
+	private final OrderService orderService;
+	private final JwtService jwtService;
+	private final Cache<String, OrderResponse> responses;
+
+	public OrderIdempotencyService( OrderService orderService, JwtService jwtService,
+	                                @Value("${application.idempotency.ttl}") Duration ttl,
+	                                @Value("${application.idempotency.cache-size}") long cacheSize ) {
+		this.orderService = orderService;
+		this.jwtService = jwtService;
+		this.responses = Caffeine.newBuilder()
+				                 .maximumSize(cacheSize)
+				                 .expireAfterWrite(ttl)
+				                 .build();
+	}
+
+	public OrderResponse createOrder( CreateOrderRequest request, String idempotencyKey ) {
+		if ( idempotencyKey == null || idempotencyKey.isBlank() ) {
+			return orderService.createOrder(request);
+		}
+		if ( idempotencyKey.length() > OrderIdempotencyKey.MAX_KEY_LENGTH ) {
+			throw new IllegalArgumentException("Idempotency-Key must not exceed " + OrderIdempotencyKey.MAX_KEY_LENGTH + " characters.");
+		}
+
+		User user = jwtService.getAuthenticatedUser();
+		String cacheKey = user.getId() + ":" + idempotencyKey;
+
+		OrderResponse cached = responses.getIfPresent(cacheKey);
+		if ( cached != null ) {
+			return cached;
+		}
+
+		OrderResponse response = orderService.findIdempotentOrder(user, idempotencyKey)
+				                         .orElseGet(() -> placeOrder(user, request, idempotencyKey));
+		responses.put(cacheKey, response);
+		return response;
+	}
+
+	private OrderResponse placeOrder( User user, CreateOrderRequest request, String idempotencyKey ) {
+		try {
+			return orderService.createOrder(user, request, idempotencyKey);
+		} catch ( DataIntegrityViolationException e ) {
+			log.info("Concurrent order with idempotency key {} for user {}, returning stored order", idempotencyKey, user.getId());
+			return orderService.findIdempotentOrder(user, idempotencyKey).orElseThrow(() -> e);
+		}
+	}
+}
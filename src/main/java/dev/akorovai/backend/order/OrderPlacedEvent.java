@@ -0,0 +1,6 @@
+package dev.akorovai.backend.order;
+
+import java.time.LocalDateTime;
+
+public record OrderPlacedEvent(Long orderId, LocalDateTime shippingTime) {
+}
@@ -0,0 +1,4 @@
+package dev.akorovai.backend.order;
+
+public record OrderPlacedPayload(Long orderId, String email) {
+}
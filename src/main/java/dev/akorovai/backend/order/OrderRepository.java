@@ -1,15 +1,57 @@
 package dev.akorovai.backend.order;
 
 import dev.akorovai.backend.user.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
+	String ORDER_HISTORY_SELECT = "SELECT DISTINCT o FROM Order o " +
+			                              "LEFT JOIN FETCH o.orderItems oi LEFT JOIN FETCH oi.product p " +
+			                              "LEFT JOIN FETCH p.color LEFT JOIN FETCH p.links ";
+	String ORDER_HISTORY_PAGE = "SELECT po.id FROM Order po WHERE po.user.id = :userId ";
+	String ORDER_HISTORY_ORDER_BY = "ORDER BY o.createdAt DESC, o.id DESC";
+
 	List<Order> findByUser(User user);
 
-	List<Order> findByStatusAndShippingTimeBefore( OrderStatus orderStatus, LocalDateTime now );
-}
\ No newline at end of file
+	@Query("SELECT o.id AS id, o.shippingTime AS shippingTime FROM Order o WHERE o.status = :status")
+	List<PendingDelivery> findPendingDeliveries( @Param("status") OrderStatus status );
+
+	@Modifying
+	@Query("UPDATE Order o SET o.status = :delivered, o.lastModifiedDate = :now " +
+			       "WHERE o.id IN :ids AND o.status = :inProgress")
+	int markDelivered( @Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+	                   @Param("delivered") OrderStatus delivered, @Param("inProgress") OrderStatus inProgress );
+
+	@Modifying
+	@Query(value = "UPDATE orders SET status = 'DELIVERED', last_modified_date = :now WHERE id IN (" +
+			               "SELECT id FROM orders WHERE status = 'IN_PROGRESS' AND shipping_time < :now " +
+			               "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+	int markDeliveredChunk( @Param("now") LocalDateTime now, @Param("limit") int limit );
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	@Query(ORDER_HISTORY_SELECT +
+			       "WHERE o.id IN (" + ORDER_HISTORY_PAGE +
+			       "ORDER BY po.createdAt DESC, po.id DESC LIMIT :limit) " +
+			       ORDER_HISTORY_ORDER_BY)
+	List<Order> findHistoryPage( @Param("userId") Long userId, @Param("limit") int limit );
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+	@Query(ORDER_HISTORY_SELECT +
+			       "WHERE o.id IN (" + ORDER_HISTORY_PAGE +
+			       "AND EXISTS (SELECT 1 FROM Order c WHERE c.id = :cursor AND c.user.id = :userId " +
+			       "AND (po.createdAt < c.createdAt OR (po.createdAt = c.createdAt AND po.id < c.id))) " +
+			       "ORDER BY po.createdAt DESC, po.id DESC LIMIT :limit) " +
+			       ORDER_HISTORY_ORDER_BY)
+	List<Order> findHistoryPageAfter( @Param("userId") Long userId, @Param("cursor") Long cursor, @Param("limit") int limit );
+}
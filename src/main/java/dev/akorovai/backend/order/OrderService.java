@@ -1,33 +1,77 @@
 package dev.akorovai.backend.order;
 
+import dev.akorovai.backend.flash_sale.FlashSaleService;
 import dev.akorovai.backend.handler.order.NoOrdersFoundException;
 import dev.akorovai.backend.order.request.CreateOrderRequest;
+import dev.akorovai.backend.order.response.OrderPageResponse;
 import dev.akorovai.backend.order.response.OrderResponse;
+import dev.akorovai.backend.orderItem.OrderItem;
+import dev.akorovai.backend.outbox.OutboxEventType;
+import dev.akorovai.backend.outbox.OutboxService;
+import dev.akorovai.backend.pricing.PricingEngine;
 import dev.akorovai.backend.product.Product;
-import dev.akorovai.backend.product.ProductRepository;
+import dev.akorovai.backend.product.ProductChange;
+import dev.akorovai.backend.product.ProductChangedEvent;
+import dev.akorovai.backend.product.ProductStockRepository;
+import dev.akorovai.backend.reservation.StockReservationService;
+import dev.akorovai.backend.sales.SalesAggregateRepository;
+import dev.akorovai.backend.sales.SalesLine;
 import dev.akorovai.backend.security.JwtService;
 import dev.akorovai.backend.shopping_cart.ShoppingCartItem;
 import dev.akorovai.backend.shopping_cart.ShoppingCartItemRepository;
 import dev.akorovai.backend.user.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderService {
+	private static final int MAX_PAGE_SIZE = 50;
 
 	private final OrderRepository orderRepository;
 	private final JwtService jwtService;
 	private final OrderMapper orderMapper;
 	private final ShoppingCartItemRepository shoppingCartItemRepository;
-	private final ProductRepository productRepository;
+	private final ProductStockRepository productStockRepository;
+	private final StockReservationService stockReservationService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final OrderIdempotencyKeyRepository orderIdempotencyKeyRepository;
+	private final OutboxService outboxService;
+	private final FlashSaleService flashSaleService;
+	private final PricingEngine pricingEngine;
+	private final SalesAggregateRepository salesAggregateRepository;
+
+	private final TransactionTemplate transactionTemplate;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${application.idempotency.ttl}")
+	private Duration idempotencyTtl;
+
+	@Value("${application.order-delivery.chunk-size}")
+	private int deliveryChunkSize;
 
 
 	public List<OrderResponse> getOrdersForAuthenticatedUser() {
@@ -37,53 +81,218 @@ public class OrderService {
 	}
 
 
+	@Transactional(readOnly = true)
+	public OrderPageResponse getOrderHistory( Long cursor, int limit ) {
+		User user = jwtService.getAuthenticatedUser();
+
+		int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+		List<Order> orders = cursor != null
+				                     ? orderRepository.findHistoryPageAfter(user.getId(), cursor, pageSize + 1)
+				                     : orderRepository.findHistoryPage(user.getId(), pageSize + 1);
+
+		boolean hasNext = orders.size() > pageSize;
+		List<Order> page = hasNext ? orders.subList(0, pageSize) : orders;
+
+		return OrderPageResponse.builder()
+				       .content(orderMapper.toResponseList(page))
+				       .nextCursor(hasNext ? page.get(page.size() - 1).getId() : null)
+				       .build();
+	}
+
+
 	@Transactional
 	public OrderResponse createOrder( CreateOrderRequest request ) {
-		User user = jwtService.getAuthenticatedUser();
+		return placeOrder(jwtService.getAuthenticatedUser(), request, null);
+	}
+
+	@Transactional
+	public OrderResponse createOrder( User user, CreateOrderRequest request, String idempotencyKey ) {
+		return placeOrder(user, request, idempotencyKey);
+	}
+
+	@Transactional(readOnly = true)
+	public Optional<OrderResponse> findIdempotentOrder( User user, String idempotencyKey ) {
+		return orderIdempotencyKeyRepository.findOrderId(user.getId(), idempotencyKey, LocalDateTime.now())
+				       .flatMap(orderRepository::findById)
+				       .map(orderMapper::toResponse);
+	}
+
+	@Transactional
+	public List<OrderResponse> createOrders( List<CheckoutTask> tasks ) {
+		List<PendingOrder> pendingOrders = new ArrayList<>(tasks.size());
+		List<ShoppingCartItem> cartItems = new ArrayList<>();
+		Map<Long, Integer> databaseQuantities = new TreeMap<>();
+		for ( CheckoutTask task : tasks ) {
+			PendingOrder pending = task.callAs(() -> saveOrder(task.user(), task.request(), null));
+			pendingOrders.add(pending);
+			cartItems.addAll(pending.cartItems());
+			pending.databaseQuantities().forEach(( productId, quantity ) -> databaseQuantities.merge(productId, quantity, Integer::sum));
+		}
+
+		pendingOrders.forEach(this::releaseReservations);
+		decrementStock(cartItems, databaseQuantities);
+		recordSales(pendingOrders);
+
+		List<OrderResponse> responses = new ArrayList<>(tasks.size());
+		for ( int i = 0; i < tasks.size(); i++ ) {
+			PendingOrder pending = pendingOrders.get(i);
+			responses.add(tasks.get(i).callAs(() -> completeOrder(pending)));
+		}
+		return responses;
+	}
+
+	private OrderResponse placeOrder( User user, CreateOrderRequest request, String idempotencyKey ) {
+		OrderIdempotencyKey claim = idempotencyKey != null ? claimKey(user, idempotencyKey) : null;
+		PendingOrder pending = saveOrder(user, request, claim);
+		releaseReservations(pending);
+		decrementStock(pending.cartItems(), pending.databaseQuantities());
+		recordSales(List.of(pending));
+		return completeOrder(pending);
+	}
+
+	// The key row is inserted before the cart is read, so a duplicate request blocks on the unique index until this
+	// order commits or rolls back. A row past its TTL that the sweep has not removed yet is replaced.
+	private OrderIdempotencyKey claimKey( User user, String idempotencyKey ) {
+		LocalDateTime now = LocalDateTime.now();
+		orderIdempotencyKeyRepository.deleteExpiredKey(user.getId(), idempotencyKey, now);
+		return orderIdempotencyKeyRepository.saveAndFlush(OrderIdempotencyKey.builder()
+				                                                  .key(idempotencyKey)
+				                                                  .user(user)
+				                                                  .expiresAt(now.plus(idempotencyTtl))
+				                                                  .build());
+	}
 
-		List<ShoppingCartItem> cartItems = shoppingCartItemRepository.findByUser(user);
+	private PendingOrder saveOrder( User user, CreateOrderRequest request, OrderIdempotencyKey claim ) {
+		List<ShoppingCartItem> cartItems = shoppingCartItemRepository.findByUserIdWithProduct(user.getId());
 
 		if ( cartItems.isEmpty() ) {
 			throw new IllegalArgumentException("Cannot create an order with an empty cart.");
 		}
 
-		double totalProductPrice = cartItems.stream().mapToDouble(item -> item.getProduct().getPrice() * item.getQuantity()).sum();
+		Map<Long, Integer> quantitiesByProductId = new TreeMap<>();
+		cartItems.forEach(cartItem -> quantitiesByProductId.merge(cartItem.getProduct().getId(), cartItem.getQuantity(), Integer::sum));
+
+		FlashSaleService.Admission admission = flashSaleService.admit(quantitiesByProductId);
+		if ( !admission.rejectedIds().isEmpty() ) {
+			throw insufficientStock(cartItems, admission.rejectedIds().get(0));
+		}
 
+		int lines = cartItems.size();
+		long[] productIds = new long[lines];
+		int[] quantities = new int[lines];
+		long[] unitPrices = new long[lines];
+		for ( int i = 0; i < lines; i++ ) {
+			productIds[i] = cartItems.get(i).getProduct().getId();
+			quantities[i] = cartItems.get(i).getQuantity();
+		}
+		long totalProductPrice = pricingEngine.priceCheckout(productIds, quantities, unitPrices, lines);
 
-		double totalPrice = totalProductPrice + request.getShippingPrice();
+
+		double totalPrice = PricingEngine.toMajorUnits(totalProductPrice + PricingEngine.toMinorUnits(request.getShippingPrice()));
 
 
 		Order order = Order.builder().user(user).shippingTime(LocalDateTime.parse(request.getShippingTime())).shippingPrice(request.getShippingPrice()).paymentMethod(PaymentMethod.valueOf(request.getPaymentMethod())).status(OrderStatus.IN_PROGRESS).createdAt(LocalDateTime.now()).totalPrice(totalPrice).build();
 
+		Set<OrderItem> orderItems = new HashSet<>();
+		for ( int i = 0; i < lines; i++ ) {
+			orderItems.add(toOrderItem(order, cartItems.get(i), unitPrices[i]));
+		}
+		order.setOrderItems(orderItems);
+
 
 		Order savedOrder = orderRepository.save(order);
 
+		if ( claim != null ) {
+			claim.setOrder(savedOrder);
+		}
+
+		return new PendingOrder(user, savedOrder, cartItems, unitPrices, quantitiesByProductId, admission.databaseQuantities());
+	}
 
-		cartItems.forEach(cartItem -> {
-			Product product = cartItem.getProduct();
-			int newQuantity = product.getAmount() - cartItem.getQuantity();
+	// The buyer's own holds are released first so that only other users' reservations limit the decrement.
+	private void releaseReservations( PendingOrder pending ) {
+		stockReservationService.release(pending.user(), pending.quantitiesByProductId().keySet());
+	}
+
+	private void decrementStock( List<ShoppingCartItem> cartItems, Map<Long, Integer> databaseQuantities ) {
+		List<Long> rejectedIds = productStockRepository.decrementAvailableStock(databaseQuantities, LocalDateTime.now());
+		if ( !rejectedIds.isEmpty() ) {
+			throw insufficientStock(cartItems, rejectedIds.get(0));
+		}
+	}
 
-			if ( newQuantity < 0 ) {
-				throw new IllegalArgumentException("Insufficient stock for product: " + product.getName());
+	private void recordSales( List<PendingOrder> pendingOrders ) {
+		Map<Long, SalesLine> lines = new TreeMap<>();
+		for ( PendingOrder pending : pendingOrders ) {
+			List<ShoppingCartItem> cartItems = pending.cartItems();
+			for ( int i = 0; i < cartItems.size(); i++ ) {
+				Product product = cartItems.get(i).getProduct();
+				int quantity = cartItems.get(i).getQuantity();
+				Long typeId = product.getType() != null ? product.getType().getId() : null;
+				lines.merge(product.getId(), new SalesLine(product.getId(), typeId, quantity, pending.unitPrices()[i] * quantity), SalesLine::plus);
 			}
+		}
+		salesAggregateRepository.record(LocalDate.now(), lines.values());
+	}
 
-			product.setAmount(newQuantity);
-			productRepository.save(product);
+	private OrderResponse completeOrder( PendingOrder pending ) {
+		User user = pending.user();
+		Order savedOrder = pending.order();
+		Map<Long, Integer> quantitiesByProductId = pending.quantitiesByProductId();
 
-			shoppingCartItemRepository.delete(cartItem);
-		});
+		shoppingCartItemRepository.deleteAllInBatch(pending.cartItems());
+
+		eventPublisher.publishEvent(ProductChangedEvent.of(ProductChange.STOCK_CHANGED,
+				quantitiesByProductId.keySet()));
+		eventPublisher.publishEvent(new OrderPlacedEvent(savedOrder.getId(), savedOrder.getShippingTime()));
+		outboxService.enqueue(OutboxEventType.ORDER_PLACED, new OrderPlacedPayload(savedOrder.getId(), user.getEmail()));
 
 		return orderMapper.toResponse(savedOrder);
 	}
 
+	private IllegalArgumentException insufficientStock( List<ShoppingCartItem> cartItems, Long productId ) {
+		Product product = cartItems.stream().map(ShoppingCartItem::getProduct).filter(p -> p.getId().equals(productId)).findFirst().orElseThrow();
+		return new IllegalArgumentException("Insufficient stock for product: " + product.getName());
+	}
+
+	private OrderItem toOrderItem( Order order, ShoppingCartItem cartItem, long unitPrice ) {
+		return OrderItem.builder()
+				       .order(order)
+				       .product(cartItem.getProduct())
+				       .quantity(cartItem.getQuantity())
+				       .price(PricingEngine.toMajorUnits(unitPrice))
+				       .build();
+	}
+
 
 	@Scheduled(cron = "0 0 0 * * ?")
-	@Transactional
 	public void markOrdersAsDelivered() {
-
 		LocalDateTime now = LocalDateTime.now();
+		Timer chunkTimer = meterRegistry.timer("orders.delivered.chunk");
+		Counter deliveredCounter = meterRegistry.counter("orders.delivered");
 
+		long start = System.nanoTime();
+		int total = 0;
+		int updated;
+		do {
+			long chunkStart = System.nanoTime();
+			Integer chunk = transactionTemplate.execute(status -> orderRepository.markDeliveredChunk(now, deliveryChunkSize));
+			updated = chunk != null ? chunk : 0;
+			chunkTimer.record(System.nanoTime() - chunkStart, TimeUnit.NANOSECONDS);
+			deliveredCounter.increment(updated);
+			total += updated;
+		} while ( updated == deliveryChunkSize );
+
+		log.info("Marked {} orders as delivered in {} ms", total, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	@Scheduled(fixedDelayString = "${application.idempotency.sweep-interval}")
+	@Transactional
+	public void deleteExpiredIdempotencyKeys() {
+		orderIdempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+	}
 
-		orderRepository.findByStatusAndShippingTimeBefore(OrderStatus.IN_PROGRESS, now).stream().peek(order -> order.setStatus(OrderStatus.DELIVERED)).forEach(orderRepository::save);
+	private record PendingOrder( User user, Order order, List<ShoppingCartItem> cartItems, long[] unitPrices,
+	                             Map<Long, Integer> quantitiesByProductId, Map<Long, Integer> databaseQuantities ) {
 	}
 }
\ No newline at end of file
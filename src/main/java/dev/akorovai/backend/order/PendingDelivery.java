@@ -0,0 +1,9 @@
+package dev.akorovai.backend.order;
+
+import java.time.LocalDateTime;
+
+public interface PendingDelivery {
+	Long getId();
+
+	LocalDateTime getShippingTime();
+}
@@ -0,0 +1,93 @@
+package dev.akorovai.backend.order;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+final class TimerWheel {
+	static final int SLOTS_PER_LEVEL = 64;
+	static final int LEVELS = 4;
+
+	private static final int MASK = SLOTS_PER_LEVEL - 1;
+
+	private final long[] tickMillis = new long[LEVELS];
+	private final ArrayDeque<Timer>[][] buckets;
+	private long currentMillis;
+	private int size;
+
+	@SuppressWarnings("unchecked")
+	TimerWheel(long tickMillis, long startMillis) {
+		if (tickMillis <= 0) {
+			throw new IllegalArgumentException("Tick must be positive: " + tickMillis);
+		}
+		this.buckets = new ArrayDeque[LEVELS][SLOTS_PER_LEVEL];
+		for (int level = 0; level < LEVELS; level++) {
+			this.tickMillis[level] = level == 0 ? tickMillis : this.tickMillis[level - 1] * SLOTS_PER_LEVEL;
+			for (int slot = 0; slot < SLOTS_PER_LEVEL; slot++) {
+				buckets[level][slot] = new ArrayDeque<>();
+			}
+		}
+		this.currentMillis = startMillis;
+	}
+
+	void schedule(long id, long deadlineMillis) {
+		place(new Timer(id, deadlineMillis));
+		size++;
+	}
+
+	List<Long> advance(long nowMillis) {
+		List<Long> due = new ArrayList<>();
+		if (nowMillis <= currentMillis) {
+			return due;
+		}
+
+		long previousMillis = currentMillis;
+		currentMillis = nowMillis;
+		for (int level = 0; level < LEVELS; level++) {
+			long previousTicks = previousMillis / tickMillis[level];
+			long delta = nowMillis / tickMillis[level] - previousTicks;
+			if (delta <= 0) {
+				break;
+			}
+			expire(level, level == 0 ? previousTicks : previousTicks + 1, delta, due);
+		}
+		return due;
+	}
+
+	int size() {
+		return size;
+	}
+
+	private void expire(int level, long firstTick, long delta, List<Long> due) {
+		int start = delta >= SLOTS_PER_LEVEL ? 0 : (int) (firstTick & MASK);
+		int end = start + (int) Math.min(delta, SLOTS_PER_LEVEL);
+		for (int slot = start; slot < end; slot++) {
+			ArrayDeque<Timer> bucket = buckets[level][slot & MASK];
+			int pending = bucket.size();
+			for (int i = 0; i < pending; i++) {
+				Timer timer = bucket.poll();
+				if (timer.deadlineMillis() <= currentMillis) {
+					due.add(timer.id());
+					size--;
+				} else {
+					place(timer);
+				}
+			}
+		}
+	}
+
+	private void place(Timer timer) {
+		long deadline = Math.max(timer.deadlineMillis(), currentMillis);
+		long duration = deadline - currentMillis;
+		for (int level = 0; level < LEVELS - 1; level++) {
+			if (duration < tickMillis[level + 1]) {
+				buckets[level][(int) ((deadline / tickMillis[level]) & MASK)].add(timer);
+				return;
+			}
+		}
+		buckets[LEVELS - 1][(int) ((deadline / tickMillis[LEVELS - 1]) & MASK)].add(timer);
+	}
+
+	private record Timer(long id, long deadlineMillis) {
+	}
+}
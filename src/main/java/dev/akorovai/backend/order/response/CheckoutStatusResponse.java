@@ -0,0 +1,16 @@
+package dev.akorovai.backend.order.response;
+
+import dev.akorovai.backend.order.CheckoutStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class CheckoutStatusResponse {
+	private String token;
+	private CheckoutStatus status;
+	private Long orderId;
+	private String error;
+}
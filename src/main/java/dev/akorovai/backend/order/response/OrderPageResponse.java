@@ -0,0 +1,15 @@
+package dev.akorovai.backend.order.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class OrderPageResponse {
+	private List<OrderResponse> content;
+	private Long nextCursor;
+}
@@ -20,9 +20,11 @@ import java.time.LocalDateTime;
 @Builder
 @Entity
 @Table(name = "order_item", indexes = {@Index(name = "idx_order_item_order_id", columnList = "order_id"), @Index(name = "idx_order_item_product_id", columnList = "product_id")})
+@EntityListeners(AuditingEntityListener.class)
 public class OrderItem {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+	@SequenceGenerator(name = "order_item_seq", sequenceName = "order_item_seq", allocationSize = 50)
 	private Long id;
 
 	@Column(nullable = false)
@@ -0,0 +1,148 @@
+package dev.akorovai.backend.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+@Slf4j
+@Component
+public class OutboxDispatcher {
+	private static final int MAX_ERROR_LENGTH = 512;
+
+	private final OutboxEventRepository outboxEventRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final MeterRegistry meterRegistry;
+	private final String instanceId = UUID.randomUUID().toString();
+	private final Map<OutboxEventType, OutboxHandler> handlers = new EnumMap<>(OutboxEventType.class);
+	private final ExecutorService workers;
+	private final int batchSize;
+	private final int maxAttempts;
+	private final Duration retryBackoff;
+	private final Duration claimTimeout;
+
+	public OutboxDispatcher( OutboxEventRepository outboxEventRepository, TransactionTemplate transactionTemplate,
+	                         MeterRegistry meterRegistry, List<OutboxHandler> handlers,
+	                         @Value("${application.outbox.batch-size}") int batchSize,
+	                         @Value("${application.outbox.workers}") int workers,
+	                         @Value("${application.outbox.max-attempts}") int maxAttempts,
+	                         @Value("${application.outbox.retry-backoff}") Duration retryBackoff,
+	                         @Value("${application.outbox.claim-timeout}") Duration claimTimeout ) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.meterRegistry = meterRegistry;
+		this.batchSize = batchSize;
+		this.maxAttempts = maxAttempts;
+		this.retryBackoff = retryBackoff;
+		this.claimTimeout = claimTimeout;
+		this.workers = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(batchSize), new ThreadPoolExecutor.CallerRunsPolicy());
+		handlers.forEach(handler -> handler.types().forEach(type -> {
+			if ( this.handlers.putIfAbsent(type, handler) != null ) {
+				throw new IllegalStateException("Duplicate outbox handler for " + type);
+			}
+		}));
+	}
+
+	@Scheduled(fixedDelayString = "${application.outbox.poll-interval}")
+	public void dispatch() {
+		int dispatched;
+		do {
+			dispatched = dispatchBatch();
+		} while ( dispatched == batchSize );
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		workers.shutdown();
+	}
+
+	// Handlers talk to SMTP and other slow services, so they run between two short transactions: one that
+	// claims the rows and one that records the outcome. A claim that is never completed expires after claimTimeout.
+	private int dispatchBatch() {
+		LocalDateTime now = LocalDateTime.now();
+		List<OutboxEvent> events = transactionTemplate.execute(status -> claim(now));
+		if ( events == null || events.isEmpty() ) {
+			return 0;
+		}
+
+		Map<OutboxEvent, Future<?>> results = new LinkedHashMap<>();
+		events.forEach(event -> results.put(event, workers.submit(() -> {
+			handle(event);
+			return null;
+		})));
+
+		List<Long> delivered = new ArrayList<>();
+		Map<Long, Throwable> failed = new HashMap<>();
+		results.forEach(( event, result ) -> {
+			try {
+				result.get();
+				delivered.add(event.getId());
+			} catch ( InterruptedException e ) {
+				Thread.currentThread().interrupt();
+				failed.put(event.getId(), e);
+			} catch ( ExecutionException e ) {
+				failed.put(event.getId(), e.getCause());
+			}
+		});
+
+		transactionTemplate.execute(status -> {
+			complete(delivered, failed, LocalDateTime.now());
+			return null;
+		});
+		log.info("Dispatched {} of {} outbox events", delivered.size(), events.size());
+		return events.size();
+	}
+
+	private List<OutboxEvent> claim( LocalDateTime now ) {
+		List<OutboxEvent> events = outboxEventRepository.lockBatch(now, maxAttempts, batchSize);
+		events.forEach(event -> {
+			event.setClaimedBy(instanceId);
+			event.setAvailableAt(now.plus(claimTimeout));
+		});
+		return events;
+	}
+
+	private void complete( List<Long> delivered, Map<Long, Throwable> failed, LocalDateTime now ) {
+		if ( !delivered.isEmpty() ) {
+			outboxEventRepository.deleteClaimed(delivered, instanceId);
+		}
+		if ( !failed.isEmpty() ) {
+			outboxEventRepository.findAllById(failed.keySet()).stream()
+					.filter(event -> instanceId.equals(event.getClaimedBy()))
+					.forEach(event -> scheduleRetry(event, failed.get(event.getId()), now));
+		}
+	}
+
+	private void handle( OutboxEvent event ) throws Exception {
+		OutboxHandler handler = handlers.get(event.getType());
+		if ( handler == null ) {
+			throw new IllegalStateException("No outbox handler for " + event.getType());
+		}
+		handler.handle(event);
+	}
+
+	private void scheduleRetry( OutboxEvent event, Throwable cause, LocalDateTime now ) {
+		int attempts = event.getAttempts() + 1;
+		String error = String.valueOf(cause.getMessage());
+		event.setAttempts(attempts);
+		event.setClaimedBy(null);
+		event.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+		if ( attempts >= maxAttempts ) {
+			event.setDeadAt(now);
+			meterRegistry.counter("outbox.events.dead", "type", event.getType().name()).increment();
+			log.error("Outbox event {} ({}) failed {} times and is marked dead: {}", event.getId(), event.getType(), attempts, error);
+		} else {
+			event.setAvailableAt(now.plus(retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 16))));
+			log.warn("Outbox event {} ({}) failed, retrying after {}: {}", event.getId(), event.getType(), event.getAvailableAt(), error);
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package dev.akorovai.backend.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "outbox", indexes = {
+		@Index(name = "idx_outbox_available_at", columnList = "available_at")
+})
+public class OutboxEvent {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "event_type", nullable = false, length = 32)
+	private OutboxEventType type;
+
+	@Column(nullable = false, columnDefinition = "text")
+	private String payload;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "available_at", nullable = false)
+	private LocalDateTime availableAt;
+
+	@Column(nullable = false)
+	private int attempts;
+
+	@Column(name = "last_error", length = 512)
+	private String lastError;
+
+	@Column(name = "claimed_by", length = 36)
+	private String claimedBy;
+
+	@Column(name = "dead_at")
+	private LocalDateTime deadAt;
+}
@@ -0,0 +1,21 @@
+package dev.akorovai.backend.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+	@Query(value = "SELECT * FROM outbox WHERE available_at <= :now AND attempts < :maxAttempts AND dead_at IS NULL " +
+			               "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+	List<OutboxEvent> lockBatch( @Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts, @Param("limit") int limit );
+
+	@Modifying
+	@Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids AND e.claimedBy = :claimedBy")
+	int deleteClaimed( @Param("ids") Collection<Long> ids, @Param("claimedBy") String claimedBy );
+}
@@ -0,0 +1,7 @@
+package dev.akorovai.backend.outbox;
+
+public enum OutboxEventType {
+	ACCOUNT_ACTIVATION,
+	ACCOUNT_RECOVERY,
+	ORDER_PLACED
+}
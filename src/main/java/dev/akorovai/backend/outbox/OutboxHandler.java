@@ -0,0 +1,9 @@
+package dev.akorovai.backend.outbox;
+
+import java.util.Set;
+
+public interface OutboxHandler {
+	Set<OutboxEventType> types();
+
+	void handle( OutboxEvent event ) throws Exception;
+}
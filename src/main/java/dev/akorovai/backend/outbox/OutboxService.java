@@ -0,0 +1,44 @@
+package dev.akorovai.backend.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+	private final OutboxEventRepository outboxEventRepository;
+	private final ObjectMapper objectMapper;
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void enqueue( OutboxEventType type, Object payload ) {
+		LocalDateTime now = LocalDateTime.now();
+		outboxEventRepository.save(OutboxEvent.builder()
+				                           .type(type)
+				                           .payload(toJson(payload))
+				                           .createdAt(now)
+				                           .availableAt(now)
+				                           .build());
+		log.debug("Enqueued {} outbox event", type);
+	}
+
+	public <T> T readPayload( OutboxEvent event, Class<T> payloadType ) throws JsonProcessingException {
+		return objectMapper.readValue(event.getPayload(), payloadType);
+	}
+
+	private String toJson( Object payload ) {
+		try {
+			return objectMapper.writeValueAsString(payload);
+		} catch ( JsonProcessingException e ) {
+			throw new IllegalArgumentException("Cannot serialize outbox payload: " + payload.getClass().getSimpleName(), e);
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package dev.akorovai.backend.pricing;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+final class PriceTable {
+	static final long MISSING = -1L;
+	static final PriceTable EMPTY = new PriceTable(0);
+
+	private static final long FREE = Long.MIN_VALUE;
+
+	private final long[] keys;
+	private final long[] listPrices;
+	private final long[] effectivePrices;
+	private final int mask;
+	private int size;
+
+	private PriceTable(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(expectedSize, 4) * 2 - 1) << 1;
+		this.keys = new long[capacity];
+		this.listPrices = new long[capacity];
+		this.effectivePrices = new long[capacity];
+		this.mask = capacity - 1;
+		Arrays.fill(keys, FREE);
+	}
+
+	static PriceTable of(Collection<ProductPrice> prices) {
+		PriceTable table = new PriceTable(prices.size());
+		prices.forEach(table::put);
+		return table;
+	}
+
+	PriceTable with(Collection<ProductPrice> prices, Collection<Long> refreshedIds) {
+		Set<Long> replaced = new HashSet<>(refreshedIds);
+		PriceTable table = new PriceTable(size + prices.size());
+		for (int slot = 0; slot < keys.length; slot++) {
+			if (keys[slot] != FREE && !replaced.contains(keys[slot])) {
+				table.put(keys[slot], listPrices[slot], effectivePrices[slot]);
+			}
+		}
+		prices.forEach(table::put);
+		return table;
+	}
+
+	long effectivePrice(long productId) {
+		int slot = find(productId);
+		return slot >= 0 ? effectivePrices[slot] : MISSING;
+	}
+
+	long listPrice(long productId) {
+		int slot = find(productId);
+		return slot >= 0 ? listPrices[slot] : MISSING;
+	}
+
+	int size() {
+		return size;
+	}
+
+	private int find(long productId) {
+		int slot = hash(productId) & mask;
+		while (keys[slot] != FREE) {
+			if (keys[slot] == productId) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	private void put(ProductPrice price) {
+		long listPrice = PricingEngine.toMinorUnits(price.price());
+		put(price.id(), listPrice, PricingEngine.applyDiscount(listPrice, price.discount()));
+	}
+
+	private void put(long productId, long listPrice, long effectivePrice) {
+		int slot = hash(productId) & mask;
+		while (keys[slot] != FREE && keys[slot] != productId) {
+			slot = (slot + 1) & mask;
+		}
+		if (keys[slot] == FREE) {
+			size++;
+		}
+		keys[slot] = productId;
+		listPrices[slot] = listPrice;
+		effectivePrices[slot] = effectivePrice;
+	}
+
+	private static int hash(long productId) {
+		long h = productId * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+}
@@ -0,0 +1,121 @@
+package dev.akorovai.backend.pricing;
+
+import dev.akorovai.backend.handler.product.ProductNotFoundException;
+import dev.akorovai.backend.product.ProductChange;
+import dev.akorovai.backend.product.ProductChangedEvent;
+import dev.akorovai.backend.product.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PricingEngine {
+	private static final Set<ProductChange> PRICE_CHANGES = EnumSet.of(
+			ProductChange.CREATED, ProductChange.UPDATED, ProductChange.DELETED, ProductChange.DISCOUNT_CHANGED);
+	private static final int MINOR_UNITS = 100;
+
+	private final ProductRepository productRepository;
+
+	private volatile PriceTable table = PriceTable.EMPTY;
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${application.pricing.refresh-interval}",
+			initialDelayString = "${application.pricing.refresh-interval}")
+	public synchronized void rebuild() {
+		try {
+			table = PriceTable.of(productRepository.findAllPrices());
+			log.info("Price table rebuilt with {} products", table.size());
+		} catch (RuntimeException e) {
+			log.error("Failed to rebuild price table: {}", e.getMessage());
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		if (PRICE_CHANGES.contains(event.change())) {
+			try {
+				refresh(event.productIds());
+			} catch (RuntimeException e) {
+				log.error("Failed to refresh prices for products {}: {}", event.productIds(), e.getMessage());
+			}
+		}
+	}
+
+	public long effectivePrice(long productId) {
+		long price = table.effectivePrice(productId);
+		if (price == PriceTable.MISSING) {
+			refresh(List.of(productId));
+			price = table.effectivePrice(productId);
+			if (price == PriceTable.MISSING) {
+				throw new ProductNotFoundException("Product not found with ID: " + productId);
+			}
+		}
+		return price;
+	}
+
+	public long priceCart(long[] productIds, int[] quantities, long[] unitPrices, int lines) {
+		PriceTable current = table;
+		long total = 0;
+		for (int i = 0; i < lines; i++) {
+			long price = current.effectivePrice(productIds[i]);
+			if (price == PriceTable.MISSING) {
+				price = effectivePrice(productIds[i]);
+			}
+			unitPrices[i] = price;
+			total = Math.addExact(total, Math.multiplyExact(price, quantities[i]));
+		}
+		return total;
+	}
+
+	/**
+	 * Prices a checkout from the database rather than the cached table, so an order placed on
+	 * one replica is charged the price committed by another. The ordered ids are read with a
+	 * single IN query in the caller's transaction; the shared table is left to refresh and rebuild.
+	 */
+	public long priceCheckout(long[] productIds, int[] quantities, long[] unitPrices, int lines) {
+		Set<Long> ids = new HashSet<>();
+		for (int i = 0; i < lines; i++) {
+			ids.add(productIds[i]);
+		}
+		PriceTable current = PriceTable.of(productRepository.findPrices(ids));
+		long total = 0;
+		for (int i = 0; i < lines; i++) {
+			long price = current.effectivePrice(productIds[i]);
+			if (price == PriceTable.MISSING) {
+				throw new ProductNotFoundException("Product not found with ID: " + productIds[i]);
+			}
+			unitPrices[i] = price;
+			total = Math.addExact(total, Math.multiplyExact(price, quantities[i]));
+		}
+		return total;
+	}
+
+	public static long toMinorUnits(double amount) {
+		return Math.round(amount * MINOR_UNITS);
+	}
+
+	public static double toMajorUnits(long minorUnits) {
+		return (double) minorUnits / MINOR_UNITS;
+	}
+
+	static long applyDiscount(long listPrice, Integer discount) {
+		int percent = discount != null ? Math.min(Math.max(discount, 0), 100) : 0;
+		return (listPrice * (100 - percent) + 50) / 100;
+	}
+
+	private synchronized void refresh(Collection<Long> productIds) {
+		table = table.with(productRepository.findPrices(productIds), productIds);
+	}
+}
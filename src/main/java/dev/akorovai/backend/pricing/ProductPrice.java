@@ -0,0 +1,4 @@
+package dev.akorovai.backend.pricing;
+
+public record ProductPrice(Long id, Double price, Integer discount) {
+}
@@ -0,0 +1,14 @@
+package dev.akorovai.backend.product;
+
+public record CatalogEntry(Long id,
+                           String name,
+                           Long typeId,
+                           String typeName,
+                           Long colorId,
+                           String colorName,
+                           Gender gender,
+                           Size size,
+                           Double price,
+                           Integer amount,
+                           Integer discount) {
+}
@@ -0,0 +1,88 @@
+package dev.akorovai.backend.product;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DiscountedProductPool {
+	private static final Set<ProductChange> DISCOUNT_CHANGES = EnumSet.of(
+			ProductChange.CREATED, ProductChange.UPDATED, ProductChange.DELETED, ProductChange.DISCOUNT_CHANGED);
+
+	private final ProductRepository productRepository;
+
+	private final AtomicInteger cursor = new AtomicInteger();
+
+	private volatile long[] pool;
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${application.discount-pool.rotation-interval}",
+			initialDelayString = "${application.discount-pool.rotation-interval}")
+	public synchronized void rotate() {
+		try {
+			List<Long> ids = productRepository.findDiscountedIds();
+			long[] shuffled = new long[ids.size()];
+			for (int i = 0; i < shuffled.length; i++) {
+				shuffled[i] = ids.get(i);
+			}
+			shuffle(shuffled);
+
+			pool = shuffled;
+			cursor.set(0);
+			log.debug("Discounted product pool rotated with {} products", shuffled.length);
+		} catch (RuntimeException e) {
+			pool = null;
+			log.error("Failed to rotate discounted product pool: {}", e.getMessage());
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		if (DISCOUNT_CHANGES.contains(event.change())) {
+			rotate();
+		}
+	}
+
+	public Optional<List<Long>> sample(int limit) {
+		long[] current = pool;
+		if (current == null) {
+			return Optional.empty();
+		}
+
+		int size = Math.min(limit, current.length);
+		List<Long> ids = new ArrayList<>(size);
+		if (size == 0) {
+			return Optional.of(ids);
+		}
+
+		int start = Math.floorMod(cursor.getAndAdd(size), current.length);
+		for (int i = 0; i < size; i++) {
+			ids.add(current[(start + i) % current.length]);
+		}
+		return Optional.of(ids);
+	}
+
+	private static void shuffle(long[] ids) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int i = ids.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			long id = ids[i];
+			ids[i] = ids[j];
+			ids[j] = id;
+		}
+	}
+}
@@ -0,0 +1,9 @@
+package dev.akorovai.backend.product;
+
+public interface FacetCount {
+	String getFacet();
+
+	String getValue();
+
+	Long getCount();
+}
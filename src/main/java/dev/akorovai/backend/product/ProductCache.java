@@ -0,0 +1,142 @@
+package dev.akorovai.backend.product;
+
+import dev.akorovai.backend.product.request.ProductFilterRequest;
+import dev.akorovai.backend.product.response.ProductFacetsResponse;
+import dev.akorovai.backend.product.response.ProductResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ProductCache {
+	static final String PRODUCTS = "products";
+	static final String PRODUCT_IDS_BY_TYPE = "productIdsByType";
+	static final String PRODUCT_IDS_BY_GENDER = "productIdsByGender";
+	static final String NEW_PRODUCT_IDS = "newProductIds";
+
+	private static final String NEW_PRODUCTS_KEY = "all";
+
+	private final CacheManager cacheManager;
+	// Facet counts share the products cache; bumping a version retires the old keys until they expire.
+	private final AtomicLong catalogVersion = new AtomicLong();
+	private final AtomicLong stockVersion = new AtomicLong();
+
+	public List<ProductResponse> getResponses(List<Long> ids, Function<Collection<Long>, Map<Long, ProductResponse>> loader) {
+		if (ids.isEmpty()) {
+			return new ArrayList<>();
+		}
+		Cache cache = cache(PRODUCTS);
+		Map<Long, ProductResponse> responsesById = new HashMap<>();
+		List<Long> missingIds = new ArrayList<>();
+		for (Long id : ids) {
+			ProductResponse cached = cache.get(id, ProductResponse.class);
+			if (cached != null) {
+				responsesById.put(id, cached);
+			} else {
+				missingIds.add(id);
+			}
+		}
+
+		if (!missingIds.isEmpty()) {
+			loader.apply(missingIds).forEach((id, loaded) -> {
+				cache.put(id, loaded);
+				responsesById.put(id, loaded);
+			});
+		}
+
+		return ids.stream()
+				       .map(responsesById::get)
+				       .filter(Objects::nonNull)
+				       .collect(Collectors.toList());
+	}
+
+	public Optional<ProductResponse> findResponse(Long id) {
+		return Optional.ofNullable(cache(PRODUCTS).get(id, ProductResponse.class));
+	}
+
+	public List<Long> getIdsByType(String typeName, Supplier<List<Long>> loader) {
+		return getIds(PRODUCT_IDS_BY_TYPE, typeKey(typeName), loader);
+	}
+
+	public List<Long> getIdsByGender(Gender gender, Supplier<List<Long>> loader) {
+		return getIds(PRODUCT_IDS_BY_GENDER, gender, loader);
+	}
+
+	public List<Long> getNewProductIds(Supplier<List<Long>> loader) {
+		return getIds(NEW_PRODUCT_IDS, NEW_PRODUCTS_KEY, loader);
+	}
+
+	public ProductFacetsResponse getFacets(ProductFilterRequest filter, Supplier<ProductFacetsResponse> loader) {
+		long stock = filter.inStock() != null ? stockVersion.get() : 0;
+		return getValue(PRODUCTS, new FacetKey(filter, catalogVersion.get(), stock), loader);
+	}
+
+	public void evictFacets() {
+		catalogVersion.incrementAndGet();
+	}
+
+	public void evictStockFacets() {
+		stockVersion.incrementAndGet();
+	}
+
+	public void evictResponses(Collection<Long> ids) {
+		Cache cache = cache(PRODUCTS);
+		ids.forEach(cache::evict);
+	}
+
+	public void evictType(String typeName) {
+		cache(PRODUCT_IDS_BY_TYPE).evict(typeKey(typeName));
+	}
+
+	public void evictGender(Gender gender) {
+		cache(PRODUCT_IDS_BY_GENDER).evict(gender);
+	}
+
+	public void evictNewProducts() {
+		cache(NEW_PRODUCT_IDS).evict(NEW_PRODUCTS_KEY);
+	}
+
+	public void clearLists() {
+		cache(PRODUCT_IDS_BY_TYPE).clear();
+		cache(PRODUCT_IDS_BY_GENDER).clear();
+		cache(NEW_PRODUCT_IDS).clear();
+	}
+
+	private List<Long> getIds(String cacheName, Object key, Supplier<List<Long>> loader) {
+		return getValue(cacheName, key, () -> List.copyOf(loader.get()));
+	}
+
+	private <T> T getValue(String cacheName, Object key, Supplier<T> loader) {
+		try {
+			return cache(cacheName).get(key, loader::get);
+		} catch (Cache.ValueRetrievalException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	private Cache cache(String name) {
+		Cache cache = cacheManager.getCache(name);
+		if (cache == null) {
+			throw new IllegalStateException("Cache not configured: " + name);
+		}
+		return cache;
+	}
+
+	private static String typeKey(String typeName) {
+		return typeName.toLowerCase(Locale.ROOT);
+	}
+
+	private record FacetKey(ProductFilterRequest filter, long catalogVersion, long stockVersion) {
+	}
+}
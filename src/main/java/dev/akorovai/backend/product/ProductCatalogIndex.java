@@ -0,0 +1,297 @@
+package dev.akorovai.backend.product;
+
+import dev.akorovai.backend.product.request.ProductFilterRequest;
+import dev.akorovai.backend.reservation.ReservedQuantity;
+import dev.akorovai.backend.reservation.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.PeekableLongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCatalogIndex {
+	private static final Roaring64Bitmap EMPTY = new Roaring64Bitmap();
+
+	private final ProductRepository productRepository;
+	private final StockReservationRepository stockReservationRepository;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final List<ProductChangedEvent> pendingEvents = new ArrayList<>();
+
+	private final Map<Long, CatalogEntry> entries = new HashMap<>();
+	private final Map<Long, Roaring64Bitmap> byType = new HashMap<>();
+	private final Map<Long, Roaring64Bitmap> byColor = new HashMap<>();
+	private final Map<Gender, Roaring64Bitmap> byGender = new EnumMap<>(Gender.class);
+	private final Map<Size, Roaring64Bitmap> bySize = new EnumMap<>(Size.class);
+	private final Map<String, Long> typeIdsByName = new HashMap<>();
+	private final Map<String, Long> colorIdsByName = new HashMap<>();
+	private final Roaring64Bitmap allProducts = new Roaring64Bitmap();
+	private final Roaring64Bitmap inStock = new Roaring64Bitmap();
+	// Sorted by price and re-sorted only when an event changes a price or the set of products; stock changes keep them.
+	private long[] idsByPrice = new long[0];
+	private double[] prices = new double[0];
+
+	private volatile boolean ready;
+	private boolean rebuilding;
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${application.catalog-index.refresh-interval}",
+			initialDelayString = "${application.catalog-index.refresh-interval}")
+	public synchronized void rebuild() {
+		synchronized (pendingEvents) {
+			rebuilding = true;
+		}
+		long start = System.nanoTime();
+		try {
+			List<CatalogEntry> loaded = productRepository.findAllCatalogEntries();
+			Map<Long, Long> held = heldQuantities(stockReservationRepository.sumUnexpiredQuantities(LocalDateTime.now()));
+
+			lock.writeLock().lock();
+			try {
+				clear();
+				loaded.forEach(entry -> index(entry, held.getOrDefault(entry.id(), 0L)));
+				rebuildPriceArrays();
+				ready = true;
+			} finally {
+				lock.writeLock().unlock();
+			}
+			log.info("Catalog index rebuilt with {} products in {} ms", loaded.size(), (System.nanoTime() - start) / 1_000_000);
+		} catch (RuntimeException e) {
+			log.error("Failed to rebuild catalog index: {}", e.getMessage());
+		} finally {
+			// Events queued while the snapshot was loading may not be in it, so they are replayed even when the rebuild failed.
+			List<ProductChangedEvent> replay;
+			synchronized (pendingEvents) {
+				rebuilding = false;
+				replay = List.copyOf(pendingEvents);
+				pendingEvents.clear();
+			}
+			replay.forEach(this::apply);
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		synchronized (pendingEvents) {
+			if (rebuilding) {
+				pendingEvents.add(event);
+				return;
+			}
+		}
+		if (ready) {
+			apply(event);
+		}
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	public Optional<List<Long>> findIds(ProductFilterRequest filter, Long cursor, int maxResults) {
+		if (!ready) {
+			return Optional.empty();
+		}
+
+		lock.readLock().lock();
+		try {
+			Roaring64Bitmap matches = match(filter);
+			List<Long> ids = new ArrayList<>(Math.min(maxResults, 128));
+			PeekableLongIterator iterator = cursor != null
+					                                ? matches.getLongIteratorFrom(cursor + 1)
+					                                : matches.getLongIterator();
+			while (iterator.hasNext() && ids.size() < maxResults) {
+				ids.add(iterator.next());
+			}
+			return Optional.of(ids);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private Roaring64Bitmap match(ProductFilterRequest filter) {
+		List<Roaring64Bitmap> criteria = new ArrayList<>();
+		if (filter.type() != null) {
+			criteria.add(byType.getOrDefault(typeIdsByName.get(normalize(filter.type())), EMPTY));
+		}
+		if (filter.color() != null) {
+			criteria.add(byColor.getOrDefault(colorIdsByName.get(normalize(filter.color())), EMPTY));
+		}
+		if (filter.gender() != null) {
+			criteria.add(byGender.getOrDefault(filter.gender(), EMPTY));
+		}
+		if (filter.size() != null) {
+			criteria.add(bySize.getOrDefault(filter.size(), EMPTY));
+		}
+		if (filter.inStock() != null) {
+			criteria.add(filter.inStock() ? inStock : Roaring64Bitmap.andNot(allProducts, inStock));
+		}
+		if (filter.minPrice() != null || filter.maxPrice() != null) {
+			criteria.add(priceRange(filter.minPrice(), filter.maxPrice()));
+		}
+
+		if (criteria.isEmpty()) {
+			return allProducts;
+		}
+
+		criteria.sort(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality));
+		Roaring64Bitmap result = criteria.get(0).clone();
+		for (int i = 1; i < criteria.size() && !result.isEmpty(); i++) {
+			result.and(criteria.get(i));
+		}
+		return result;
+	}
+
+	private Roaring64Bitmap priceRange(Double minPrice, Double maxPrice) {
+		int from = minPrice != null ? lowerBound(prices, minPrice) : 0;
+		int to = maxPrice != null ? upperBound(prices, maxPrice) : prices.length;
+
+		Roaring64Bitmap range = new Roaring64Bitmap();
+		for (int i = from; i < to; i++) {
+			range.addLong(idsByPrice[i]);
+		}
+		return range;
+	}
+
+	private void apply(ProductChangedEvent event) {
+		if (event.change() == ProductChange.IMAGES_CHANGED) {
+			return;
+		}
+		try {
+			applyChanges(event);
+		} catch (RuntimeException e) {
+			log.error("Failed to update catalog index for products {}: {}", event.productIds(), e.getMessage());
+		}
+	}
+
+	private void applyChanges(ProductChangedEvent event) {
+		Map<Long, CatalogEntry> current = event.change() == ProductChange.DELETED
+				                                  ? Map.of()
+				                                  : productRepository.findCatalogEntriesByIdIn(event.productIds()).stream()
+						                                    .collect(Collectors.toMap(CatalogEntry::id, Function.identity()));
+		Map<Long, Long> held = current.isEmpty()
+				                       ? Map.of()
+				                       : heldQuantities(stockReservationRepository.sumUnexpiredQuantitiesByProductIdIn(
+						                       current.keySet(), LocalDateTime.now()));
+
+		lock.writeLock().lock();
+		try {
+			boolean pricesChanged = false;
+			for (Long productId : event.productIds()) {
+				CatalogEntry previous = entries.remove(productId);
+				if (previous != null) {
+					unindex(previous);
+				}
+				CatalogEntry entry = current.get(productId);
+				if (entry != null) {
+					index(entry, held.getOrDefault(productId, 0L));
+				}
+				pricesChanged |= previous == null || entry == null || !previous.price().equals(entry.price());
+			}
+			if (pricesChanged) {
+				rebuildPriceArrays();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// A product is in stock when units remain after unexpired reservations, matching decrementAvailableStock.
+	private void index(CatalogEntry entry, long held) {
+		long id = entry.id();
+		entries.put(id, entry);
+		allProducts.addLong(id);
+		byType.computeIfAbsent(entry.typeId(), k -> new Roaring64Bitmap()).addLong(id);
+		byColor.computeIfAbsent(entry.colorId(), k -> new Roaring64Bitmap()).addLong(id);
+		byGender.computeIfAbsent(entry.gender(), k -> new Roaring64Bitmap()).addLong(id);
+		bySize.computeIfAbsent(entry.size(), k -> new Roaring64Bitmap()).addLong(id);
+		typeIdsByName.put(normalize(entry.typeName()), entry.typeId());
+		colorIdsByName.put(normalize(entry.colorName()), entry.colorId());
+		if (entry.amount() - held > 0) {
+			inStock.addLong(id);
+		}
+	}
+
+	private void unindex(CatalogEntry entry) {
+		long id = entry.id();
+		allProducts.removeLong(id);
+		inStock.removeLong(id);
+		byType.getOrDefault(entry.typeId(), EMPTY).removeLong(id);
+		byColor.getOrDefault(entry.colorId(), EMPTY).removeLong(id);
+		byGender.getOrDefault(entry.gender(), EMPTY).removeLong(id);
+		bySize.getOrDefault(entry.size(), EMPTY).removeLong(id);
+	}
+
+	private void rebuildPriceArrays() {
+		CatalogEntry[] sorted = entries.values().stream()
+				                        .sorted(Comparator.comparingDouble(CatalogEntry::price).thenComparingLong(CatalogEntry::id))
+				                        .toArray(CatalogEntry[]::new);
+		idsByPrice = new long[sorted.length];
+		prices = new double[sorted.length];
+		for (int i = 0; i < sorted.length; i++) {
+			idsByPrice[i] = sorted[i].id();
+			prices[i] = sorted[i].price();
+		}
+	}
+
+	private void clear() {
+		entries.clear();
+		byType.clear();
+		byColor.clear();
+		byGender.clear();
+		bySize.clear();
+		typeIdsByName.clear();
+		colorIdsByName.clear();
+		allProducts.clear();
+		inStock.clear();
+	}
+
+	private static Map<Long, Long> heldQuantities(List<ReservedQuantity> reserved) {
+		return reserved.stream().collect(Collectors.toMap(ReservedQuantity::getProductId, ReservedQuantity::getQuantity));
+	}
+
+	private static int lowerBound(double[] values, double key) {
+		int low = 0;
+		int high = values.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values[mid] < key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private static int upperBound(double[] values, double key) {
+		int low = 0;
+		int high = values.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values[mid] <= key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private static String normalize(String name) {
+		return name == null ? null : name.toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,5 @@
+package dev.akorovai.backend.product;
+
+public enum ProductChange {
+	CREATED, UPDATED, DELETED, DISCOUNT_CHANGED, STOCK_CHANGED, IMAGES_CHANGED
+}
@@ -0,0 +1,15 @@
+package dev.akorovai.backend.product;
+
+import java.util.Collection;
+import java.util.Set;
+
+public record ProductChangedEvent(Set<Long> productIds, ProductChange change) {
+
+	public static ProductChangedEvent of(ProductChange change, Long productId) {
+		return new ProductChangedEvent(Set.of(productId), change);
+	}
+
+	public static ProductChangedEvent of(ProductChange change, Collection<Long> productIds) {
+		return new ProductChangedEvent(Set.copyOf(productIds), change);
+	}
+}
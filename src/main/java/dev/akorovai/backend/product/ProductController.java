@@ -1,13 +1,14 @@
 package dev.akorovai.backend.product;
 
 import dev.akorovai.backend.azure.AzureService;
-import dev.akorovai.backend.color.response.ColorResponse;
+import dev.akorovai.backend.dictionary.DictionaryService;
+import dev.akorovai.backend.product.request.ProductFilterRequest;
 import dev.akorovai.backend.product.request.ProductRequest;
+import dev.akorovai.backend.product.response.ProductFacetsResponse;
+import dev.akorovai.backend.product.response.ProductPageResponse;
 import dev.akorovai.backend.product.response.ProductResponse;
 import dev.akorovai.backend.product.response.ProductWithSizeAvailabilityResponse;
 import dev.akorovai.backend.security.ResponseRecord;
-import dev.akorovai.backend.type.Type;
-import dev.akorovai.backend.type.response.TypeResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -22,6 +23,7 @@ import java.util.List;
 public class ProductController {
     private final ProductService productService;
     private final AzureService azureService;
+    private final DictionaryService dictionaryService;
     // this one
     @PostMapping
     public ResponseEntity<ResponseRecord> addProduct(@RequestBody ProductRequest productRequest) {
@@ -79,9 +81,19 @@ public class ProductController {
         return ResponseEntity.ok(responseRecord);
     }
 
+    @GetMapping("/{productId}")
+    public ResponseEntity<ResponseRecord> getProductById(@PathVariable long productId) {
+        ProductResponse response = productService.getProductById(productId);
+        ResponseRecord responseRecord = ResponseRecord.builder()
+                                                .code(HttpStatus.OK.value())
+                                                .message(response)
+                                                .build();
+        return ResponseEntity.ok(responseRecord);
+    }
+
     @GetMapping("/discounted")
-    public ResponseEntity<ResponseRecord> getRandomDiscountedProducts() {
-        List<ProductResponse> responses = productService.getRandomDiscountedProducts();
+    public ResponseEntity<ResponseRecord> getRandomDiscountedProducts(@RequestParam(defaultValue = "20") int limit) {
+        List<ProductResponse> responses = productService.getRandomDiscountedProducts(limit);
         ResponseRecord responseRecord = ResponseRecord.builder()
                                                 .code(HttpStatus.OK.value())
                                                 .message(responses)
@@ -138,19 +150,54 @@ public class ProductController {
             @RequestParam(required = false) String color,
             @RequestParam(required = false) String size,
             @RequestParam(required = false) Double minPrice,
-            @RequestParam(required = false) Double maxPrice) {
-        TypeResponse typeResponse = type != null ? new TypeResponse(1L, type) : null;
-        Gender genderEnum = gender != null ? Gender.valueOf(gender.toUpperCase()) : null;
-        ColorResponse colorResponse = color != null ? new ColorResponse(1L, color, "123456") : null;
-        Size sizeEnum = size != null ? Size.valueOf(size.toUpperCase()) : null;
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        ProductFilterRequest filter = ProductFilterRequest.builder()
+                                              .type(type)
+                                              .gender(gender != null ? toGender(gender) : null)
+                                              .color(color)
+                                              .size(size != null ? toSize(size) : null)
+                                              .minPrice(minPrice)
+                                              .maxPrice(maxPrice)
+                                              .inStock(inStock)
+                                              .build();
+
+        ProductPageResponse response = productService.getAllProductsWithFilters(filter, cursor, limit);
+
+        ResponseRecord responseRecord = ResponseRecord.builder()
+                                                .code(HttpStatus.OK.value())
+                                                .message(response)
+                                                .build();
+
+        return ResponseEntity.ok(responseRecord);
+    }
 
-        List<ProductResponse> responses = productService.getAllProductsWithFilters(
-                typeResponse, genderEnum, colorResponse, sizeEnum, minPrice, maxPrice
-        );
+    @GetMapping("/filter/facets")
+    public ResponseEntity<ResponseRecord> getFacetCounts(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String gender,
+            @RequestParam(required = false) String color,
+            @RequestParam(required = false) String size,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean inStock) {
+        ProductFilterRequest filter = ProductFilterRequest.builder()
+                                              .type(type)
+                                              .gender(gender != null ? toGender(gender) : null)
+                                              .color(color)
+                                              .size(size != null ? toSize(size) : null)
+                                              .minPrice(minPrice)
+                                              .maxPrice(maxPrice)
+                                              .inStock(inStock)
+                                              .build();
+
+        ProductFacetsResponse response = productService.getFacetCounts(filter);
 
         ResponseRecord responseRecord = ResponseRecord.builder()
                                                 .code(HttpStatus.OK.value())
-                                                .message(responses)
+                                                .message(response)
                                                 .build();
 
         return ResponseEntity.ok(responseRecord);
@@ -175,4 +222,14 @@ public class ProductController {
                                                 .build();
         return ResponseEntity.ok(responseRecord);
     }
-}
\ No newline at end of file
+
+    private Gender toGender(String gender) {
+        return dictionaryService.findGender(gender)
+                       .orElseThrow(() -> new IllegalArgumentException("Invalid gender: " + gender));
+    }
+
+    private Size toSize(String size) {
+        return dictionaryService.findSize(size)
+                       .orElseThrow(() -> new IllegalArgumentException("Invalid size: " + size));
+    }
+}
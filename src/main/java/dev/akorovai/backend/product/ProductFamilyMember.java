@@ -0,0 +1,18 @@
+package dev.akorovai.backend.product;
+
+public record ProductFamilyMember(Long id,
+                                  String name,
+                                  Long colorId,
+                                  String colorName,
+                                  String colorCode,
+                                  Size size,
+                                  Integer amount) {
+
+	public boolean inStock() {
+		return amount != null && amount > 0;
+	}
+
+	public ProductFamilyMember withAmount(Integer amount) {
+		return new ProductFamilyMember(id, name, colorId, colorName, colorCode, size, amount);
+	}
+}
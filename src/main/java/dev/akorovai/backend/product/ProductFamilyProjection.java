@@ -0,0 +1,149 @@
+package dev.akorovai.backend.product;
+
+import dev.akorovai.backend.color.response.ColorResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductFamilyProjection {
+	private static final Set<ProductChange> FAMILY_CHANGES = EnumSet.of(
+			ProductChange.CREATED, ProductChange.UPDATED, ProductChange.DELETED, ProductChange.STOCK_CHANGED);
+
+	private final ProductRepository productRepository;
+
+	private final Map<Long, ProductFamilyMember> members = new ConcurrentHashMap<>();
+	private final NavigableMap<String, ProductFamily> families = new ConcurrentSkipListMap<>();
+
+	private volatile boolean ready;
+
+	public record ProductFamily(String name, long representativeId, Map<ColorResponse, Set<Size>> sizesByColor) {
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${application.catalog-index.refresh-interval}",
+			initialDelayString = "${application.catalog-index.refresh-interval}")
+	public synchronized void rebuild() {
+		long start = System.nanoTime();
+		try {
+			List<ProductFamilyMember> loaded = productRepository.findAllFamilyMembers();
+
+			Map<String, ProductFamily> rebuilt = loaded.stream()
+					                                     .collect(Collectors.groupingBy(ProductFamilyMember::name))
+					                                     .entrySet().stream()
+					                                     .collect(Collectors.toMap(Map.Entry::getKey, e -> toFamily(e.getKey(), e.getValue())));
+
+			members.clear();
+			loaded.forEach(member -> members.put(member.id(), member));
+			families.keySet().retainAll(rebuilt.keySet());
+			families.putAll(rebuilt);
+			ready = true;
+			log.info("Product family projection rebuilt with {} families in {} ms", rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+		} catch (RuntimeException e) {
+			log.error("Failed to rebuild product family projection: {}", e.getMessage());
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onProductChanged(ProductChangedEvent event) {
+		if (!ready || !FAMILY_CHANGES.contains(event.change())) {
+			return;
+		}
+		try {
+			refreshFamilies(event.change() == ProductChange.STOCK_CHANGED
+					                ? patchAvailability(event.productIds())
+					                : replaceMembers(event));
+		} catch (RuntimeException e) {
+			log.error("Failed to update product family projection for products {}: {}", event.productIds(), e.getMessage());
+		}
+	}
+
+	private Set<String> replaceMembers(ProductChangedEvent event) {
+		Set<String> affectedNames = new HashSet<>();
+		for (Long productId : event.productIds()) {
+			ProductFamilyMember previous = members.remove(productId);
+			if (previous != null) {
+				affectedNames.add(previous.name());
+			}
+		}
+		if (event.change() != ProductChange.DELETED) {
+			for (ProductFamilyMember member : productRepository.findFamilyMembersByIdIn(event.productIds())) {
+				members.put(member.id(), member);
+				affectedNames.add(member.name());
+			}
+		}
+		return affectedNames;
+	}
+
+	// Stock changes never move a product between families, so only the amount of known members is patched.
+	private Set<String> patchAvailability(Collection<Long> productIds) {
+		Set<String> affectedNames = new HashSet<>();
+		for (ProductFamilyMember loaded : productRepository.findFamilyMembersByIdIn(productIds)) {
+			ProductFamilyMember current = members.get(loaded.id());
+			if (current == null) {
+				continue;
+			}
+			members.put(current.id(), current.withAmount(loaded.amount()));
+			if (current.inStock() != loaded.inStock()) {
+				affectedNames.add(current.name());
+			}
+		}
+		return affectedNames;
+	}
+
+	private void refreshFamilies(Set<String> affectedNames) {
+		if (affectedNames.isEmpty()) {
+			return;
+		}
+
+		Map<String, List<ProductFamilyMember>> affectedMembers = members.values().stream()
+				                                                        .filter(member -> affectedNames.contains(member.name()))
+				                                                        .collect(Collectors.groupingBy(ProductFamilyMember::name));
+		for (String name : affectedNames) {
+			List<ProductFamilyMember> familyMembers = affectedMembers.get(name);
+			if (familyMembers == null) {
+				families.remove(name);
+			} else {
+				families.put(name, toFamily(name, familyMembers));
+			}
+		}
+	}
+
+	public Optional<ProductFamily> findFamily(String name) {
+		return ready ? Optional.ofNullable(families.get(name)) : Optional.empty();
+	}
+
+	public Optional<List<ProductFamily>> findAllFamilies() {
+		return ready ? Optional.of(List.copyOf(families.values())) : Optional.empty();
+	}
+
+	static ProductFamily toFamily(String name, List<ProductFamilyMember> familyMembers) {
+		Map<Long, ColorResponse> colors = new HashMap<>();
+		Map<ColorResponse, Set<Size>> sizesByColor = new LinkedHashMap<>();
+		long representativeId = Long.MAX_VALUE;
+
+		for (ProductFamilyMember member : familyMembers) {
+			representativeId = Math.min(representativeId, member.id());
+			if (!member.inStock()) {
+				continue;
+			}
+			ColorResponse color = colors.computeIfAbsent(member.colorId(),
+					id -> new ColorResponse(id, member.colorName(), member.colorCode()));
+			sizesByColor.computeIfAbsent(color, k -> EnumSet.noneOf(Size.class)).add(member.size());
+		}
+
+		sizesByColor.replaceAll((color, sizes) -> Collections.unmodifiableSet(sizes));
+		return new ProductFamily(name, representativeId, Collections.unmodifiableMap(sizesByColor));
+	}
+}
@@ -0,0 +1,4 @@
+package dev.akorovai.backend.product;
+
+public record ProductLink(Long productId, String link) {
+}
@@ -1,17 +1,30 @@
 package dev.akorovai.backend.product;
 
 import dev.akorovai.backend.color.Color;
+import dev.akorovai.backend.pricing.ProductPrice;
 import dev.akorovai.backend.type.Type;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+	String PRODUCT_ROW_SELECT = "SELECT new dev.akorovai.backend.product.ProductRow(p.id, p.name, p.description, p.price, " +
+			                            "c.id, c.name, c.code, t.id, t.name, p.gender, p.amount, p.discount, p.size) ";
+	String PRODUCT_ROW_JOINS = "JOIN p.color c JOIN p.type t ";
+
 	List<Product> findByDiscountGreaterThan( int value );
 
+	@Query("SELECT p.id FROM Product p WHERE p.discount > 0")
+	List<Long> findDiscountedIds();
+
+	@Query(value = "SELECT p.id FROM product p WHERE p.discount > 0 ORDER BY random() LIMIT :limit", nativeQuery = true)
+	List<Long> findRandomDiscountedIds( @Param("limit") int limit );
+
 	List<Product> findByTypeAndGenderAndColor( Type type, Gender gender, Color color);
 
 
@@ -38,9 +51,85 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
 	List<Product> findByType( Type type );
 
+	@Query("SELECT p.id FROM Product p WHERE p.gender = :gender ORDER BY p.id")
+	List<Long> findIdsByGender( @Param("gender") Gender gender );
+
+	@Query("SELECT p.id FROM Product p WHERE p.type = :type ORDER BY p.id")
+	List<Long> findIdsByType( @Param("type") Type type );
+
+	@Query(PRODUCT_ROW_SELECT + "FROM Product p " + PRODUCT_ROW_JOINS + "WHERE p.id IN :ids")
+	List<ProductRow> findRowsByIdIn( @Param("ids") Collection<Long> ids );
+
+	@Query("SELECT new dev.akorovai.backend.product.ProductLink(p.id, l) FROM Product p JOIN p.links l WHERE p.id IN :ids")
+	List<ProductLink> findLinksByProductIdIn( @Param("ids") Collection<Long> ids );
+
+	@Query("SELECT p.id FROM Product p WHERE p.createdDate > :cutoffDate ORDER BY p.id")
+	List<Long> findIdsByCreatedDateAfter( @Param("cutoffDate") LocalDateTime cutoffDate );
+
 
 	List<Product> findByCreatedDateAfter( LocalDateTime cutoffDate );
 
 	List<Product> findByName( String name );
 
+	@Query("SELECT new dev.akorovai.backend.product.CatalogEntry(p.id, p.name, t.id, t.name, c.id, c.name, " +
+			       "p.gender, p.size, p.price, p.amount, COALESCE(p.discount, 0)) " +
+			       "FROM Product p JOIN p.type t JOIN p.color c")
+	List<CatalogEntry> findAllCatalogEntries();
+
+	@Query("SELECT new dev.akorovai.backend.pricing.ProductPrice(p.id, p.price, COALESCE(p.discount, 0)) FROM Product p")
+	List<ProductPrice> findAllPrices();
+
+	@Query("SELECT new dev.akorovai.backend.pricing.ProductPrice(p.id, p.price, COALESCE(p.discount, 0)) " +
+			       "FROM Product p WHERE p.id IN :ids")
+	List<ProductPrice> findPrices( @Param("ids") Collection<Long> ids );
+
+	@Query("SELECT new dev.akorovai.backend.product.CatalogEntry(p.id, p.name, t.id, t.name, c.id, c.name, " +
+			       "p.gender, p.size, p.price, p.amount, COALESCE(p.discount, 0)) " +
+			       "FROM Product p JOIN p.type t JOIN p.color c WHERE p.id IN :ids")
+	List<CatalogEntry> findCatalogEntriesByIdIn( @Param("ids") Collection<Long> ids );
+
+	@Query("SELECT new dev.akorovai.backend.product.ProductFamilyMember(p.id, p.name, c.id, c.name, c.code, p.size, p.amount) " +
+			       "FROM Product p JOIN p.color c")
+	List<ProductFamilyMember> findAllFamilyMembers();
+
+	@Query("SELECT new dev.akorovai.backend.product.ProductFamilyMember(p.id, p.name, c.id, c.name, c.code, p.size, p.amount) " +
+			       "FROM Product p JOIN p.color c WHERE p.id IN :ids")
+	List<ProductFamilyMember> findFamilyMembersByIdIn( @Param("ids") Collection<Long> ids );
+
+	@Query("SELECT new dev.akorovai.backend.product.ProductFamilyMember(p.id, p.name, c.id, c.name, c.code, p.size, p.amount) " +
+			       "FROM Product p JOIN p.color c WHERE p.name = :name")
+	List<ProductFamilyMember> findFamilyMembersByName( @Param("name") String name );
+
+	// Each facet is counted with every filter except its own, so picking one color still lists the others.
+	@Query(value = "SELECT facet, value, count FROM (" +
+			               "SELECT CASE WHEN GROUPING(f.type_name) = 0 THEN 'type' " +
+			               "WHEN GROUPING(f.color_name) = 0 THEN 'color' " +
+			               "WHEN GROUPING(f.gender) = 0 THEN 'gender' ELSE 'size' END AS facet, " +
+			               "COALESCE(f.type_name, f.color_name, f.gender, f.size) AS value, " +
+			               "CASE WHEN GROUPING(f.type_name) = 0 THEN COUNT(*) FILTER (WHERE f.color_match AND f.gender_match AND f.size_match) " +
+			               "WHEN GROUPING(f.color_name) = 0 THEN COUNT(*) FILTER (WHERE f.type_match AND f.gender_match AND f.size_match) " +
+			               "WHEN GROUPING(f.gender) = 0 THEN COUNT(*) FILTER (WHERE f.type_match AND f.color_match AND f.size_match) " +
+			               "ELSE COUNT(*) FILTER (WHERE f.type_match AND f.color_match AND f.gender_match) END AS count " +
+			               "FROM (SELECT t.name AS type_name, c.name AS color_name, p.gender, p.size, " +
+			               "(CAST(:type AS text) IS NULL OR LOWER(t.name) = LOWER(CAST(:type AS text))) AS type_match, " +
+			               "(CAST(:color AS text) IS NULL OR LOWER(c.name) = LOWER(CAST(:color AS text))) AS color_match, " +
+			               "(CAST(:gender AS text) IS NULL OR p.gender = CAST(:gender AS text)) AS gender_match, " +
+			               "(CAST(:size AS text) IS NULL OR p.size = CAST(:size AS text)) AS size_match " +
+			               "FROM product p JOIN type t ON t.id = p.type_id JOIN color c ON c.id = p.color_id WHERE " +
+			               "(CAST(:minPrice AS double precision) IS NULL OR p.price >= CAST(:minPrice AS double precision)) AND " +
+			               "(CAST(:maxPrice AS double precision) IS NULL OR p.price <= CAST(:maxPrice AS double precision)) AND " +
+			               "(CAST(:inStock AS boolean) IS NULL OR (p.amount > 0) = CAST(:inStock AS boolean))) f " +
+			               "GROUP BY GROUPING SETS ((f.type_name), (f.color_name), (f.gender), (f.size))) counts " +
+			               "WHERE counts.count > 0",
+			nativeQuery = true)
+	List<FacetCount> countFacets(
+			@Param("type") String type,
+			@Param("color") String color,
+			@Param("gender") String gender,
+			@Param("size") String size,
+			@Param("minPrice") Double minPrice,
+			@Param("maxPrice") Double maxPrice,
+			@Param("inStock") Boolean inStock
+	);
+
 }
@@ -0,0 +1,44 @@
+package dev.akorovai.backend.product;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public record ProductRow(Long id,
+                         String name,
+                         String description,
+                         Double price,
+                         Long colorId,
+                         String colorName,
+                         String colorCode,
+                         Long typeId,
+                         String typeName,
+                         Gender gender,
+                         Integer amount,
+                         Integer discount,
+                         Size size,
+                         List<String> links) {
+
+	public ProductRow(Long id, String name, String description, Double price, Long colorId, String colorName, String colorCode,
+	                  Long typeId, String typeName, Gender gender, Integer amount, Integer discount, Size size) {
+		this(id, name, description, price, colorId, colorName, colorCode, typeId, typeName, gender, amount, discount, size, List.of());
+	}
+
+	public static List<ProductRow> withLinks(List<ProductRow> rows, List<ProductLink> links) {
+		if (links.isEmpty()) {
+			return rows;
+		}
+
+		Map<Long, List<String>> linksByProductId = links.stream()
+				                                           .collect(Collectors.groupingBy(ProductLink::productId,
+						                                           Collectors.mapping(ProductLink::link, Collectors.toList())));
+		return rows.stream()
+				       .map(row -> linksByProductId.containsKey(row.id()) ? row.withLinks(linksByProductId.get(row.id())) : row)
+				       .toList();
+	}
+
+	private ProductRow withLinks(List<String> links) {
+		return new ProductRow(id, name, description, price, colorId, colorName, colorCode, typeId, typeName, gender, amount,
+				discount, size, links);
+	}
+}
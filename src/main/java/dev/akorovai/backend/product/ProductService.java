@@ -1,21 +1,24 @@
 package dev.akorovai.backend.product;
 
-import dev.akorovai.backend.color.Color;
 import dev.akorovai.backend.color.ColorMapper;
 import dev.akorovai.backend.color.response.ColorResponse;
+import dev.akorovai.backend.dictionary.DictionaryService;
 import dev.akorovai.backend.handler.product.ProductNotFoundException;
 import dev.akorovai.backend.product.mapper.ProductMapper;
+import dev.akorovai.backend.product.request.ProductFilterRequest;
 import dev.akorovai.backend.product.request.ProductRequest;
+import dev.akorovai.backend.product.response.ProductFacetsResponse;
+import dev.akorovai.backend.product.response.ProductPageResponse;
 import dev.akorovai.backend.product.response.ProductResponse;
 import dev.akorovai.backend.product.response.ProductWithSizeAvailabilityResponse;
 import dev.akorovai.backend.type.Type;
-import dev.akorovai.backend.type.TypeMapper;
-import dev.akorovai.backend.type.TypeRepository;
-import dev.akorovai.backend.type.response.TypeResponse;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -25,11 +28,17 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class ProductService {
+	private static final int MAX_PAGE_SIZE = 100;
+
 	private final ProductRepository productRepository;
 	private final ProductMapper productMapper;
-	private final ColorMapper colorMapper;
-	private final TypeMapper typeMapper;
-	private final TypeRepository typeRepository;
+	private final DictionaryService dictionaryService;
+	private final ProductCatalogIndex catalogIndex;
+	private final ProductSimilarityEngine similarityEngine;
+	private final ProductFamilyProjection familyProjection;
+	private final DiscountedProductPool discountedPool;
+	private final ProductCache productCache;
+	private final ApplicationEventPublisher eventPublisher;
 
 	private Product findProductById(long productId) {
 		return productRepository.findById(productId)
@@ -39,12 +48,27 @@ public class ProductService {
 				       });
 	}
 
+	@Transactional
+	public ProductResponse getProductById(long productId) {
+		log.info("Attempting to retrieve product with ID: {}", productId);
+
+		List<ProductResponse> responses = toResponses(List.of(productId));
+		if (responses.isEmpty()) {
+			log.error("Product not found with ID: {}", productId);
+			throw new ProductNotFoundException("Product not found with ID: " + productId);
+		}
+
+		log.info("Successfully retrieved product with ID: {}", productId);
+		return responses.get(0);
+	}
+
 	@Transactional
 	public ProductResponse addProduct(ProductRequest productRequest) {
 		log.info("Attempting to add a new product with name: {}", productRequest.getName());
 
 		Product product = productMapper.toProduct(productRequest);
 		Product savedProduct = productRepository.save(product);
+		eventPublisher.publishEvent(ProductChangedEvent.of(ProductChange.CREATED, savedProduct.getId()));
 
 		log.info("Product with ID: {} successfully added", savedProduct.getId());
 		return productMapper.toProductResponse(savedProduct);
@@ -58,6 +82,7 @@ public class ProductService {
 		productMapper.updateProductFromRequest(productRequest, product);
 
 		Product updatedProduct = productRepository.save(product);
+		eventPublisher.publishEvent(ProductChangedEvent.of(ProductChange.UPDATED, productId));
 		log.info("Product with ID: {} successfully modified", productId);
 
 		return productMapper.toProductResponse(updatedProduct);
@@ -73,6 +98,7 @@ public class ProductService {
 		}
 
 		productRepository.deleteById(productId);
+		eventPublisher.publishEvent(ProductChangedEvent.of(ProductChange.DELETED, productId));
 		log.info("Product with ID: {} successfully deleted", productId);
 	}
 
@@ -83,59 +109,56 @@ public class ProductService {
 		Product product = findProductById(productId);
 		product.setDiscount(discount);
 		productRepository.save(product);
+		eventPublisher.publishEvent(ProductChangedEvent.of(ProductChange.DISCOUNT_CHANGED, productId));
 
 		log.info("Discount: {} successfully applied to product with ID: {}", discount, productId);
 	}
 
 	@Transactional
-	public List<ProductResponse> getRandomDiscountedProducts() {
-		log.info("Attempting to retrieve discounted products in random order");
+	public List<ProductResponse> getRandomDiscountedProducts(int limit) {
+		log.info("Attempting to retrieve {} discounted products in random order", limit);
 
-		List<Product> discountedProducts = productRepository.findByDiscountGreaterThan(0);
-		Collections.shuffle(discountedProducts);
+		int sampleSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+		List<Long> ids = discountedPool.sample(sampleSize)
+				                 .orElseGet(() -> productRepository.findRandomDiscountedIds(sampleSize));
+		List<ProductResponse> discountedProducts = toResponses(ids);
 
 		log.info("Successfully retrieved {} discounted products", discountedProducts.size());
-		return discountedProducts.stream()
-				       .map(productMapper::toProductResponse)
-				       .collect(Collectors.toList());
+		return discountedProducts;
 	}
 
 	@Transactional
 	public List<ProductResponse> getSimilarProducts(long productId) {
 		log.info("Attempting to find similar products for product with ID: {}", productId);
 
+		List<Long> similarIds = similarityEngine.findSimilar(productId)
+				                        .orElseGet(() -> findSimilarProductIdsInDatabase(productId));
+		List<ProductResponse> similarProducts = toResponses(similarIds);
+
+		log.info("Found {} similar products for product with ID: {}", similarProducts.size(), productId);
+		return similarProducts;
+	}
+
+	private List<Long> findSimilarProductIdsInDatabase(long productId) {
 		Product product = findProductById(productId);
 
-		List<Product> similarProducts = productRepository.findByTypeAndGenderAndColor(
-				product.getType(),
-				product.getGender(),
-				product.getColor()
-		);
-
-		if (similarProducts.size() < 10) {
-			similarProducts.addAll(productRepository.findByAnyTwoAttributes(
-					product.getType(),
-					product.getGender(),
-					product.getColor()
-			));
-		}
+		Set<Long> similarIds = new LinkedHashSet<>();
+		productRepository.findByTypeAndGenderAndColor(product.getType(), product.getGender(), product.getColor())
+				.forEach(p -> similarIds.add(p.getId()));
 
-		if (similarProducts.size() < 10) {
-			similarProducts.addAll(productRepository.findByAnyOneAttribute(
-					product.getType(),
-					product.getGender(),
-					product.getColor()
-			));
+		if (similarIds.size() < ProductSimilarityEngine.TOP_K) {
+			productRepository.findByAnyTwoAttributes(product.getType(), product.getGender(), product.getColor())
+					.forEach(p -> similarIds.add(p.getId()));
 		}
 
-		similarProducts = similarProducts.stream()
-				                  .distinct()
-				                  .filter(p -> !p.getId().equals(product.getId()))
-				                  .collect(Collectors.toList());
+		if (similarIds.size() < ProductSimilarityEngine.TOP_K) {
+			productRepository.findByAnyOneAttribute(product.getType(), product.getGender(), product.getColor())
+					.forEach(p -> similarIds.add(p.getId()));
+		}
 
-		log.info("Found {} similar products for product with ID: {}", similarProducts.size(), productId);
-		return similarProducts.stream()
-				       .map(productMapper::toProductResponse)
+		similarIds.remove(product.getId());
+		return similarIds.stream()
+				       .limit(ProductSimilarityEngine.TOP_K)
 				       .collect(Collectors.toList());
 	}
 
@@ -143,86 +166,181 @@ public class ProductService {
 	public List<ProductResponse> getProductsByType(String typeName) {
 		log.info("Attempting to retrieve products by type: {}", typeName);
 
-
-		Type type = typeRepository.findByName(typeName)
-				            .orElseThrow(() -> new IllegalArgumentException("Invalid type name: " + typeName));
-
-
-		List<Product> products = productRepository.findByType(type);
+		List<Long> ids = productCache.getIdsByType(typeName, () ->
+				catalogIndex.findIds(ProductFilterRequest.builder().type(typeName).build(), null, Integer.MAX_VALUE)
+						.filter(indexedIds -> !indexedIds.isEmpty())
+						.orElseGet(() -> {
+							Type type = dictionaryService.findType(typeName)
+									            .orElseThrow(() -> new IllegalArgumentException("Invalid type name: " + typeName));
+							return productRepository.findIdsByType(type);
+						}));
+		List<ProductResponse> products = toResponses(ids);
 
 		log.info("Successfully retrieved {} products of type: {}", products.size(), typeName);
-		return products.stream()
-				       .map(productMapper::toProductResponse)
-				       .collect(Collectors.toList());
+		return products;
 	}
 
 	@Transactional
 	public List<ProductResponse> getProductsByGender(Gender gender) {
 		log.info("Attempting to retrieve products by gender: {}", gender);
 
-		List<Product> products = productRepository.findByGender(gender);
+		List<Long> ids = productCache.getIdsByGender(gender, () ->
+				catalogIndex.findIds(ProductFilterRequest.builder().gender(gender).build(), null, Integer.MAX_VALUE)
+						.orElseGet(() -> productRepository.findIdsByGender(gender)));
+		List<ProductResponse> products = toResponses(ids);
 
 		log.info("Successfully retrieved {} products for gender: {}", products.size(), gender);
-		return products.stream()
-				       .map(productMapper::toProductResponse)
-				       .collect(Collectors.toList());
+		return products;
 	}
 
 	@Transactional
 	public List<ProductResponse> getNewProducts() {
 		log.info("Attempting to retrieve new products");
 
-		LocalDateTime cutoffDate = LocalDateTime.now().minusDays(30);
-		List<Product> newProducts = productRepository.findByCreatedDateAfter(cutoffDate);
+		List<Long> ids = productCache.getNewProductIds(() ->
+				productRepository.findIdsByCreatedDateAfter(LocalDateTime.now().minusDays(30)));
+		List<ProductResponse> newProducts = toResponses(ids);
 
 		log.info("Successfully retrieved {} new products", newProducts.size());
-		return newProducts.stream()
-				       .map(productMapper::toProductResponse)
-				       .collect(Collectors.toList());
+		return newProducts;
 	}
 
-	public List<ProductResponse> getAllProductsWithFilters(TypeResponse type, Gender gender,
-	                                                       ColorResponse color, Size size,
-	                                                       Double minPrice, Double maxPrice) {
-		log.info("Attempting to retrieve products with filters: type={}, gender={}, color={}, size={}, minPrice={}, maxPrice={}",
-				type, gender, color, size, minPrice, maxPrice);
+	@Transactional
+	public ProductPageResponse getAllProductsWithFilters(ProductFilterRequest filter, Long cursor, int limit) {
+		log.info("Attempting to retrieve products with filters: {}, cursor={}, limit={}", filter, cursor, limit);
+
+		int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+		List<Long> ids = catalogIndex.findIds(filter, cursor, pageSize + 1)
+				                 .orElseGet(() -> findIdsInDatabase(filter, cursor, pageSize + 1));
+
+		boolean hasNext = ids.size() > pageSize;
+		List<Long> pageIds = hasNext ? ids.subList(0, pageSize) : ids;
+		Long nextCursor = hasNext ? pageIds.get(pageIds.size() - 1) : null;
+		List<ProductResponse> page = toResponses(pageIds);
+
+		log.info("Successfully retrieved {} products with filters", page.size());
+		return ProductPageResponse.builder()
+				       .content(page)
+				       .nextCursor(nextCursor)
+				       .build();
+	}
 
+	private List<Long> findIdsInDatabase(ProductFilterRequest filter, Long cursor, int limit) {
+		Optional<Long> typeId = dictionaryService.findTypeId(filter.type());
+		Optional<Long> colorId = dictionaryService.findColorId(filter.color());
+		if ((filter.type() != null && typeId.isEmpty()) || (filter.color() != null && colorId.isEmpty())) {
+			return List.of();
+		}
 
-		Type typeFilter = type != null ? typeMapper.toType(type) : null;
-		Color colorFilter = color != null ? colorMapper.toColor(color) : null;
+		return productRepository.findBy(
+				ProductSpecifications.matching(filter, typeId.orElse(null), colorId.orElse(null), cursor),
+				query -> query.sortBy(Sort.by(Sort.Direction.ASC, "id")).limit(limit).all()
+		).stream().map(Product::getId).collect(Collectors.toList());
+	}
 
-		List<Product> products = productRepository.findAll().stream()
-				                         .filter(product -> typeFilter == null || product.getType().equals(typeFilter))
-				                         .filter(product -> gender == null || product.getGender().equals(gender))
-				                         .filter(product -> colorFilter == null || product.getColor().equals(colorFilter))
-				                         .filter(product -> size == null || product.getSize().equals(size))
-				                         .filter(product -> minPrice == null || product.getPrice() >= minPrice)
-				                         .filter(product -> maxPrice == null || product.getPrice() <= maxPrice)
-				                         .toList();
+	public ProductFacetsResponse getFacetCounts(ProductFilterRequest filter) {
+		return productCache.getFacets(filter, () -> countFacets(filter));
+	}
 
-		log.info("Successfully retrieved {} products with filters", products.size());
-		return products.stream()
-				       .map(productMapper::toProductResponse)
-				       .collect(Collectors.toList());
+	private ProductFacetsResponse countFacets(ProductFilterRequest filter) {
+		log.info("Attempting to count product facets with filters: {}", filter);
+
+		Map<String, Map<String, Long>> countsByFacet = new HashMap<>();
+		productRepository.countFacets(
+				filter.type(),
+				filter.color(),
+				filter.gender() != null ? filter.gender().name() : null,
+				filter.size() != null ? filter.size().name() : null,
+				filter.minPrice(),
+				filter.maxPrice(),
+				filter.inStock()
+		).forEach(count -> countsByFacet.computeIfAbsent(count.getFacet(), k -> new TreeMap<>())
+				                   .put(count.getValue(), count.getCount()));
+
+		log.info("Successfully counted product facets with filters: {}", filter);
+		return ProductFacetsResponse.builder()
+				       .types(countsByFacet.getOrDefault("type", Map.of()))
+				       .colors(countsByFacet.getOrDefault("color", Map.of()))
+				       .genders(countsByFacet.getOrDefault("gender", Map.of()))
+				       .sizes(countsByFacet.getOrDefault("size", Map.of()))
+				       .build();
 	}
 
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		log.debug("Evicting cached products after {} of products {}", event.change(), event.productIds());
+		try {
+			if (event.change() == ProductChange.CREATED || event.change() == ProductChange.UPDATED
+					    || event.change() == ProductChange.DELETED) {
+				productCache.evictFacets();
+				evictProductLists(event);
+			} else if (event.change() == ProductChange.STOCK_CHANGED) {
+				productCache.evictStockFacets();
+			}
+			productCache.evictResponses(event.productIds());
+		} catch (RuntimeException e) {
+			log.error("Failed to evict cached products {}: {}", event.productIds(), e.getMessage());
+		}
+	}
 
-	@Transactional
-	public ProductWithSizeAvailabilityResponse getProductWithSizeAvailability(long productId) {
-		log.info("Attempting to retrieve product with size availability for product ID: {}", productId);
+	private void evictProductLists(ProductChangedEvent event) {
+		if (event.change() != ProductChange.UPDATED) {
+			productCache.evictNewProducts();
+		}
 
-		Product product = findProductById(productId);
+		for (Long productId : event.productIds()) {
+			Optional<ProductResponse> previous = productCache.findResponse(productId);
+			if (previous.isPresent()) {
+				productCache.evictType(previous.get().getType().getName());
+				productCache.evictGender(previous.get().getGender());
+			} else if (event.change() == ProductChange.UPDATED) {
+				productCache.clearLists();
+				return;
+			}
+		}
 
-		List<Product> productsWithSameName = productRepository.findByName(product.getName());
+		if (event.change() != ProductChange.DELETED) {
+			productRepository.findRowsByIdIn(event.productIds()).forEach(row -> {
+				productCache.evictType(row.typeName());
+				productCache.evictGender(row.gender());
+			});
+		}
+	}
 
+	private List<ProductResponse> toResponses(List<Long> ids) {
+		return productCache.getResponses(ids, this::loadResponses);
+	}
+
+	private Map<Long, ProductResponse> loadResponses(Collection<Long> ids) {
+		return findRowsWithLinks(ids).stream()
+				       .collect(Collectors.toMap(ProductRow::id, productMapper::toProductResponse));
+	}
 
-		Map<ColorResponse, Set<Size>> sizeAvailabilityByColor = new HashMap<>();
-		for (Product p : productsWithSameName) {
-			ColorResponse colorResponse = ColorMapper.INSTANCE.toColorResponse(p.getColor());
-			sizeAvailabilityByColor.computeIfAbsent(colorResponse, k -> new HashSet<>()).add(p.getSize());
+	private List<ProductRow> findRowsWithLinks(Collection<Long> ids) {
+		List<ProductRow> rows = productRepository.findRowsByIdIn(ids);
+		if (rows.isEmpty()) {
+			return rows;
 		}
+		return ProductRow.withLinks(rows, productRepository.findLinksByProductIdIn(rows.stream().map(ProductRow::id).toList()));
+	}
 
-		ProductWithSizeAvailabilityResponse response = productMapper.toProductWithSizeAvailabilityResponse(product);
+	@Transactional
+	public ProductWithSizeAvailabilityResponse getProductWithSizeAvailability(long productId) {
+		log.info("Attempting to retrieve product with size availability for product ID: {}", productId);
+
+		ProductRow row = findRowsWithLinks(List.of(productId)).stream()
+				                 .findFirst()
+				                 .orElseThrow(() -> {
+					                 log.error("Product not found with ID: {}", productId);
+					                 return new ProductNotFoundException("Product not found with ID: " + productId);
+				                 });
+
+		Map<ColorResponse, Set<Size>> sizeAvailabilityByColor = familyProjection.findFamily(row.name())
+				                                                        .orElseGet(() -> ProductFamilyProjection.toFamily(row.name(),
+						                                                        productRepository.findFamilyMembersByName(row.name())))
+				                                                        .sizesByColor();
+
+		ProductWithSizeAvailabilityResponse response = productMapper.toProductWithSizeAvailabilityResponse(row);
 		response.setSizeAvailabilityByColor(sizeAvailabilityByColor);
 
 		log.info("Successfully retrieved product with size availability for product ID: {}", productId);
@@ -233,38 +351,65 @@ public class ProductService {
 	public List<ProductWithSizeAvailabilityResponse> getProductsWithSizeAvailability() {
 		log.info("Attempting to retrieve products with size availability");
 
-		List<Product> products = productRepository.findAll();
-
-		Map<String, List<Product>> productsByName = products.stream()
-				                                            .collect(Collectors.groupingBy(Product::getName));
-
-		List<ProductWithSizeAvailabilityResponse> responses = new ArrayList<>();
+		Optional<List<ProductFamilyProjection.ProductFamily>> families = familyProjection.findAllFamilies();
+		List<ProductWithSizeAvailabilityResponse> responses = families
+				                                                      .map(this::toSizeAvailabilityResponses)
+				                                                      .orElseGet(this::loadSizeAvailabilityResponses);
 
-		for (Map.Entry<String, List<Product>> entry : productsByName.entrySet()) {
-			String productName = entry.getKey();
-			List<Product> productsWithSameName = entry.getValue();
+		log.info("Successfully retrieved {} products with size availability", responses.size());
+		return responses;
+	}
 
+	private List<ProductWithSizeAvailabilityResponse> toSizeAvailabilityResponses(List<ProductFamilyProjection.ProductFamily> families) {
+		Map<Long, ProductRow> representatives = findRowsWithLinks(
+						families.stream().map(ProductFamilyProjection.ProductFamily::representativeId).toList()).stream()
+				                                        .collect(Collectors.toMap(ProductRow::id, row -> row));
 
-			Map<ColorResponse, Set<Size>> sizeAvailabilityByColor = new HashMap<>();
-			for (Product product : productsWithSameName) {
-				ColorResponse colorResponse = ColorMapper.INSTANCE.toColorResponse(product.getColor());
-				sizeAvailabilityByColor.computeIfAbsent(colorResponse, k -> new HashSet<>()).add(product.getSize());
+		List<ProductWithSizeAvailabilityResponse> responses = new ArrayList<>();
+		for (ProductFamilyProjection.ProductFamily family : families) {
+			ProductRow representative = representatives.get(family.representativeId());
+			if (representative == null) {
+				continue;
 			}
-
-			Product firstProduct = productsWithSameName.get(0);
-			ProductWithSizeAvailabilityResponse response = productMapper.toProductWithSizeAvailabilityResponse(firstProduct);
-			response.setSizeAvailabilityByColor(sizeAvailabilityByColor);
+			ProductWithSizeAvailabilityResponse response = productMapper.toProductWithSizeAvailabilityResponse(representative);
+			response.setSizeAvailabilityByColor(family.sizesByColor());
 			responses.add(response);
 		}
+		return responses;
+	}
 
-		log.info("Successfully retrieved {} products with size availability", responses.size());
+	private List<ProductWithSizeAvailabilityResponse> loadSizeAvailabilityResponses() {
+		Map<String, List<Product>> productsByName = productRepository.findAll().stream()
+				                                            .collect(Collectors.groupingBy(Product::getName));
+
+		List<ProductWithSizeAvailabilityResponse> responses = new ArrayList<>();
+		for (List<Product> productsWithSameName : productsByName.values()) {
+			ProductWithSizeAvailabilityResponse response = productMapper.toProductWithSizeAvailabilityResponse(productsWithSameName.get(0));
+			response.setSizeAvailabilityByColor(groupSizesByColor(productsWithSameName));
+			responses.add(response);
+		}
 		return responses;
 	}
 
+	private static Map<ColorResponse, Set<Size>> groupSizesByColor(List<Product> products) {
+		Map<Long, ColorResponse> colors = new HashMap<>();
+		Map<ColorResponse, Set<Size>> sizeAvailabilityByColor = new LinkedHashMap<>();
+		for (Product product : products) {
+			if (product.getAmount() == null || product.getAmount() <= 0) {
+				continue;
+			}
+			ColorResponse colorResponse = colors.computeIfAbsent(product.getColor().getId(),
+					id -> ColorMapper.INSTANCE.toColorResponse(product.getColor()));
+			sizeAvailabilityByColor.computeIfAbsent(colorResponse, k -> new HashSet<>()).add(product.getSize());
+		}
+		return sizeAvailabilityByColor;
+	}
+
 	public void setImages(long productId, List<String> links) {
 		Product product = findProductById(productId);
 		product.setLinks(links);
 		productRepository.save(product);
+		eventPublisher.publishEvent(ProductChangedEvent.of(ProductChange.IMAGES_CHANGED, productId));
 	}
 }
 
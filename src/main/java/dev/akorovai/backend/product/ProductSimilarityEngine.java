@@ -0,0 +1,232 @@
+package dev.akorovai.backend.product;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSimilarityEngine {
+	static final int TOP_K = 10;
+
+	private static final double TYPE_WEIGHT = 3.0;
+	private static final double GENDER_WEIGHT = 2.0;
+	private static final double COLOR_WEIGHT = 1.0;
+	private static final double PRICE_WEIGHT = 1.0;
+	private static final double IN_STOCK_WEIGHT = 0.5;
+
+	private final ProductRepository productRepository;
+
+	private final Object updateLock = new Object();
+	private final Set<Long> changedDuringRebuild = new HashSet<>();
+	private boolean rebuilding;
+
+	private volatile Snapshot snapshot;
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${application.catalog-index.refresh-interval}",
+			initialDelayString = "${application.catalog-index.refresh-interval}")
+	public void rebuild() {
+		synchronized (updateLock) {
+			if (rebuilding) {
+				return;
+			}
+			rebuilding = true;
+			changedDuringRebuild.clear();
+		}
+
+		Set<Long> replay;
+		long start = System.nanoTime();
+		try {
+			Map<Long, CatalogEntry> loaded = productRepository.findAllCatalogEntries().stream()
+					                                 .collect(Collectors.toMap(CatalogEntry::id, Function.identity()));
+
+			Map<Long, Neighbors> computed = new HashMap<>();
+			for (CatalogEntry entry : loaded.values()) {
+				computed.put(entry.id(), computeNeighbors(entry, loaded.values()));
+			}
+
+			synchronized (updateLock) {
+				snapshot = new Snapshot(loaded, computed);
+			}
+			log.info("Similarity neighbors rebuilt for {} products in {} ms", loaded.size(), (System.nanoTime() - start) / 1_000_000);
+		} catch (RuntimeException e) {
+			log.error("Failed to rebuild similarity neighbors: {}", e.getMessage());
+		} finally {
+			synchronized (updateLock) {
+				replay = new HashSet<>(changedDuringRebuild);
+				changedDuringRebuild.clear();
+				rebuilding = false;
+			}
+		}
+
+		if (!replay.isEmpty()) {
+			apply(ProductChange.UPDATED, replay);
+		}
+	}
+
+	@Async
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		if (event.change() == ProductChange.IMAGES_CHANGED || event.change() == ProductChange.STOCK_CHANGED) {
+			return;
+		}
+		synchronized (updateLock) {
+			if (rebuilding) {
+				changedDuringRebuild.addAll(event.productIds());
+			}
+		}
+		apply(event.change(), event.productIds());
+	}
+
+	public Optional<List<Long>> findSimilar(long productId) {
+		Snapshot current = snapshot;
+		if (current == null) {
+			return Optional.empty();
+		}
+		Neighbors result = current.neighbors().get(productId);
+		if (result == null) {
+			return Optional.empty();
+		}
+		return Optional.of(Arrays.stream(result.ids()).boxed().collect(Collectors.toList()));
+	}
+
+	private void apply(ProductChange change, Set<Long> productIds) {
+		if (snapshot == null) {
+			return;
+		}
+		try {
+			Map<Long, CatalogEntry> current = change == ProductChange.DELETED
+					                                  ? Map.of()
+					                                  : productRepository.findCatalogEntriesByIdIn(productIds).stream()
+							                                    .collect(Collectors.toMap(CatalogEntry::id, Function.identity()));
+
+			synchronized (updateLock) {
+				Map<Long, CatalogEntry> entries = new HashMap<>(snapshot.entries());
+				Map<Long, Neighbors> neighbors = new HashMap<>(snapshot.neighbors());
+				for (Long productId : productIds) {
+					CatalogEntry entry = current.get(productId);
+					if (entry == null) {
+						entries.remove(productId);
+						neighbors.remove(productId);
+					} else {
+						entries.put(productId, entry);
+					}
+				}
+
+				Collection<CatalogEntry> catalog = entries.values();
+				for (CatalogEntry entry : current.values()) {
+					neighbors.put(entry.id(), computeNeighbors(entry, catalog));
+				}
+				for (CatalogEntry entry : catalog) {
+					if (!productIds.contains(entry.id())) {
+						refreshNeighbors(entry, neighbors, productIds, current, catalog);
+					}
+				}
+				snapshot = new Snapshot(entries, neighbors);
+			}
+		} catch (RuntimeException e) {
+			log.error("Failed to update similarity neighbors for products {}: {}", productIds, e.getMessage());
+		}
+	}
+
+	private static void refreshNeighbors(CatalogEntry entry, Map<Long, Neighbors> neighbors, Set<Long> changedIds,
+	                                     Map<Long, CatalogEntry> current, Collection<CatalogEntry> catalog) {
+		Neighbors existing = neighbors.get(entry.id());
+		if (existing == null) {
+			return;
+		}
+
+		boolean affected = false;
+		for (long id : existing.ids()) {
+			if (changedIds.contains(id)) {
+				affected = true;
+				break;
+			}
+		}
+		if (!affected) {
+			for (CatalogEntry changed : current.values()) {
+				double score = score(entry, changed);
+				if (score > 0 && (existing.ids().length < TOP_K || score >= existing.minScore())) {
+					affected = true;
+					break;
+				}
+			}
+		}
+
+		if (affected) {
+			neighbors.put(entry.id(), computeNeighbors(entry, catalog));
+		}
+	}
+
+	private static Neighbors computeNeighbors(CatalogEntry target, Collection<CatalogEntry> catalog) {
+		PriorityQueue<ScoredProduct> heap = new PriorityQueue<>(TOP_K + 1, ScoredProduct.WORST_FIRST);
+		for (CatalogEntry candidate : catalog) {
+			if (candidate.id().equals(target.id())) {
+				continue;
+			}
+			double score = score(target, candidate);
+			if (score <= 0) {
+				continue;
+			}
+			if (heap.size() < TOP_K) {
+				heap.add(new ScoredProduct(candidate.id(), score));
+			} else if (ScoredProduct.WORST_FIRST.compare(new ScoredProduct(candidate.id(), score), heap.peek()) > 0) {
+				heap.poll();
+				heap.add(new ScoredProduct(candidate.id(), score));
+			}
+		}
+
+		ScoredProduct[] ranked = heap.toArray(ScoredProduct[]::new);
+		Arrays.sort(ranked, ScoredProduct.WORST_FIRST.reversed());
+		long[] ids = new long[ranked.length];
+		for (int i = 0; i < ranked.length; i++) {
+			ids[i] = ranked[i].id();
+		}
+		double minScore = ranked.length > 0 ? ranked[ranked.length - 1].score() : 0;
+		return new Neighbors(ids, minScore);
+	}
+
+	static double score(CatalogEntry target, CatalogEntry candidate) {
+		double overlap = 0;
+		if (Objects.equals(target.typeId(), candidate.typeId())) {
+			overlap += TYPE_WEIGHT;
+		}
+		if (target.gender() == candidate.gender()) {
+			overlap += GENDER_WEIGHT;
+		}
+		if (Objects.equals(target.colorId(), candidate.colorId())) {
+			overlap += COLOR_WEIGHT;
+		}
+		if (overlap == 0) {
+			return 0;
+		}
+
+		double maxPrice = Math.max(target.price(), candidate.price());
+		double priceCloseness = maxPrice > 0 ? 1 - Math.abs(target.price() - candidate.price()) / maxPrice : 1;
+		double stock = candidate.amount() > 0 ? IN_STOCK_WEIGHT : 0;
+
+		return overlap + PRICE_WEIGHT * priceCloseness + stock;
+	}
+
+	private record Snapshot(Map<Long, CatalogEntry> entries, Map<Long, Neighbors> neighbors) {
+	}
+
+	private record Neighbors(long[] ids, double minScore) {
+	}
+
+	private record ScoredProduct(long id, double score) {
+		private static final Comparator<ScoredProduct> WORST_FIRST = Comparator.comparingDouble(ScoredProduct::score)
+				                                                             .thenComparing(ScoredProduct::id, Comparator.reverseOrder());
+	}
+}
@@ -0,0 +1,47 @@
+package dev.akorovai.backend.product;
+
+import dev.akorovai.backend.product.request.ProductFilterRequest;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ProductSpecifications {
+
+	private ProductSpecifications() {
+	}
+
+	public static Specification<Product> matching(ProductFilterRequest filter, Long typeId, Long colorId, Long cursor) {
+		return (root, query, cb) -> {
+			List<Predicate> predicates = new ArrayList<>();
+			if (cursor != null) {
+				predicates.add(cb.greaterThan(root.get("id"), cursor));
+			}
+			if (typeId != null) {
+				predicates.add(cb.equal(root.get("type").get("id"), typeId));
+			}
+			if (colorId != null) {
+				predicates.add(cb.equal(root.get("color").get("id"), colorId));
+			}
+			if (filter.gender() != null) {
+				predicates.add(cb.equal(root.get("gender"), filter.gender()));
+			}
+			if (filter.size() != null) {
+				predicates.add(cb.equal(root.get("size"), filter.size()));
+			}
+			if (filter.minPrice() != null) {
+				predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.minPrice()));
+			}
+			if (filter.maxPrice() != null) {
+				predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.maxPrice()));
+			}
+			if (filter.inStock() != null) {
+				predicates.add(filter.inStock()
+						               ? cb.greaterThan(root.get("amount"), 0)
+						               : cb.lessThanOrEqualTo(root.get("amount"), 0));
+			}
+			return cb.and(predicates.toArray(Predicate[]::new));
+		};
+	}
+}
@@ -0,0 +1,76 @@
+package dev.akorovai.backend.product;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductStockRepository {
+	private static final String DECREMENT_STOCK = "UPDATE product SET amount = amount - ? WHERE id = ? AND amount >= ?";
+	private static final String DECREMENT_AVAILABLE_STOCK = "UPDATE product SET amount = amount - ? WHERE id = ? AND amount - (" +
+			                                                        "SELECT COALESCE(SUM(r.quantity), 0) FROM stock_reservation r " +
+			                                                        "WHERE r.product_id = product.id AND r.expires_at > ?) >= ?";
+	private static final String CLAMP_STOCK = "UPDATE product SET amount = GREATEST(amount - ?, 0) WHERE id = ?";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public List<Long> decrementStock(Map<Long, Integer> quantitiesByProductId) {
+		if (quantitiesByProductId.isEmpty()) {
+			return List.of();
+		}
+
+		List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantitiesByProductId).entrySet());
+		int[] updated = jdbcTemplate.batchUpdate(DECREMENT_STOCK, lines, lines.size(), (statement, line) -> {
+			statement.setInt(1, line.getValue());
+			statement.setLong(2, line.getKey());
+			statement.setInt(3, line.getValue());
+		})[0];
+		return rejectedIds(lines, updated);
+	}
+
+	// Units held by unexpired stock reservations are not available; callers release the buyer's own holds first.
+	public List<Long> decrementAvailableStock(Map<Long, Integer> quantitiesByProductId, LocalDateTime now) {
+		if (quantitiesByProductId.isEmpty()) {
+			return List.of();
+		}
+
+		List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantitiesByProductId).entrySet());
+		int[] updated = jdbcTemplate.batchUpdate(DECREMENT_AVAILABLE_STOCK, lines, lines.size(), (statement, line) -> {
+			statement.setInt(1, line.getValue());
+			statement.setLong(2, line.getKey());
+			statement.setTimestamp(3, Timestamp.valueOf(now));
+			statement.setInt(4, line.getValue());
+		})[0];
+		return rejectedIds(lines, updated);
+	}
+
+	public void clampStock(Map<Long, Integer> quantitiesByProductId) {
+		if (quantitiesByProductId.isEmpty()) {
+			return;
+		}
+
+		List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantitiesByProductId).entrySet());
+		jdbcTemplate.batchUpdate(CLAMP_STOCK, lines, lines.size(), (statement, line) -> {
+			statement.setInt(1, line.getValue());
+			statement.setLong(2, line.getKey());
+		});
+	}
+
+	private static List<Long> rejectedIds(List<Map.Entry<Long, Integer>> lines, int[] updated) {
+		List<Long> rejectedIds = new ArrayList<>();
+		for (int i = 0; i < lines.size(); i++) {
+			if (updated[i] == 0) {
+				rejectedIds.add(lines.get(i).getKey());
+			}
+		}
+		return rejectedIds;
+	}
+}
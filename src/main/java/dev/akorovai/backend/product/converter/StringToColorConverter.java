@@ -1,13 +1,19 @@
 package dev.akorovai.backend.product.converter;
 
 import dev.akorovai.backend.color.Color;
+import dev.akorovai.backend.dictionary.DictionaryService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.stereotype.Component;
 
 @Component
+@RequiredArgsConstructor
 public class StringToColorConverter implements Converter<String, Color> {
+    private final DictionaryService dictionaryService;
+
     @Override
     public Color convert(String source) {
-        return Color.builder().name(source).build();
+        return dictionaryService.findColor(source)
+                       .orElseThrow(() -> new IllegalArgumentException("Invalid color name: " + source));
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,14 @@
 package dev.akorovai.backend.product.mapper;
 
 import dev.akorovai.backend.color.ColorMapper;
+import dev.akorovai.backend.color.response.ColorResponse;
 import dev.akorovai.backend.product.Product;
+import dev.akorovai.backend.product.ProductRow;
 import dev.akorovai.backend.product.request.ProductRequest;
 import dev.akorovai.backend.product.response.ProductResponse;
 import dev.akorovai.backend.product.response.ProductWithSizeAvailabilityResponse;
 import dev.akorovai.backend.type.TypeMapper;
+import dev.akorovai.backend.type.response.TypeResponse;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -27,8 +30,30 @@ public interface ProductMapper {
 	@Mapping(source = "amount", target = "amount")
 	@Mapping(source = "discount", target = "discount")
 	@Mapping(source = "size", target = "size")
+	@Mapping(target = "effectivePrice", ignore = true)
 	ProductResponse toProductResponse( Product product );
 
+	default ProductResponse toProductResponse( ProductRow row ) {
+		return toProductResponse(row, null);
+	}
+
+	default ProductResponse toProductResponse( ProductRow row, Double effectivePrice ) {
+		return ProductResponse.builder()
+				       .id(row.id())
+				       .name(row.name())
+				       .description(row.description())
+				       .price(row.price())
+				       .color(new ColorResponse(row.colorId(), row.colorName(), row.colorCode()))
+				       .type(new TypeResponse(row.typeId(), row.typeName()))
+				       .links(row.links())
+				       .gender(row.gender())
+				       .amount(row.amount())
+				       .discount(row.discount())
+				       .effectivePrice(effectivePrice)
+				       .size(row.size())
+				       .build();
+	}
+
 	@Mapping(source = "id", target = "id")
 	@Mapping(source = "name", target = "name")
 	@Mapping(source = "description", target = "description")
@@ -42,6 +67,22 @@ public interface ProductMapper {
 	@Mapping(source = "size", target = "size")
 	ProductWithSizeAvailabilityResponse toProductWithSizeAvailabilityResponse( Product product );
 
+	default ProductWithSizeAvailabilityResponse toProductWithSizeAvailabilityResponse( ProductRow row ) {
+		return ProductWithSizeAvailabilityResponse.builder()
+				       .id(row.id())
+				       .name(row.name())
+				       .description(row.description())
+				       .price(row.price())
+				       .color(new ColorResponse(row.colorId(), row.colorName(), row.colorCode()))
+				       .type(new TypeResponse(row.typeId(), row.typeName()))
+				       .links(row.links())
+				       .gender(row.gender())
+				       .amount(row.amount())
+				       .discount(row.discount())
+				       .size(row.size())
+				       .build();
+	}
+
 	@Mapping(source = "id", target = "id")
 	@Mapping(source = "name", target = "name")
 	@Mapping(source = "description", target = "description")
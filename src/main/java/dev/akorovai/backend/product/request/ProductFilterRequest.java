@@ -0,0 +1,15 @@
+package dev.akorovai.backend.product.request;
+
+import dev.akorovai.backend.product.Gender;
+import dev.akorovai.backend.product.Size;
+import lombok.Builder;
+
+@Builder
+public record ProductFilterRequest(String type,
+                                   Gender gender,
+                                   String color,
+                                   Size size,
+                                   Double minPrice,
+                                   Double maxPrice,
+                                   Boolean inStock) {
+}
@@ -14,6 +14,7 @@ public class ProductCartResponse {
 	private String color;
 	private Double price;
 	private Integer discount;
+	private Double effectivePrice;
 	private Integer amount;
 	private String imageUrl;
 	private Integer warehouseAmount;
@@ -0,0 +1,17 @@
+package dev.akorovai.backend.product.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class ProductFacetsResponse {
+	private Map<String, Long> types;
+	private Map<String, Long> colors;
+	private Map<String, Long> genders;
+	private Map<String, Long> sizes;
+}
@@ -0,0 +1,15 @@
+package dev.akorovai.backend.product.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class ProductPageResponse {
+	private List<ProductResponse> content;
+	private Long nextCursor;
+}
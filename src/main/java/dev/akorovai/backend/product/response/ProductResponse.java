@@ -24,5 +24,6 @@ public class ProductResponse {
 	private Gender gender;
 	private Integer amount;
 	private Integer discount;
+	private Double effectivePrice;
 	private Size size;
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package dev.akorovai.backend.reservation;
+
+public interface ReservedQuantity {
+	Long getProductId();
+
+	Long getQuantity();
+}
@@ -0,0 +1,41 @@
+package dev.akorovai.backend.reservation;
+
+import dev.akorovai.backend.product.Product;
+import dev.akorovai.backend.user.User;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "stock_reservation", indexes = {
+		@Index(name = "idx_stock_reservation_user_product", columnList = "user_id, product_id", unique = true),
+		@Index(name = "idx_stock_reservation_product_id", columnList = "product_id"),
+		@Index(name = "idx_stock_reservation_expires_at", columnList = "expires_at")
+})
+public class StockReservation {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "product_id", nullable = false)
+	@ToString.Exclude
+	private Product product;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "user_id", nullable = false)
+	@ToString.Exclude
+	private User user;
+
+	@Column(nullable = false)
+	private Integer quantity;
+
+	@Column(name = "expires_at", nullable = false)
+	private LocalDateTime expiresAt;
+}
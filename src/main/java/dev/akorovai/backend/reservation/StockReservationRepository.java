@@ -0,0 +1,40 @@
+package dev.akorovai.backend.reservation;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+	@Query("SELECT r FROM StockReservation r WHERE r.user.id = :userId AND r.product.id = :productId")
+	Optional<StockReservation> findByUserIdAndProductId( @Param("userId") Long userId, @Param("productId") Long productId );
+
+	@Query("SELECT r FROM StockReservation r WHERE r.user.id = :userId AND r.product.id IN :productIds")
+	List<StockReservation> findByUserIdAndProductIdIn( @Param("userId") Long userId, @Param("productIds") Collection<Long> productIds );
+
+	@Query("SELECT r FROM StockReservation r WHERE r.product.id IN :productIds")
+	List<StockReservation> findByProductIdIn( @Param("productIds") Collection<Long> productIds );
+
+	@Query("SELECT r.product.id AS productId, SUM(r.quantity) AS quantity FROM StockReservation r GROUP BY r.product.id")
+	List<ReservedQuantity> sumQuantities();
+
+	@Query("SELECT r.product.id AS productId, SUM(r.quantity) AS quantity FROM StockReservation r " +
+			       "WHERE r.expiresAt > :now GROUP BY r.product.id")
+	List<ReservedQuantity> sumUnexpiredQuantities( @Param("now") LocalDateTime now );
+
+	@Query("SELECT r.product.id AS productId, SUM(r.quantity) AS quantity FROM StockReservation r " +
+			       "WHERE r.product.id IN :productIds AND r.expiresAt > :now GROUP BY r.product.id")
+	List<ReservedQuantity> sumUnexpiredQuantitiesByProductIdIn( @Param("productIds") Collection<Long> productIds,
+	                                                            @Param("now") LocalDateTime now );
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT r FROM StockReservation r WHERE r.expiresAt <= :now")
+	List<StockReservation> lockExpired( @Param("now") LocalDateTime now );
+}
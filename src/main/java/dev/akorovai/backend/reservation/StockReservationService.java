@@ -0,0 +1,201 @@
+package dev.akorovai.backend.reservation;
+
+import com.google.common.util.concurrent.Striped;
+import dev.akorovai.backend.handler.shopping_cart.InsufficientStockException;
+import dev.akorovai.backend.product.Product;
+import dev.akorovai.backend.user.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+	private static final int LOCK_STRIPES = 64;
+
+	private final StockReservationRepository stockReservationRepository;
+
+	private final Striped<Lock> productLocks = Striped.lock(LOCK_STRIPES);
+	private final Map<Long, AtomicInteger> heldByProduct = new ConcurrentHashMap<>();
+
+	@Value("${application.reservation.ttl}")
+	private Duration ttl;
+
+	@Transactional
+	public void reserve(User user, Product product, int quantity) {
+		reserve(user, product, product.getAmount(), quantity);
+	}
+
+	@Transactional
+	public void reserve(User user, Product product, int stock, int quantity) {
+		Lock lock = productLocks.get(product.getId());
+		lock.lock();
+		try {
+			StockReservation reservation = stockReservationRepository.findByUserIdAndProductId(user.getId(), product.getId())
+					                               .orElseGet(() -> StockReservation.builder()
+							                                                .user(user)
+							                                                .product(product)
+							                                                .quantity(0)
+							                                                .build());
+
+			int available = stock - (held(product.getId()) - reservation.getQuantity());
+			if (quantity > available) {
+				throw new InsufficientStockException("Insufficient stock. Available stock: " + Math.max(available, 0));
+			}
+
+			int delta = quantity - reservation.getQuantity();
+			reservation.setQuantity(quantity);
+			reservation.setExpiresAt(LocalDateTime.now().plus(ttl));
+			stockReservationRepository.save(reservation);
+			adjust(product.getId(), delta);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Transactional
+	public void reserve(User user, Collection<Product> products, Map<Long, Integer> quantities) {
+		if (products.isEmpty()) {
+			return;
+		}
+
+		List<Long> productIds = products.stream().map(Product::getId).toList();
+		Iterable<Lock> locks = productLocks.bulkGet(productIds);
+		locks.forEach(Lock::lock);
+		try {
+			Map<Long, StockReservation> existing = stockReservationRepository.findByUserIdAndProductIdIn(user.getId(), productIds).stream()
+					                                       .collect(Collectors.toMap(reservation -> reservation.getProduct().getId(), Function.identity()));
+			LocalDateTime expiresAt = expiresAt(LocalDateTime.now());
+			List<StockReservation> reservations = new ArrayList<>(products.size());
+			Map<Long, Integer> deltas = new HashMap<>();
+			for (Product product : products) {
+				StockReservation reservation = existing.getOrDefault(product.getId(), StockReservation.builder()
+						                                                                      .user(user)
+						                                                                      .product(product)
+						                                                                      .quantity(0)
+						                                                                      .build());
+				int quantity = quantities.get(product.getId());
+				int available = product.getAmount() - (held(product.getId()) - reservation.getQuantity());
+				if (quantity > available) {
+					throw new InsufficientStockException("Insufficient stock. Available stock: " + Math.max(available, 0));
+				}
+
+				deltas.put(product.getId(), quantity - reservation.getQuantity());
+				reservation.setQuantity(quantity);
+				reservation.setExpiresAt(expiresAt);
+				reservations.add(reservation);
+			}
+			stockReservationRepository.saveAll(reservations);
+			deltas.forEach(this::adjust);
+		} finally {
+			locks.forEach(Lock::unlock);
+		}
+	}
+
+	public LocalDateTime expiresAt(LocalDateTime reservedAt) {
+		return reservedAt.plus(ttl);
+	}
+
+	public void recordReserved(Long productId, int delta) {
+		adjust(productId, delta);
+	}
+
+	@Transactional
+	public void release(User user, Collection<Long> productIds) {
+		if (productIds.isEmpty()) {
+			return;
+		}
+
+		delete(stockReservationRepository.findByUserIdAndProductIdIn(user.getId(), productIds));
+	}
+
+	@Transactional
+	public void release(Map<Long, Set<Long>> productIdsByUserId) {
+		Set<Long> productIds = productIdsByUserId.values().stream().flatMap(Collection::stream).collect(Collectors.toSet());
+		if (productIds.isEmpty()) {
+			return;
+		}
+
+		delete(stockReservationRepository.findByProductIdIn(productIds).stream()
+				       .filter(reservation -> productIdsByUserId.getOrDefault(reservation.getUser().getId(), Set.of())
+						                              .contains(reservation.getProduct().getId()))
+				       .toList());
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional(readOnly = true)
+	public void loadHeldQuantities() {
+		stockReservationRepository.sumQuantities().forEach(reserved -> heldByProduct
+				.computeIfAbsent(reserved.getProductId(), id -> new AtomicInteger())
+				.addAndGet(reserved.getQuantity().intValue()));
+	}
+
+	// Expired holds are subtracted row by row rather than reloading totals, which would erase deltas of open transactions.
+	@Scheduled(fixedDelayString = "${application.reservation.sweep-interval}")
+	@Transactional
+	public void releaseExpiredReservations() {
+		List<StockReservation> expired = stockReservationRepository.lockExpired(LocalDateTime.now());
+		delete(expired);
+
+		if (!expired.isEmpty()) {
+			log.info("Released {} expired stock reservations", expired.size());
+		}
+	}
+
+	private void delete(List<StockReservation> reservations) {
+		if (reservations.isEmpty()) {
+			return;
+		}
+
+		stockReservationRepository.deleteAllInBatch(reservations);
+		reservations.forEach(reservation -> adjust(reservation.getProduct().getId(), -reservation.getQuantity()));
+	}
+
+	private int held(Long productId) {
+		AtomicInteger held = heldByProduct.get(productId);
+		return held != null ? held.get() : 0;
+	}
+
+	// Deltas are applied while the product lock is held so concurrent reservations see each other, and undone on rollback.
+	private void adjust(Long productId, int delta) {
+		if (delta == 0) {
+			return;
+		}
+		AtomicInteger held = heldByProduct.computeIfAbsent(productId, id -> new AtomicInteger());
+		held.addAndGet(delta);
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status == STATUS_ROLLED_BACK) {
+					held.addAndGet(-delta);
+				}
+			}
+		});
+	}
+}
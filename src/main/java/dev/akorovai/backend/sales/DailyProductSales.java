@@ -0,0 +1,35 @@
+package dev.akorovai.backend.sales;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@IdClass(DailyProductSalesId.class)
+@Table(name = "daily_product_sales", indexes = {
+		@Index(name = "idx_daily_product_sales_type_date", columnList = "type_id, sale_date")
+})
+public class DailyProductSales {
+	@Id
+	@Column(name = "sale_date", nullable = false)
+	private LocalDate saleDate;
+
+	@Id
+	@Column(name = "product_id", nullable = false)
+	private Long productId;
+
+	@Column(name = "type_id")
+	private Long typeId;
+
+	@Column(name = "units_sold", nullable = false)
+	private long unitsSold;
+
+	@Column(name = "revenue_minor", nullable = false)
+	private long revenueMinor;
+}
@@ -0,0 +1,16 @@
+package dev.akorovai.backend.sales;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class DailyProductSalesId implements Serializable {
+	private LocalDate saleDate;
+	private Long productId;
+}
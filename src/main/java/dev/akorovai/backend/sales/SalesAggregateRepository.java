@@ -0,0 +1,95 @@
+package dev.akorovai.backend.sales;
+
+import dev.akorovai.backend.pricing.PricingEngine;
+import dev.akorovai.backend.sales.response.RevenuePointResponse;
+import dev.akorovai.backend.sales.response.TopProductResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class SalesAggregateRepository {
+	private static final String RECORD_SALES = "INSERT INTO daily_product_sales (sale_date, product_id, type_id, units_sold, revenue_minor) " +
+			                                           "VALUES (?, ?, ?, ?, ?) " +
+			                                           "ON CONFLICT (sale_date, product_id) DO UPDATE SET " +
+			                                           "units_sold = daily_product_sales.units_sold + EXCLUDED.units_sold, " +
+			                                           "revenue_minor = daily_product_sales.revenue_minor + EXCLUDED.revenue_minor";
+	private static final String TOP_PRODUCTS = "SELECT s.product_id, p.name, SUM(s.units_sold) AS units_sold, SUM(s.revenue_minor) AS revenue_minor " +
+			                                           "FROM daily_product_sales s LEFT JOIN product p ON p.id = s.product_id " +
+			                                           "WHERE s.sale_date BETWEEN ? AND ? %s" +
+			                                           "GROUP BY s.product_id, p.name " +
+			                                           "ORDER BY units_sold DESC, s.product_id " +
+			                                           "LIMIT ?";
+	private static final String REVENUE_SERIES = "SELECT s.sale_date, SUM(s.units_sold) AS units_sold, SUM(s.revenue_minor) AS revenue_minor " +
+			                                             "FROM daily_product_sales s " +
+			                                             "WHERE s.sale_date BETWEEN ? AND ? %s" +
+			                                             "GROUP BY s.sale_date " +
+			                                             "ORDER BY s.sale_date";
+	private static final String TYPE_FILTER = "AND s.type_id = ? ";
+	private static final String PRODUCT_FILTER = "AND s.product_id = ? ";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public void record(LocalDate saleDate, Collection<SalesLine> lines) {
+		if (lines.isEmpty()) {
+			return;
+		}
+
+		List<SalesLine> sorted = new ArrayList<>(lines);
+		sorted.sort(Comparator.comparing(SalesLine::productId));
+		jdbcTemplate.batchUpdate(RECORD_SALES, sorted, sorted.size(), (statement, line) -> {
+			statement.setDate(1, Date.valueOf(saleDate));
+			statement.setLong(2, line.productId());
+			statement.setObject(3, line.typeId(), Types.BIGINT);
+			statement.setLong(4, line.unitsSold());
+			statement.setLong(5, line.revenueMinor());
+		});
+	}
+
+	public List<TopProductResponse> findTopProducts(LocalDate from, LocalDate to, Long typeId, int limit) {
+		List<Object> args = new ArrayList<>(List.of(Date.valueOf(from), Date.valueOf(to)));
+		StringBuilder filters = new StringBuilder();
+		if (typeId != null) {
+			filters.append(TYPE_FILTER);
+			args.add(typeId);
+		}
+		args.add(limit);
+
+		return jdbcTemplate.query(TOP_PRODUCTS.formatted(filters), (rs, rowNum) -> TopProductResponse.builder()
+				                                                                            .productId(rs.getLong("product_id"))
+				                                                                            .productName(rs.getString("name"))
+				                                                                            .unitsSold(rs.getLong("units_sold"))
+				                                                                            .revenue(PricingEngine.toMajorUnits(rs.getLong("revenue_minor")))
+				                                                                            .build(),
+				args.toArray());
+	}
+
+	public List<RevenuePointResponse> findRevenueSeries(LocalDate from, LocalDate to, Long typeId, Long productId) {
+		List<Object> args = new ArrayList<>(List.of(Date.valueOf(from), Date.valueOf(to)));
+		StringBuilder filters = new StringBuilder();
+		if (typeId != null) {
+			filters.append(TYPE_FILTER);
+			args.add(typeId);
+		}
+		if (productId != null) {
+			filters.append(PRODUCT_FILTER);
+			args.add(productId);
+		}
+
+		return jdbcTemplate.query(REVENUE_SERIES.formatted(filters), (rs, rowNum) -> RevenuePointResponse.builder()
+				                                                                              .date(rs.getDate("sale_date").toLocalDate())
+				                                                                              .unitsSold(rs.getLong("units_sold"))
+				                                                                              .revenue(PricingEngine.toMajorUnits(rs.getLong("revenue_minor")))
+				                                                                              .build(),
+				args.toArray());
+	}
+}
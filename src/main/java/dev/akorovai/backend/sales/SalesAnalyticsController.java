@@ -0,0 +1,49 @@
+package dev.akorovai.backend.sales;
+
+import dev.akorovai.backend.sales.response.RevenuePointResponse;
+import dev.akorovai.backend.sales.response.TopProductResponse;
+import dev.akorovai.backend.security.ResponseRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/sales")
+@RequiredArgsConstructor
+public class SalesAnalyticsController {
+
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    @GetMapping("/top-products")
+    public ResponseEntity<ResponseRecord> getTopProducts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long typeId,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<TopProductResponse> response = salesAnalyticsService.getTopProducts(from, to, typeId, limit);
+        ResponseRecord responseRecord = ResponseRecord.builder()
+                                                .code(HttpStatus.OK.value())
+                                                .message(response)
+                                                .build();
+        return ResponseEntity.ok(responseRecord);
+    }
+
+    @GetMapping("/revenue")
+    public ResponseEntity<ResponseRecord> getRevenueSeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long typeId,
+            @RequestParam(required = false) Long productId) {
+        List<RevenuePointResponse> response = salesAnalyticsService.getRevenueSeries(from, to, typeId, productId);
+        ResponseRecord responseRecord = ResponseRecord.builder()
+                                                .code(HttpStatus.OK.value())
+                                                .message(response)
+                                                .build();
+        return ResponseEntity.ok(responseRecord);
+    }
+}
@@ -0,0 +1,39 @@
+package dev.akorovai.backend.sales;
+
+import dev.akorovai.backend.handler.sales.InvalidDateRangeException;
+import dev.akorovai.backend.sales.response.RevenuePointResponse;
+import dev.akorovai.backend.sales.response.TopProductResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SalesAnalyticsService {
+	private static final int MAX_TOP_PRODUCTS = 100;
+	private static final long MAX_RANGE_DAYS = 366;
+
+	private final SalesAggregateRepository salesAggregateRepository;
+
+	public List<TopProductResponse> getTopProducts(LocalDate from, LocalDate to, Long typeId, int limit) {
+		validateRange(from, to);
+		return salesAggregateRepository.findTopProducts(from, to, typeId, Math.min(Math.max(limit, 1), MAX_TOP_PRODUCTS));
+	}
+
+	public List<RevenuePointResponse> getRevenueSeries(LocalDate from, LocalDate to, Long typeId, Long productId) {
+		validateRange(from, to);
+		return salesAggregateRepository.findRevenueSeries(from, to, typeId, productId);
+	}
+
+	private static void validateRange(LocalDate from, LocalDate to) {
+		if (from.isAfter(to)) {
+			throw new InvalidDateRangeException("Start date must not be after end date.");
+		}
+		if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+			throw new InvalidDateRangeException("Date range must not exceed " + MAX_RANGE_DAYS + " days.");
+		}
+	}
+}
@@ -0,0 +1,8 @@
+package dev.akorovai.backend.sales;
+
+public record SalesLine(Long productId, Long typeId, long unitsSold, long revenueMinor) {
+
+	public SalesLine plus(SalesLine other) {
+		return new SalesLine(productId, typeId, unitsSold + other.unitsSold, revenueMinor + other.revenueMinor);
+	}
+}
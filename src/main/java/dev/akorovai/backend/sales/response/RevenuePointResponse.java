@@ -0,0 +1,16 @@
+package dev.akorovai.backend.sales.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class RevenuePointResponse {
+	private LocalDate date;
+	private long unitsSold;
+	private double revenue;
+}
@@ -0,0 +1,15 @@
+package dev.akorovai.backend.sales.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class TopProductResponse {
+	private Long productId;
+	private String productName;
+	private long unitsSold;
+	private double revenue;
+}
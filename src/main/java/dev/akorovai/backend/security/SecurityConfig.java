@@ -35,10 +35,12 @@ public class SecurityConfig {
                     HttpMethod.POST, new String[]{"/api/auth/*"}
             ),
             "ADMIN", Map.of(
-                    HttpMethod.POST, new String[]{"/api/products", "/api/products/{productId}/discount"},
-                    HttpMethod.GET, new String[]{"/api/products/filter"},
+                    HttpMethod.POST, new String[]{"/api/products", "/api/products/{productId}/discount",
+                            "/api/products/{productId}/flash-sale"},
+                    HttpMethod.GET, new String[]{"/api/products/filter", "/api/products/filter/facets",
+                            "/api/admin/sales/top-products", "/api/admin/sales/revenue"},
                     HttpMethod.PUT, new String[]{"/api/products/{productId}"},
-                    HttpMethod.DELETE, new String[]{"/api/products/{productId}"}
+                    HttpMethod.DELETE, new String[]{"/api/products/{productId}", "/api/products/{productId}/flash-sale"}
             ),
             "USER", Map.of(
                     HttpMethod.GET, new String[]{
@@ -46,13 +48,16 @@ public class SecurityConfig {
                             "/api/shopping-cart/items",
                             "/api/reviews/product/{productId}",
                             "/api/orders",
+                            "/api/orders/checkout/{token}",
                             "/api/addresses"
                     },
                     HttpMethod.POST, new String[]{
                             "/api/wishlist/add/{productId}",
                             "/api/shopping-cart/items",
+                            "/api/shopping-cart/items/batch",
                             "/api/reviews",
                             "/api/orders",
+                            "/api/orders/checkout",
                             "/api/addresses"
                     },
                     HttpMethod.PUT, new String[]{
@@ -0,0 +1,9 @@
+package dev.akorovai.backend.shopping_cart;
+
+public interface CartLineKey {
+	Long getId();
+
+	Long getUserId();
+
+	Long getProductId();
+}
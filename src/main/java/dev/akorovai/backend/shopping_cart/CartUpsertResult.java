@@ -0,0 +1,9 @@
+package dev.akorovai.backend.shopping_cart;
+
+public interface CartUpsertResult {
+	Integer getAmount();
+
+	Integer getQuantity();
+
+	Integer getReservedBefore();
+}
@@ -1,7 +1,9 @@
 package dev.akorovai.backend.shopping_cart;
 
 import dev.akorovai.backend.security.ResponseRecord;
+import dev.akorovai.backend.shopping_cart.request.CartBatchRequest;
 import dev.akorovai.backend.shopping_cart.response.ShoppingCartItemResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
@@ -53,4 +55,13 @@ public class ShoppingCartController {
                        .message("Product added to cart successfully")
                        .build();
     }
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @PostMapping("/items/batch")
+    public ResponseRecord applyCartBatch(@Valid @RequestBody CartBatchRequest request) {
+        shoppingCartItemService.applyBatch(request);
+        return ResponseRecord.builder()
+                       .code(HttpStatus.NO_CONTENT.value())
+                       .message("Shopping cart updated successfully")
+                       .build();
+    }
 }
\ No newline at end of file
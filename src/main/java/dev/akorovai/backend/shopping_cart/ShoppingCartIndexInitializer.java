@@ -0,0 +1,42 @@
+package dev.akorovai.backend.shopping_cart;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// ddl-auto cannot create the unique index over carts that already hold duplicate lines, and the
+// add-to-cart upsert needs it as its ON CONFLICT target, so duplicates are merged before creating it.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShoppingCartIndexInitializer implements CommandLineRunner {
+	private static final String MERGE_DUPLICATE_QUANTITIES = "UPDATE shopping_cart_item sci SET quantity = (" +
+			                                                         "SELECT SUM(d.quantity) FROM shopping_cart_item d " +
+			                                                         "WHERE d.user_id = sci.user_id AND d.product_id = sci.product_id) " +
+			                                                         "WHERE sci.id = (SELECT MIN(d.id) FROM shopping_cart_item d " +
+			                                                         "WHERE d.user_id = sci.user_id AND d.product_id = sci.product_id) " +
+			                                                         "AND EXISTS (SELECT 1 FROM shopping_cart_item d " +
+			                                                         "WHERE d.user_id = sci.user_id AND d.product_id = sci.product_id AND d.id <> sci.id)";
+	private static final String DELETE_DUPLICATES = "DELETE FROM shopping_cart_item sci WHERE EXISTS (" +
+			                                                "SELECT 1 FROM shopping_cart_item d " +
+			                                                "WHERE d.user_id = sci.user_id AND d.product_id = sci.product_id AND d.id < sci.id)";
+	private static final String CREATE_UNIQUE_INDEX = "CREATE UNIQUE INDEX IF NOT EXISTS idx_shopping_cart_item_user_product " +
+			                                                  "ON shopping_cart_item (user_id, product_id)";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@Override
+	@Transactional
+	public void run(String... args) {
+		jdbcTemplate.update(MERGE_DUPLICATE_QUANTITIES);
+		int removed = jdbcTemplate.update(DELETE_DUPLICATES);
+		jdbcTemplate.execute(CREATE_UNIQUE_INDEX);
+
+		if (removed > 0) {
+			log.warn("Merged {} duplicate shopping cart lines before creating the unique cart line index", removed);
+		}
+	}
+}
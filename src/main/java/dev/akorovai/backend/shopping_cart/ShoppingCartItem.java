@@ -21,7 +21,7 @@ import java.time.LocalDateTime;
 @Builder
 @Entity
 @Table(name = "shopping_cart_item", indexes = {
-		@Index(name = "idx_shopping_cart_item_user_id", columnList = "user_id"),
+		@Index(name = "idx_shopping_cart_item_user_product", columnList = "user_id, product_id", unique = true),
 		@Index(name = "idx_shopping_cart_item_product_id", columnList = "product_id")
 })
 @EntityListeners(AuditingEntityListener.class)
@@ -48,4 +48,8 @@ public class ShoppingCartItem {
 	@CreatedDate
 	@Column(nullable = false, updatable = false)
 	private LocalDateTime createdDate;
+
+	// Nullable so the column can be added to existing carts; the sweeper falls back to created_date.
+	@LastModifiedDate
+	private LocalDateTime lastModifiedDate;
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package dev.akorovai.backend.shopping_cart;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Repository
+@RequiredArgsConstructor
+public class ShoppingCartItemBatchRepository {
+	private static final String INSERT_ITEM = "INSERT INTO shopping_cart_item (user_id, product_id, quantity, created_date, last_modified_date) VALUES (?, ?, ?, ?, ?)";
+	private static final String UPDATE_QUANTITY = "UPDATE shopping_cart_item SET quantity = ?, last_modified_date = ? WHERE id = ?";
+	private static final String DELETE_ITEM = "DELETE FROM shopping_cart_item WHERE id = ?";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public void insertItems(Long userId, Map<Long, Integer> quantitiesByProductId, LocalDateTime now) {
+		if (quantitiesByProductId.isEmpty()) {
+			return;
+		}
+
+		List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantitiesByProductId).entrySet());
+		jdbcTemplate.batchUpdate(INSERT_ITEM, lines, lines.size(), (statement, line) -> {
+			statement.setLong(1, userId);
+			statement.setLong(2, line.getKey());
+			statement.setInt(3, line.getValue());
+			statement.setTimestamp(4, Timestamp.valueOf(now));
+			statement.setTimestamp(5, Timestamp.valueOf(now));
+		});
+	}
+
+	public void updateQuantities(Map<Long, Integer> quantitiesByItemId, LocalDateTime now) {
+		if (quantitiesByItemId.isEmpty()) {
+			return;
+		}
+
+		List<Map.Entry<Long, Integer>> lines = new ArrayList<>(new TreeMap<>(quantitiesByItemId).entrySet());
+		jdbcTemplate.batchUpdate(UPDATE_QUANTITY, lines, lines.size(), (statement, line) -> {
+			statement.setInt(1, line.getValue());
+			statement.setTimestamp(2, Timestamp.valueOf(now));
+			statement.setLong(3, line.getKey());
+		});
+	}
+
+	public void deleteItems(Collection<Long> itemIds) {
+		if (itemIds.isEmpty()) {
+			return;
+		}
+
+		List<Long> ids = itemIds.stream().sorted().toList();
+		jdbcTemplate.batchUpdate(DELETE_ITEM, ids, ids.size(), (statement, id) -> statement.setLong(1, id));
+	}
+}
@@ -1,11 +1,11 @@
 package dev.akorovai.backend.shopping_cart;
 
-import dev.akorovai.backend.product.Product;
-import dev.akorovai.backend.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,10 +14,44 @@ public interface ShoppingCartItemRepository extends JpaRepository<ShoppingCartIt
 	@Query("SELECT sci FROM ShoppingCartItem sci JOIN FETCH sci.product WHERE sci.user.id = :userId")
 	List<ShoppingCartItem> findByUserIdWithProduct(@Param("userId") Long userId);
 
+	@Query("SELECT new dev.akorovai.backend.shopping_cart.ShoppingCartItemView(sci.id, sci.quantity, sci.user.id, " +
+			       "p.id, p.name, c.name, p.price, p.discount, p.amount) " +
+			       "FROM ShoppingCartItem sci JOIN sci.product p JOIN p.color c WHERE sci.user.id = :userId AND p.amount > 0")
+	List<ShoppingCartItemView> findInStockViewsByUserId(@Param("userId") Long userId);
+
 	@Query("SELECT sci FROM ShoppingCartItem sci JOIN FETCH sci.product WHERE sci.id = :itemId")
 	Optional<ShoppingCartItem> findByIdWithProduct(@Param("itemId") Long itemId);
 
-	Optional<ShoppingCartItem> findByUserAndProduct( User user, Product product);
+	List<ShoppingCartItem> findByUserIdAndProductIdIn( Long userId, Collection<Long> productIds );
+
+	@Query(value = "SELECT sci.id AS id, sci.user_id AS userId, sci.product_id AS productId " +
+			               "FROM shopping_cart_item sci JOIN product p ON p.id = sci.product_id " +
+			               "WHERE p.amount <= 0 ORDER BY sci.id LIMIT :limit FOR UPDATE OF sci SKIP LOCKED", nativeQuery = true)
+	List<CartLineKey> lockOutOfStockChunk( @Param("limit") int limit );
+
+	@Query(value = "SELECT id AS id, user_id AS userId, product_id AS productId FROM shopping_cart_item " +
+			               "WHERE COALESCE(last_modified_date, created_date) < :cutoff " +
+			               "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+	List<CartLineKey> lockAbandonedChunk( @Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit );
 
-	List<ShoppingCartItem> findByUser( User user );
+	@Query(value = "WITH p AS (SELECT id, amount FROM product WHERE id = :productId), " +
+			               "held AS (SELECT COALESCE(SUM(quantity), 0) AS quantity FROM stock_reservation " +
+			               "WHERE product_id = :productId AND user_id <> :userId AND expires_at > :now), " +
+			               "available AS (SELECT p.id, p.amount - held.quantity AS amount FROM p, held), " +
+			               "previous AS (SELECT quantity FROM stock_reservation WHERE user_id = :userId AND product_id = :productId), " +
+			               "upserted AS (INSERT INTO shopping_cart_item (user_id, product_id, quantity, created_date, last_modified_date) " +
+			               "SELECT :userId, available.id, 1, :now, :now FROM available WHERE available.amount >= 1 " +
+			               "ON CONFLICT (user_id, product_id) DO UPDATE SET quantity = shopping_cart_item.quantity + 1, " +
+			               "last_modified_date = EXCLUDED.last_modified_date " +
+			               "WHERE shopping_cart_item.quantity < (SELECT amount FROM available) " +
+			               "RETURNING quantity), " +
+			               "reserved AS (INSERT INTO stock_reservation (user_id, product_id, quantity, expires_at) " +
+			               "SELECT :userId, :productId, quantity, :expiresAt FROM upserted " +
+			               "ON CONFLICT (user_id, product_id) DO UPDATE SET quantity = EXCLUDED.quantity, expires_at = EXCLUDED.expires_at " +
+			               "RETURNING quantity) " +
+			               "SELECT available.amount AS amount, (SELECT quantity FROM reserved) AS quantity, " +
+			               "COALESCE((SELECT quantity FROM previous), 0) AS reservedBefore FROM available",
+			nativeQuery = true)
+	Optional<CartUpsertResult> incrementQuantity( @Param("userId") Long userId, @Param("productId") Long productId,
+	                                              @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt );
 }
\ No newline at end of file
@@ -1,11 +1,16 @@
 package dev.akorovai.backend.shopping_cart;
 
+import dev.akorovai.backend.handler.product.ProductNotFoundException;
 import dev.akorovai.backend.handler.shopping_cart.ShoppingCartItemNotFoundException;
 import dev.akorovai.backend.handler.shopping_cart.UnauthorizedItemDeletionException;
 import dev.akorovai.backend.handler.shopping_cart.UnauthorizedItemModificationException;
 import dev.akorovai.backend.handler.shopping_cart.InsufficientStockException;
+import dev.akorovai.backend.pricing.PricingEngine;
+import dev.akorovai.backend.reservation.StockReservationService;
 import dev.akorovai.backend.security.JwtService;
 import dev.akorovai.backend.shopping_cart.mapper.ShoppingCartItemMapper;
+import dev.akorovai.backend.shopping_cart.request.CartBatchRequest;
+import dev.akorovai.backend.shopping_cart.request.CartOperation;
 import dev.akorovai.backend.shopping_cart.response.ShoppingCartItemResponse;
 import dev.akorovai.backend.user.User;
 import dev.akorovai.backend.product.Product;
@@ -14,8 +19,15 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,25 +38,32 @@ public class ShoppingCartItemService {
 	private final ShoppingCartItemMapper shoppingCartItemMapper;
 	private final JwtService jwtService;
 	private final ProductRepository productRepository;
+	private final StockReservationService stockReservationService;
+	private final PricingEngine pricingEngine;
+	private final ShoppingCartItemBatchRepository shoppingCartItemBatchRepository;
 
 	@Transactional(readOnly = true)
 	public List<ShoppingCartItemResponse> getShoppingCartItemsByUserId() {
 		User user = jwtService.getAuthenticatedUser();
 
-		List<ShoppingCartItem> shoppingCartItems = shoppingCartItemRepository.findByUserIdWithProduct(user.getId());
+		List<ShoppingCartItemView> inStockItems = shoppingCartItemRepository.findInStockViewsByUserId(user.getId());
 
-		List<ShoppingCartItem> outOfStockItems = shoppingCartItems.stream()
-				                                         .filter(item -> item.getProduct().getAmount() <= 0)
-				                                         .collect(Collectors.toList());
-
-		if (!outOfStockItems.isEmpty()) {
-			shoppingCartItemRepository.deleteAll(outOfStockItems);
+		int lines = inStockItems.size();
+		long[] productIds = new long[lines];
+		int[] quantities = new int[lines];
+		long[] unitPrices = new long[lines];
+		for (int i = 0; i < lines; i++) {
+			productIds[i] = inStockItems.get(i).productId();
+			quantities[i] = inStockItems.get(i).quantity();
 		}
+		pricingEngine.priceCart(productIds, quantities, unitPrices, lines);
 
-		return shoppingCartItems.stream()
-				       .filter(item -> item.getProduct().getAmount() > 0)
-				       .map(shoppingCartItemMapper::toShoppingCartItemResponse)
-				       .collect(Collectors.toList());
+		List<ShoppingCartItemResponse> responses = new ArrayList<>(lines);
+		for (int i = 0; i < lines; i++) {
+			responses.add(shoppingCartItemMapper.toShoppingCartItemResponse(inStockItems.get(i),
+					PricingEngine.toMajorUnits(unitPrices[i])));
+		}
+		return responses;
 	}
 
 	@Transactional
@@ -62,6 +81,7 @@ public class ShoppingCartItemService {
 		}
 
 		shoppingCartItemRepository.delete(item);
+		stockReservationService.release(user, List.of(item.getProduct().getId()));
 	}
 
 	@Transactional
@@ -79,6 +99,7 @@ public class ShoppingCartItemService {
 		}
 
 		validateQuantity(newQuantity, item.getProduct().getAmount());
+		stockReservationService.reserve(user, item.getProduct(), newQuantity);
 
 		item.setQuantity(newQuantity);
 		shoppingCartItemRepository.save(item);
@@ -87,30 +108,80 @@ public class ShoppingCartItemService {
 	@Transactional
 	public void addProductToCart(Long productId) {
 		User user = jwtService.getAuthenticatedUser();
-		Product product = productRepository.findById(productId)
-				                  .orElseThrow(() -> new IllegalArgumentException("Product with ID " + productId + " not found"));
-
-		Optional<ShoppingCartItem> existingItem = shoppingCartItemRepository.findByUserAndProduct(user, product);
-
-		if (existingItem.isPresent()) {
-			ShoppingCartItem item = existingItem.get();
-			int newQuantity = item.getQuantity() + 1;
-
-			validateQuantity(newQuantity, product.getAmount());
+		LocalDateTime now = LocalDateTime.now();
+		CartUpsertResult result = shoppingCartItemRepository.incrementQuantity(user.getId(), productId, now, stockReservationService.expiresAt(now))
+				                          .orElseThrow(() -> new IllegalArgumentException("Product with ID " + productId + " not found"));
 
-			item.setQuantity(newQuantity);
-			shoppingCartItemRepository.save(item);
-		} else {
-			validateQuantity(1, product.getAmount());
+		if (result.getQuantity() == null) {
+			throw new InsufficientStockException("Insufficient stock. Available stock: " + Math.max(result.getAmount(), 0));
+		}
 
-			ShoppingCartItem newItem = ShoppingCartItem.builder()
-					                           .user(user)
-					                           .product(product)
-					                           .quantity(1)
-					                           .build();
+		stockReservationService.recordReserved(productId, result.getQuantity() - result.getReservedBefore());
+	}
 
-			shoppingCartItemRepository.save(newItem);
+	@Transactional
+	public void applyBatch(CartBatchRequest request) {
+		List<CartOperation> operations = request.getOperations();
+		User user = jwtService.getAuthenticatedUser();
+		Set<Long> productIds = operations.stream().map(CartOperation::getProductId).collect(Collectors.toCollection(TreeSet::new));
+		Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+				                              .collect(Collectors.toMap(Product::getId, Function.identity()));
+		Map<Long, ShoppingCartItem> existingItems = shoppingCartItemRepository.findByUserIdAndProductIdIn(user.getId(), productIds).stream()
+				                                            .collect(Collectors.toMap(item -> item.getProduct().getId(), Function.identity()));
+
+		Map<Long, Integer> targetQuantities = new TreeMap<>();
+		for (CartOperation operation : operations) {
+			Long productId = operation.getProductId();
+			if (!products.containsKey(productId)) {
+				throw new ProductNotFoundException("Product not found with ID: " + productId);
+			}
+
+			ShoppingCartItem existingItem = existingItems.get(productId);
+			int current = targetQuantities.getOrDefault(productId, existingItem != null ? existingItem.getQuantity() : 0);
+			int quantity = operation.getQuantity() != null ? operation.getQuantity() : 1;
+			targetQuantities.put(productId, switch (operation.getType()) {
+				case ADD -> current + quantity;
+				case SET -> quantity;
+				case REMOVE -> 0;
+			});
 		}
+
+		Map<Long, Integer> inserts = new HashMap<>();
+		Map<Long, Integer> updates = new HashMap<>();
+		List<Long> deletedItemIds = new ArrayList<>();
+		List<Long> releasedProductIds = new ArrayList<>();
+		List<Product> reservedProducts = new ArrayList<>();
+		Map<Long, Integer> reservedQuantities = new HashMap<>();
+		targetQuantities.forEach((productId, quantity) -> {
+			ShoppingCartItem existingItem = existingItems.get(productId);
+			if (quantity == 0) {
+				if (existingItem != null) {
+					deletedItemIds.add(existingItem.getId());
+					releasedProductIds.add(productId);
+				}
+				return;
+			}
+			if (existingItem != null && existingItem.getQuantity().equals(quantity)) {
+				return;
+			}
+
+			Product product = products.get(productId);
+			validateQuantity(quantity, product.getAmount());
+			reservedProducts.add(product);
+			reservedQuantities.put(productId, quantity);
+			if (existingItem == null) {
+				inserts.put(productId, quantity);
+			} else {
+				updates.put(existingItem.getId(), quantity);
+			}
+		});
+
+		stockReservationService.reserve(user, reservedProducts, reservedQuantities);
+		LocalDateTime now = LocalDateTime.now();
+		shoppingCartItemBatchRepository.insertItems(user.getId(), inserts, now);
+		shoppingCartItemBatchRepository.updateQuantities(updates, now);
+		shoppingCartItemBatchRepository.deleteItems(deletedItemIds);
+		stockReservationService.release(user, releasedProductIds);
 	}
 
 	private void validateQuantity(int quantity, int availableStock) {
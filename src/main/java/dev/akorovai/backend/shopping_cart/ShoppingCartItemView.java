@@ -0,0 +1,12 @@
+package dev.akorovai.backend.shopping_cart;
+
+public record ShoppingCartItemView(Long id,
+                                   Integer quantity,
+                                   Long userId,
+                                   Long productId,
+                                   String productName,
+                                   String colorName,
+                                   Double price,
+                                   Integer discount,
+                                   Integer amount) {
+}
@@ -0,0 +1,77 @@
+package dev.akorovai.backend.shopping_cart;
+
+import dev.akorovai.backend.reservation.StockReservationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class ShoppingCartSweeper {
+
+	private final ShoppingCartItemRepository shoppingCartItemRepository;
+	private final StockReservationService stockReservationService;
+	private final TransactionTemplate transactionTemplate;
+	private final int batchSize;
+	private final Duration abandonedAfter;
+
+	public ShoppingCartSweeper( ShoppingCartItemRepository shoppingCartItemRepository, StockReservationService stockReservationService,
+	                            TransactionTemplate transactionTemplate,
+	                            @Value("${application.shopping-cart.sweep-batch-size}") int batchSize,
+	                            @Value("${application.shopping-cart.abandoned-after}") Duration abandonedAfter ) {
+		this.shoppingCartItemRepository = shoppingCartItemRepository;
+		this.stockReservationService = stockReservationService;
+		this.transactionTemplate = transactionTemplate;
+		this.batchSize = batchSize;
+		this.abandonedAfter = abandonedAfter;
+	}
+
+	@Scheduled(fixedDelayString = "${application.shopping-cart.sweep-interval}")
+	public void sweep() {
+		sweep(LocalDateTime.now());
+	}
+
+	void sweep( LocalDateTime now ) {
+		int outOfStock = deleteInChunks(() -> shoppingCartItemRepository.lockOutOfStockChunk(batchSize));
+		LocalDateTime cutoff = now.minus(abandonedAfter);
+		int abandoned = deleteInChunks(() -> shoppingCartItemRepository.lockAbandonedChunk(cutoff, batchSize));
+
+		if ( outOfStock > 0 || abandoned > 0 ) {
+			log.info("Pruned {} out-of-stock and {} abandoned cart lines", outOfStock, abandoned);
+		}
+	}
+
+	private int deleteInChunks( Supplier<List<CartLineKey>> chunk ) {
+		int total = 0;
+		int deleted;
+		do {
+			Integer result = transactionTemplate.execute(status -> deleteLines(chunk.get()));
+			deleted = result != null ? result : 0;
+			total += deleted;
+		} while ( deleted == batchSize );
+		return total;
+	}
+
+	private int deleteLines( List<CartLineKey> lines ) {
+		if ( lines.isEmpty() ) {
+			return 0;
+		}
+
+		shoppingCartItemRepository.deleteAllByIdInBatch(lines.stream().map(CartLineKey::getId).toList());
+		Map<Long, Set<Long>> productIdsByUserId = lines.stream()
+				                                          .collect(Collectors.groupingBy(CartLineKey::getUserId,
+						                                          Collectors.mapping(CartLineKey::getProductId, Collectors.toSet())));
+		stockReservationService.release(productIdsByUserId);
+		return lines.size();
+	}
+}
@@ -1,7 +1,9 @@
 package dev.akorovai.backend.shopping_cart.mapper;
 
 import dev.akorovai.backend.color.Color;
+import dev.akorovai.backend.product.response.ProductCartResponse;
 import dev.akorovai.backend.shopping_cart.ShoppingCartItem;
+import dev.akorovai.backend.shopping_cart.ShoppingCartItemView;
 import dev.akorovai.backend.shopping_cart.response.ShoppingCartItemResponse;
 import dev.akorovai.backend.product.mapper.ProductMapper;
 import org.mapstruct.Mapper;
@@ -15,8 +17,26 @@ public interface ShoppingCartItemMapper {
     @Mapping(source = "quantity", target = "quantity")
     @Mapping(source = "product", target = "product")
     @Mapping(source = "user.id", target = "userId")
+    @Mapping(target = "product.effectivePrice", ignore = true)
     ShoppingCartItemResponse toShoppingCartItemResponse(ShoppingCartItem shoppingCartItem);
 
+    @Mapping(source = "shoppingCartItemView.id", target = "id")
+    @Mapping(source = "shoppingCartItemView.quantity", target = "quantity")
+    @Mapping(source = "shoppingCartItemView.userId", target = "userId")
+    @Mapping(target = "product", expression = "java(toProductCartResponse(shoppingCartItemView, effectivePrice))")
+    ShoppingCartItemResponse toShoppingCartItemResponse(ShoppingCartItemView shoppingCartItemView, Double effectivePrice);
+
+    @Mapping(source = "shoppingCartItemView.productId", target = "id")
+    @Mapping(source = "shoppingCartItemView.productName", target = "name")
+    @Mapping(source = "shoppingCartItemView.colorName", target = "color")
+    @Mapping(source = "shoppingCartItemView.price", target = "price")
+    @Mapping(source = "shoppingCartItemView.discount", target = "discount")
+    @Mapping(source = "effectivePrice", target = "effectivePrice")
+    @Mapping(source = "shoppingCartItemView.amount", target = "amount")
+    @Mapping(target = "imageUrl", ignore = true)
+    @Mapping(target = "warehouseAmount", ignore = true)
+    ProductCartResponse toProductCartResponse(ShoppingCartItemView shoppingCartItemView, Double effectivePrice);
+
     default String mapColorToString(Color color) {
         if (color == null) {
             return null;
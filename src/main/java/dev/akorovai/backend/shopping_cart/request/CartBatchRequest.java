@@ -0,0 +1,20 @@
+package dev.akorovai.backend.shopping_cart.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartBatchRequest {
+
+	@NotEmpty(message = "At least one operation is required")
+	@Size(max = 100, message = "A batch can contain at most 100 operations")
+	private List<@Valid CartOperation> operations;
+}
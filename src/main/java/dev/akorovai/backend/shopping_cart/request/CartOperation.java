@@ -0,0 +1,22 @@
+package dev.akorovai.backend.shopping_cart.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartOperation {
+
+	@NotNull(message = "Operation type is required")
+	private CartOperationType type;
+
+	@NotNull(message = "Product ID is required")
+	private Long productId;
+
+	@Min(value = 1, message = "Quantity must be greater than 0")
+	private Integer quantity;
+}
@@ -0,0 +1,7 @@
+package dev.akorovai.backend.shopping_cart.request;
+
+public enum CartOperationType {
+	ADD,
+	SET,
+	REMOVE
+}
@@ -1,21 +1,21 @@
 package dev.akorovai.backend.type;
 
+import dev.akorovai.backend.dictionary.DictionaryService;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.stereotype.Component;
 
 @Component
 public class StringToTypeConverter implements Converter<String, Type> {
 
-    private final TypeRepository typeRepository;
+    private final DictionaryService dictionaryService;
 
-    public StringToTypeConverter(TypeRepository typeRepository) {
-        this.typeRepository = typeRepository;
+    public StringToTypeConverter(DictionaryService dictionaryService) {
+        this.dictionaryService = dictionaryService;
     }
 
     @Override
     public Type convert(String source) {
-        // Fetch the Type entity from the database by name
-        return typeRepository.findByName(source)
+        return dictionaryService.findType(source)
                        .orElseThrow(() -> new IllegalArgumentException("Invalid type name: " + source));
     }
-}
\ No newline at end of file
+}
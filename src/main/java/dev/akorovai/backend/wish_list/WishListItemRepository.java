@@ -1,6 +1,8 @@
 package dev.akorovai.backend.wish_list;
 
 import dev.akorovai.backend.product.Product;
+import dev.akorovai.backend.product.ProductRepository;
+import dev.akorovai.backend.product.ProductRow;
 import dev.akorovai.backend.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -14,15 +16,16 @@ public interface WishListItemRepository extends JpaRepository<WishListItem, Long
 
     List<WishListItem> findWishListItemsByUser(User user);
 
-    @Query("SELECT wl.product FROM WishListItem wl " +
+    @Query(ProductRepository.PRODUCT_ROW_SELECT +
+            "FROM WishListItem wl JOIN wl.product p " + ProductRepository.PRODUCT_ROW_JOINS +
             "WHERE wl.user = :user " +
-            "AND (:type IS NULL OR wl.product.type.name = :type) " +
-            "AND (:gender IS NULL OR wl.product.gender = :gender) " +
-            "AND (:color IS NULL OR wl.product.color.name = :color) " +
-            "AND (:size IS NULL OR wl.product.size = :size) " +
-            "AND (:minPrice IS NULL OR wl.product.price >= :minPrice) " +
-            "AND (:maxPrice IS NULL OR wl.product.price <= :maxPrice)")
-    List<Product> findWishListProductsByUserAndFilters(
+            "AND (:type IS NULL OR t.name = :type) " +
+            "AND (:gender IS NULL OR p.gender = :gender) " +
+            "AND (:color IS NULL OR c.name = :color) " +
+            "AND (:size IS NULL OR p.size = :size) " +
+            "AND (:minPrice IS NULL OR p.price >= :minPrice) " +
+            "AND (:maxPrice IS NULL OR p.price <= :maxPrice)")
+    List<ProductRow> findWishListProductsByUserAndFilters(
             @Param("user") User user,
             @Param("type") String type,
             @Param("gender") String gender,
@@ -1,7 +1,9 @@
 package dev.akorovai.backend.wish_list;
 
 import dev.akorovai.backend.handler.product.ProductNotFoundException;
+import dev.akorovai.backend.pricing.PricingEngine;
 import dev.akorovai.backend.product.ProductRepository;
+import dev.akorovai.backend.product.ProductRow;
 import dev.akorovai.backend.product.mapper.ProductMapper;
 import dev.akorovai.backend.product.response.ProductResponse;
 import dev.akorovai.backend.user.User;
@@ -21,6 +23,7 @@ public class WishListService {
     private final UserService userService;
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final PricingEngine pricingEngine;
 
     @Transactional
     public List<ProductResponse> getWishListProducts(
@@ -33,15 +36,23 @@ public class WishListService {
     ) {
         User user = userService.getAuthenticatedUser();
 
-        List<Product> products = wishListItemRepository.findWishListProductsByUserAndFilters(
+        List<ProductRow> products = withLinks(wishListItemRepository.findWishListProductsByUserAndFilters(
                 user, type, gender, color, size, minPrice, maxPrice
-        );
+        ));
 
         return products.stream()
-                .map(productMapper::toProductResponse)
+                .map(row -> productMapper.toProductResponse(row,
+                        PricingEngine.toMajorUnits(pricingEngine.effectivePrice(row.id()))))
                 .toList();
     }
 
+    private List<ProductRow> withLinks(List<ProductRow> rows) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        return ProductRow.withLinks(rows, productRepository.findLinksByProductIdIn(rows.stream().map(ProductRow::id).toList()));
+    }
+
     @Transactional
     public boolean deleteWishListItem(Long productId) {
         return wishListItemRepository.deleteByProductId(productId) > 0;
@@ -0,0 +1,108 @@
+package dev.akorovai.backend.dictionary;
+
+import dev.akorovai.backend.color.Color;
+import dev.akorovai.backend.color.ColorRepository;
+import dev.akorovai.backend.product.Gender;
+import dev.akorovai.backend.product.Size;
+import dev.akorovai.backend.type.Type;
+import dev.akorovai.backend.type.TypeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DictionaryServiceTest {
+
+	@Mock
+	private TypeRepository typeRepository;
+
+	@Mock
+	private ColorRepository colorRepository;
+
+	@InjectMocks
+	private DictionaryService dictionaryService;
+
+	@Test
+	void testFindType_CaseInsensitiveWithoutFurtherQueries() {
+		// Arrange
+		when(typeRepository.findAll()).thenReturn(List.of(Type.builder().id(3L).name("Jackets").build()));
+		when(colorRepository.findAll()).thenReturn(List.of());
+
+		// Act
+		Type first = dictionaryService.findType("jackets").orElseThrow();
+		Type second = dictionaryService.findType(" JACKETS ").orElseThrow();
+
+		// Assert
+		assertThat(first.getId()).isEqualTo(3L);
+		assertThat(first.getName()).isEqualTo("Jackets");
+		assertThat(second.getId()).isEqualTo(3L);
+		assertThat(dictionaryService.findTypeId("Pants")).isEmpty();
+		verify(typeRepository, times(1)).findAll();
+	}
+
+	@Test
+	void testFindColor_ReturnsIdAndCode() {
+		// Arrange
+		when(typeRepository.findAll()).thenReturn(List.of());
+		when(colorRepository.findAll()).thenReturn(List.of(Color.builder().id(7L).name("Red").code("#FF0000").build()));
+
+		// Act
+		Color color = dictionaryService.findColor("RED").orElseThrow();
+
+		// Assert
+		assertThat(color.getId()).isEqualTo(7L);
+		assertThat(color.getCode()).isEqualTo("#FF0000");
+		assertThat(dictionaryService.findColorId("red")).contains(7L);
+		assertThat(dictionaryService.findColorId(null)).isEmpty();
+	}
+
+	@Test
+	void testRefresh_SwapsDictionary() {
+		// Arrange
+		when(typeRepository.findAll())
+				.thenReturn(List.of(Type.builder().id(1L).name("Jackets").build()))
+				.thenReturn(List.of(Type.builder().id(2L).name("Pants").build()));
+		when(colorRepository.findAll()).thenReturn(List.of());
+		dictionaryService.refresh();
+
+		// Act
+		dictionaryService.refresh();
+
+		// Assert
+		assertThat(dictionaryService.findTypeId("Jackets")).isEmpty();
+		assertThat(dictionaryService.findTypeId("Pants")).contains(2L);
+	}
+
+	@Test
+	void testRefresh_KeepsPreviousDictionaryOnFailure() {
+		// Arrange
+		when(typeRepository.findAll())
+				.thenReturn(List.of(Type.builder().id(1L).name("Jackets").build()))
+				.thenThrow(new RuntimeException("Database unavailable"));
+		when(colorRepository.findAll()).thenReturn(List.of());
+		dictionaryService.refresh();
+
+		// Act
+		dictionaryService.refresh();
+
+		// Assert
+		assertThat(dictionaryService.findTypeId("Jackets")).contains(1L);
+	}
+
+	@Test
+	void testFindGenderAndSize_AcceptNamesAndDisplayNames() {
+		// Act & Assert
+		assertThat(dictionaryService.findGender("women")).contains(Gender.WOMEN);
+		assertThat(dictionaryService.findSize("Extra Large")).contains(Size.XL);
+		assertThat(dictionaryService.findSize("xs")).contains(Size.XS);
+		assertThat(dictionaryService.findSize("huge")).isEmpty();
+		verifyNoInteractions(typeRepository, colorRepository);
+	}
+}
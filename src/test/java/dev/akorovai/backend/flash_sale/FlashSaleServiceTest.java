@@ -0,0 +1,242 @@
+package dev.akorovai.backend.flash_sale;
+
+import dev.akorovai.backend.flash_sale.response.FlashSaleResponse;
+import dev.akorovai.backend.handler.flash_sale.FlashSaleAlreadyActiveException;
+import dev.akorovai.backend.handler.product.ProductNotFoundException;
+import dev.akorovai.backend.product.Product;
+import dev.akorovai.backend.product.ProductChange;
+import dev.akorovai.backend.product.ProductChangedEvent;
+import dev.akorovai.backend.product.ProductRepository;
+import dev.akorovai.backend.product.ProductStockRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlashSaleServiceTest {
+
+	@Mock
+	private ProductRepository productRepository;
+
+	@Mock
+	private ProductStockRepository productStockRepository;
+
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@InjectMocks
+	private FlashSaleService flashSaleService;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(flashSaleService, "stripes", 4);
+		ReflectionTestUtils.setField(flashSaleService, "replicas", 1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Nested
+	class StartStopTests {
+		@Test
+		void testStart_LoadsStockIntoCounters() {
+			// Arrange
+			when(productRepository.findById(1L)).thenReturn(Optional.of(Product.builder().id(1L).amount(50).build()));
+
+			// Act
+			FlashSaleResponse response = flashSaleService.start(1L);
+
+			// Assert
+			assertThat(response.isActive()).isTrue();
+			assertThat(response.getAvailableStock()).isEqualTo(50);
+			assertThat(flashSaleService.getStatus(1L).getAvailableStock()).isEqualTo(50);
+		}
+
+		@Test
+		void testStart_SplitsStockAcrossReplicas() {
+			// Arrange
+			ReflectionTestUtils.setField(flashSaleService, "replicas", 3);
+			when(productRepository.findById(1L)).thenReturn(Optional.of(Product.builder().id(1L).amount(50).build()));
+
+			// Act
+			FlashSaleResponse response = flashSaleService.start(1L);
+
+			// Assert
+			assertThat(response.getAvailableStock()).isEqualTo(16);
+		}
+
+		@Test
+		void testStart_AlreadyActiveSaleIsRejected() {
+			// Arrange
+			when(productRepository.findById(1L)).thenReturn(Optional.of(Product.builder().id(1L).amount(5).build()));
+			flashSaleService.start(1L);
+			flashSaleService.admit(Map.of(1L, 2));
+
+			// Act & Assert
+			assertThatThrownBy(() -> flashSaleService.start(1L))
+					.isInstanceOf(FlashSaleAlreadyActiveException.class)
+					.hasMessage("Flash sale is already active for product with ID: 1");
+			assertThat(flashSaleService.getStatus(1L).getAvailableStock()).isEqualTo(3);
+			verify(productRepository, times(1)).findById(1L);
+		}
+
+		@Test
+		void testStart_ProductNotFound() {
+			// Arrange
+			when(productRepository.findById(1L)).thenReturn(Optional.empty());
+
+			// Act & Assert
+			assertThatThrownBy(() -> flashSaleService.start(1L))
+					.isInstanceOf(ProductNotFoundException.class)
+					.hasMessage("Product not found with ID: 1");
+		}
+
+		@Test
+		void testStop_ReturnsProductToDatabasePath() {
+			// Arrange
+			when(productRepository.findById(1L)).thenReturn(Optional.of(Product.builder().id(1L).amount(50).build()));
+			flashSaleService.start(1L);
+
+			// Act
+			FlashSaleResponse response = flashSaleService.stop(1L);
+			FlashSaleService.Admission admission = flashSaleService.admit(Map.of(1L, 2));
+
+			// Assert
+			assertThat(response.isActive()).isFalse();
+			assertThat(admission.databaseQuantities()).isEqualTo(Map.of(1L, 2));
+		}
+	}
+
+	@Nested
+	class AdmitTests {
+		@BeforeEach
+		void startSale() {
+			when(productRepository.findById(1L)).thenReturn(Optional.of(Product.builder().id(1L).amount(3).build()));
+			flashSaleService.start(1L);
+		}
+
+		@Test
+		void testAdmit_SplitsFlashSaleAndDatabaseLines() {
+			// Act
+			FlashSaleService.Admission admission = flashSaleService.admit(Map.of(1L, 2, 2L, 5));
+
+			// Assert
+			assertThat(admission.rejectedIds()).isEmpty();
+			assertThat(admission.databaseQuantities()).isEqualTo(Map.of(2L, 5));
+			assertThat(flashSaleService.getStatus(1L).getAvailableStock()).isEqualTo(1);
+		}
+
+		@Test
+		void testAdmit_SoldOutIsRejectedInMemory() {
+			// Act
+			FlashSaleService.Admission admission = flashSaleService.admit(Map.of(1L, 4));
+
+			// Assert
+			assertThat(admission.rejectedIds()).containsExactly(1L);
+			assertThat(flashSaleService.getStatus(1L).getAvailableStock()).isEqualTo(3);
+			verifyNoInteractions(productStockRepository);
+		}
+
+		@Test
+		void testAdmit_RolledBackCheckoutReleasesStock() {
+			// Arrange
+			TransactionSynchronizationManager.initSynchronization();
+
+			// Act
+			flashSaleService.admit(Map.of(1L, 2));
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+			flashSaleService.flush();
+
+			// Assert
+			assertThat(flashSaleService.getStatus(1L).getAvailableStock()).isEqualTo(3);
+			verifyNoInteractions(productStockRepository);
+		}
+
+		@Test
+		void testFlush_WritesCommittedDecrementsInOneBatch() {
+			// Arrange
+			when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+					invocation.<TransactionCallback<List<Long>>>getArgument(0).doInTransaction(null));
+			when(productStockRepository.decrementStock(Map.of(1L, 3))).thenReturn(List.of());
+			flashSaleService.admit(Map.of(1L, 1));
+			flashSaleService.admit(Map.of(1L, 2));
+
+			// Act
+			flashSaleService.flush();
+			flashSaleService.flush();
+
+			// Assert
+			verify(productStockRepository, times(1)).decrementStock(Map.of(1L, 3));
+			verify(eventPublisher).publishEvent(ProductChangedEvent.of(ProductChange.STOCK_CHANGED, List.of(1L)));
+		}
+
+		@Test
+		void testFlush_FailureKeepsDecrementsForRetry() {
+			// Arrange
+			when(transactionTemplate.execute(any()))
+					.thenThrow(new RuntimeException("db down"))
+					.thenAnswer(invocation -> invocation.<TransactionCallback<List<Long>>>getArgument(0).doInTransaction(null));
+			when(productStockRepository.decrementStock(Map.of(1L, 2))).thenReturn(List.of());
+			flashSaleService.admit(Map.of(1L, 2));
+
+			// Act
+			flashSaleService.flush();
+			flashSaleService.flush();
+
+			// Assert
+			verify(productStockRepository, times(1)).decrementStock(Map.of(1L, 2));
+		}
+	
+		@Test
+		void testFlush_RejectedDecrementIsClampedAndCounted() {
+			// Arrange
+			when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+					invocation.<TransactionCallback<List<Long>>>getArgument(0).doInTransaction(null));
+			when(productStockRepository.decrementStock(Map.of(1L, 3))).thenReturn(List.of(1L));
+			flashSaleService.admit(Map.of(1L, 3));
+
+			// Act
+			flashSaleService.flush();
+			flashSaleService.flush();
+
+			// Assert
+			verify(productStockRepository).clampStock(Map.of(1L, 3));
+			verify(productStockRepository, times(1)).decrementStock(any());
+			assertThat(meterRegistry.counter("flash_sale.stock.oversold", "product", "1").count()).isEqualTo(3.0);
+		}
+	}
+}
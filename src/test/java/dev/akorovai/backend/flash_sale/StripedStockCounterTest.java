@@ -0,0 +1,91 @@
+package dev.akorovai.backend.flash_sale;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedStockCounterTest {
+
+	@Test
+	void testTryAcquire_SpansStripesWhenHomeStripeIsShort() {
+		// Arrange
+		StripedStockCounter counter = new StripedStockCounter(10, 4);
+
+		// Act
+		boolean acquired = counter.tryAcquire(9);
+
+		// Assert
+		assertThat(acquired).isTrue();
+		assertThat(counter.available()).isEqualTo(1);
+	}
+
+	@Test
+	void testTryAcquire_RejectsWithoutConsumingStock() {
+		// Arrange
+		StripedStockCounter counter = new StripedStockCounter(5, 4);
+
+		// Act
+		boolean acquired = counter.tryAcquire(6);
+
+		// Assert
+		assertThat(acquired).isFalse();
+		assertThat(counter.available()).isEqualTo(5);
+	}
+
+	@Test
+	void testRelease_ReturnsStock() {
+		// Arrange
+		StripedStockCounter counter = new StripedStockCounter(5, 4);
+		counter.tryAcquire(5);
+
+		// Act
+		counter.release(2);
+
+		// Assert
+		assertThat(counter.available()).isEqualTo(2);
+		assertThat(counter.tryAcquire(2)).isTrue();
+	}
+
+	@Test
+	void testTryAcquire_ConcurrentCheckoutsNeverOversell() throws Exception {
+		// Arrange
+		int stock = 1_000;
+		int threads = 16;
+		StripedStockCounter counter = new StripedStockCounter(stock, 8);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger sold = new AtomicInteger();
+
+		// Act
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int j = 0; j < 200; j++) {
+						int quantity = 1 + j % 3;
+						if (counter.tryAcquire(quantity)) {
+							sold.addAndGet(quantity);
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		// Assert
+		assertThat(sold.get()).isLessThanOrEqualTo(stock);
+		assertThat(sold.get() + counter.available()).isEqualTo(stock);
+	}
+}
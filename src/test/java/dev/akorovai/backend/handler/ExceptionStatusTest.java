@@ -4,6 +4,7 @@ import com.github.javafaker.Faker;
 import dev.akorovai.backend.handler.azure.FileTypeException;
 import dev.akorovai.backend.handler.email.EmailSendingException;
 import dev.akorovai.backend.handler.email.EmailTemplateException;
+import dev.akorovai.backend.handler.flash_sale.FlashSaleAlreadyActiveException;
 import dev.akorovai.backend.handler.general.UniqueConstraintViolationException;
 import dev.akorovai.backend.handler.order.NoOrdersFoundException;
 import dev.akorovai.backend.handler.product.ProductNotFoundException;
@@ -11,6 +12,7 @@ import dev.akorovai.backend.handler.refresh_token.TokenExpiredException;
 import dev.akorovai.backend.handler.refresh_token.TokenNotFoundException;
 import dev.akorovai.backend.handler.refresh_token.TokenRefreshException;
 import dev.akorovai.backend.handler.role.RoleNotFoundException;
+import dev.akorovai.backend.handler.sales.InvalidDateRangeException;
 import dev.akorovai.backend.handler.shopping_cart.InsufficientStockException;
 import dev.akorovai.backend.handler.shopping_cart.ShoppingCartItemNotFoundException;
 import dev.akorovai.backend.handler.shopping_cart.UnauthorizedItemDeletionException;
@@ -177,6 +179,21 @@ class ExceptionStatusTest {
 		assertThat(status, is(BAD_REQUEST));
 	}
 
+	@Test
+	void testGetStatusFor_InvalidDateRangeException() {
+		// Arrange
+		Throwable exception = new InvalidDateRangeException(faker.lorem().sentence());
+
+		// Act
+		HttpStatus status = ExceptionStatus.getStatusFor(exception);
+
+		// Assert using AssertJ
+		assertThat(status).isEqualTo(BAD_REQUEST);
+
+		// Assert using Hamcrest
+		assertThat(status, is(BAD_REQUEST));
+	}
+
 	@Test
 	void testGetStatusFor_FileTypeException() {
 		// Arrange
@@ -252,6 +269,21 @@ class ExceptionStatusTest {
 		assertThat(status, is(CONFLICT));
 	}
 
+	@Test
+	void testGetStatusFor_FlashSaleAlreadyActiveException() {
+		// Arrange
+		Throwable exception = new FlashSaleAlreadyActiveException(faker.lorem().sentence());
+
+		// Act
+		HttpStatus status = ExceptionStatus.getStatusFor(exception);
+
+		// Assert using AssertJ
+		assertThat(status).isEqualTo(CONFLICT);
+
+		// Assert using Hamcrest
+		assertThat(status, is(CONFLICT));
+	}
+
 	@Test
 	void testGetStatusFor_EmailTemplateException() {
 		// Arrange
@@ -0,0 +1,136 @@
+package dev.akorovai.backend.order;
+
+import dev.akorovai.backend.BackendApplication;
+import dev.akorovai.backend.config.ApplicationAuditAware;
+import dev.akorovai.backend.flash_sale.FlashSaleService;
+import dev.akorovai.backend.order.request.CreateOrderRequest;
+import dev.akorovai.backend.order.response.OrderResponse;
+import dev.akorovai.backend.outbox.OutboxService;
+import dev.akorovai.backend.pricing.PricingEngine;
+import dev.akorovai.backend.product.ProductStockRepository;
+import dev.akorovai.backend.reservation.StockReservationService;
+import dev.akorovai.backend.sales.SalesAggregateRepository;
+import dev.akorovai.backend.security.JwtService;
+import dev.akorovai.backend.shopping_cart.ShoppingCartItemRepository;
+import dev.akorovai.backend.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ContextConfiguration(classes = BackendApplication.class)
+@Import(ApplicationAuditAware.class)
+@TestPropertySource(properties = {
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.datasource.url=jdbc:h2:mem:checkout;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password="
+})
+class AsyncCheckoutPersistenceTest {
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private ShoppingCartItemRepository shoppingCartItemRepository;
+
+	@Autowired
+	private OrderIdempotencyKeyRepository orderIdempotencyKeyRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private final FlashSaleService flashSaleService = mock(FlashSaleService.class);
+	private final PricingEngine pricingEngine = mock(PricingEngine.class);
+	private final OrderMapper orderMapper = mock(OrderMapper.class);
+
+	private OrderService orderService;
+
+	@BeforeEach
+	void setUp() {
+		orderService = new OrderService(orderRepository, mock(JwtService.class), orderMapper, shoppingCartItemRepository,
+				new ProductStockRepository(jdbcTemplate), mock(StockReservationService.class), mock(ApplicationEventPublisher.class),
+				orderIdempotencyKeyRepository, mock(OutboxService.class), flashSaleService, pricingEngine,
+				mock(SalesAggregateRepository.class), mock(TransactionTemplate.class), new SimpleMeterRegistry());
+
+		jdbcTemplate.execute("INSERT INTO color (id, name, code) VALUES (1, 'Red', '#f00')");
+		jdbcTemplate.execute("INSERT INTO type (id, name) VALUES (1, 'Shirt')");
+		jdbcTemplate.execute("INSERT INTO product (id, name, description, price, color_id, type_id, gender, amount, discount, size, created_date) " +
+				                     "VALUES (1, 'Shirt', 'd', 20, 1, 1, 'MEN', 5, 0, 'M', NOW())");
+		jdbcTemplate.execute("INSERT INTO users (id, email, password, nickname, enabled, account_locked, created_date) " +
+				                     "VALUES (1, 'buyer@example.com', 'p', 'buyer', TRUE, FALSE, NOW())");
+		jdbcTemplate.execute("INSERT INTO shopping_cart_item (user_id, product_id, quantity, created_date) VALUES (1, 1, 2, NOW())");
+
+		when(flashSaleService.admit(any())).thenAnswer(invocation ->
+				new FlashSaleService.Admission(invocation.getArgument(0), List.of()));
+		when(pricingEngine.priceCheckout(any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+			long[] unitPrices = invocation.getArgument(2);
+			unitPrices[0] = 2000;
+			return 4000L;
+		});
+		when(orderMapper.toResponse(any())).thenAnswer(invocation ->
+				OrderResponse.builder().id(invocation.<Order>getArgument(0).getId()).build());
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void testCreateOrders_OnWorkerThreadWithoutContext_AuditsAsSubmittingUser() {
+		// Arrange
+		User user = entityManager.find(User.class, 1L);
+		SecurityContext submitted = SecurityContextHolder.createEmptyContext();
+		submitted.setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+		CreateOrderRequest request = CreateOrderRequest.builder()
+				                             .shippingPrice(10.99)
+				                             .shippingTime(LocalDateTime.now().plusDays(1).toString())
+				                             .paymentMethod("VISA")
+				                             .build();
+		SecurityContextHolder.clearContext();
+
+		// Act
+		List<OrderResponse> orders = orderService.createOrders(List.of(new CheckoutTask("a", user, request, submitted)));
+		entityManager.flush();
+
+		// Assert
+		Map<String, Object> order = jdbcTemplate.queryForMap("SELECT created_by, last_modified_by FROM orders WHERE id = ?",
+				orders.get(0).getId());
+		assertThat(order).containsEntry("created_by", "1").containsEntry("last_modified_by", "1");
+		assertThat(jdbcTemplate.queryForList("SELECT created_by FROM order_item WHERE order_id = ?", String.class,
+				orders.get(0).getId())).containsExactly("1");
+		assertThat(jdbcTemplate.queryForObject("SELECT total_price FROM orders WHERE id = ?", Double.class,
+				orders.get(0).getId())).isCloseTo(50.99, within(0.001));
+		assertThat(jdbcTemplate.queryForObject("SELECT amount FROM product WHERE id = 1", Integer.class)).isEqualTo(3);
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+	}
+}
@@ -0,0 +1,368 @@
+package dev.akorovai.backend.order;
+
+import dev.akorovai.backend.handler.order.CheckoutNotFoundException;
+import dev.akorovai.backend.handler.order.CheckoutQueueFullException;
+import dev.akorovai.backend.handler.shopping_cart.InsufficientStockException;
+import dev.akorovai.backend.order.request.CreateOrderRequest;
+import dev.akorovai.backend.order.response.CheckoutStatusResponse;
+import dev.akorovai.backend.order.response.OrderResponse;
+import dev.akorovai.backend.security.JwtService;
+import dev.akorovai.backend.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncCheckoutServiceTest {
+
+	@Mock
+	private OrderService orderService;
+
+	@Mock
+	private JwtService jwtService;
+
+	@Mock
+	private CheckoutStateRepository checkoutStateRepository;
+
+	private final Map<String, CheckoutState> states = new HashMap<>();
+
+	private AsyncCheckoutService asyncCheckoutService;
+
+	private User firstUser;
+	private User secondUser;
+	private CreateOrderRequest request;
+
+	@BeforeEach
+	void setUp() {
+		// Lets shutdown in tearDown place whatever a test left queued; tests that drain stub their own result.
+		lenient().when(orderService.createOrders(any())).thenAnswer(invocation -> {
+			List<CheckoutTask> batch = invocation.getArgument(0);
+			return batch == null ? List.of() : batch.stream().map(task -> OrderResponse.builder().build()).toList();
+		});
+		lenient().when(checkoutStateRepository.save(any(CheckoutState.class))).thenAnswer(invocation -> {
+			CheckoutState state = invocation.getArgument(0);
+			states.put(state.getToken(), state);
+			return state;
+		});
+		lenient().when(checkoutStateRepository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(states.get(invocation.<String>getArgument(0))));
+		lenient().doAnswer(invocation -> states.remove(invocation.<String>getArgument(0))).when(checkoutStateRepository).deleteById(any());
+		asyncCheckoutService = new AsyncCheckoutService(orderService, jwtService, checkoutStateRepository, new SimpleMeterRegistry(),
+				2, 1, 10, Duration.ofHours(1), Duration.ofSeconds(1));
+		firstUser = User.builder().id(1L).build();
+		secondUser = User.builder().id(2L).build();
+		request = CreateOrderRequest.builder()
+				          .shippingPrice(10.99)
+				          .shippingTime(LocalDateTime.now().plusDays(1).toString())
+				          .paymentMethod("VISA")
+				          .build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		asyncCheckoutService.shutdown();
+		SecurityContextHolder.clearContext();
+	}
+
+	@Nested
+	class SubmitTests {
+		@Test
+		void testSubmit_QueuesCheckout() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(firstUser);
+
+			// Act
+			CheckoutStatusResponse submitted = asyncCheckoutService.submit(request);
+
+			// Assert
+			assertThat(submitted.getStatus()).isEqualTo(CheckoutStatus.QUEUED);
+			assertThat(asyncCheckoutService.getStatus(submitted.getToken()).getStatus()).isEqualTo(CheckoutStatus.QUEUED);
+			verifyNoInteractions(orderService);
+		}
+
+		@Test
+		void testSubmit_SecondCheckoutWhileQueued_ReturnsSameToken() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(firstUser);
+
+			// Act
+			CheckoutStatusResponse first = asyncCheckoutService.submit(request);
+			CheckoutStatusResponse second = asyncCheckoutService.submit(request);
+
+			// Assert
+			assertThat(second.getToken()).isEqualTo(first.getToken());
+			assertThat(asyncCheckoutService.drain()).isEqualTo(1);
+		}
+
+		@Test
+		void testSubmit_QueueFull() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(firstUser, secondUser, User.builder().id(3L).build());
+			asyncCheckoutService.submit(request);
+			asyncCheckoutService.submit(request);
+
+			// Act & Assert
+			assertThatThrownBy(() -> asyncCheckoutService.submit(request))
+					.isInstanceOf(CheckoutQueueFullException.class)
+					.hasMessage("Checkout queue is full, please retry later.");
+		}
+
+		@Test
+		void testSubmit_InvalidPaymentMethod() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(firstUser);
+			request.setPaymentMethod("BITCOIN");
+
+			// Act & Assert
+			assertThatThrownBy(() -> asyncCheckoutService.submit(request))
+					.isInstanceOf(IllegalArgumentException.class)
+					.hasMessageStartingWith("Invalid checkout request");
+		}
+
+		@Test
+		void testGetStatus_OtherUsersToken_NotFound() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(firstUser, secondUser);
+			CheckoutStatusResponse submitted = asyncCheckoutService.submit(request);
+
+			// Act & Assert
+			assertThatThrownBy(() -> asyncCheckoutService.getStatus(submitted.getToken()))
+					.isInstanceOf(CheckoutNotFoundException.class);
+		}
+
+		@Test
+		void testGetStatus_ExpiredStatus_NotFound() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(firstUser);
+			String token = asyncCheckoutService.submit(request).getToken();
+			states.get(token).setExpiresAt(LocalDateTime.now().minusSeconds(1));
+
+			// Act & Assert
+			assertThatThrownBy(() -> asyncCheckoutService.getStatus(token))
+					.isInstanceOf(CheckoutNotFoundException.class);
+		}
+
+		@Test
+		void testSubmit_QueueFull_DeletesStoredStatus() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(firstUser, secondUser, User.builder().id(3L).build());
+			asyncCheckoutService.submit(request);
+			asyncCheckoutService.submit(request);
+
+			// Act
+			assertThatThrownBy(() -> asyncCheckoutService.submit(request))
+					.isInstanceOf(CheckoutQueueFullException.class);
+
+			// Assert
+			assertThat(states).hasSize(2);
+		}
+	}
+
+	@Nested
+	class DrainTests {
+		@Test
+		void testDrain_PlacesQueuedOrdersInOneBatch() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(firstUser, secondUser, firstUser, secondUser);
+			String firstToken = asyncCheckoutService.submit(request).getToken();
+			String secondToken = asyncCheckoutService.submit(request).getToken();
+			when(orderService.createOrders(any())).thenReturn(List.of(
+					OrderResponse.builder().id(7L).build(),
+					OrderResponse.builder().id(8L).build()));
+
+			// Act
+			int drained = asyncCheckoutService.drain();
+
+			// Assert
+			assertThat(drained).isEqualTo(2);
+			CheckoutStatusResponse first = asyncCheckoutService.getStatus(firstToken);
+			CheckoutStatusResponse second = asyncCheckoutService.getStatus(secondToken);
+			assertThat(first.getStatus()).isEqualTo(CheckoutStatus.COMPLETED);
+			assertThat(first.getOrderId()).isEqualTo(7L);
+			assertThat(second.getOrderId()).isEqualTo(8L);
+			verify(orderService, never()).createOrder(any(), any(), any());
+		}
+
+		@Test
+		void testDrain_BatchFailure_PlacesOrdersOneByOne() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(firstUser, secondUser, firstUser, secondUser);
+			String firstToken = asyncCheckoutService.submit(request).getToken();
+			String secondToken = asyncCheckoutService.submit(request).getToken();
+			when(orderService.createOrders(any())).thenThrow(new IllegalArgumentException("Insufficient stock for product: Shirt"));
+			when(orderService.createOrder(firstUser, request, null)).thenReturn(OrderResponse.builder().id(7L).build());
+			when(orderService.createOrder(secondUser, request, null))
+					.thenThrow(new IllegalArgumentException("Insufficient stock for product: Shirt"));
+
+			// Act
+			asyncCheckoutService.drain();
+
+			// Assert
+			CheckoutStatusResponse first = asyncCheckoutService.getStatus(firstToken);
+			CheckoutStatusResponse second = asyncCheckoutService.getStatus(secondToken);
+			assertThat(first.getStatus()).isEqualTo(CheckoutStatus.COMPLETED);
+			assertThat(second.getStatus()).isEqualTo(CheckoutStatus.FAILED);
+			assertThat(second.getError()).isEqualTo("Insufficient stock for product: Shirt");
+		}
+
+		@Test
+		void testDrain_SingleCheckoutFailure_NotRetried() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(firstUser);
+			String token = asyncCheckoutService.submit(request).getToken();
+			when(orderService.createOrders(any())).thenThrow(new IllegalArgumentException("Cannot create an order with an empty cart."));
+
+			// Act
+			asyncCheckoutService.drain();
+
+			// Assert
+			assertThat(asyncCheckoutService.getStatus(token).getStatus()).isEqualTo(CheckoutStatus.FAILED);
+			verify(orderService, never()).createOrder(any(), any(), any());
+		}
+
+		@Test
+		void testDrain_BusinessFailure_ReportsMessage() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(firstUser);
+			String token = asyncCheckoutService.submit(request).getToken();
+			when(orderService.createOrders(any())).thenThrow(new InsufficientStockException("Insufficient stock. Available stock: 1"));
+
+			// Act
+			asyncCheckoutService.drain();
+
+			// Assert
+			assertThat(asyncCheckoutService.getStatus(token).getError()).isEqualTo("Insufficient stock. Available stock: 1");
+		}
+
+		@Test
+		void testDrain_PersistenceFailure_ReportsGenericMessage() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(firstUser);
+			String token = asyncCheckoutService.submit(request).getToken();
+			when(orderService.createOrders(any()))
+					.thenThrow(new DataIntegrityViolationException("could not execute statement; constraint [orders_pkey]"));
+
+			// Act
+			asyncCheckoutService.drain();
+
+			// Assert
+			CheckoutStatusResponse status = asyncCheckoutService.getStatus(token);
+			assertThat(status.getStatus()).isEqualTo(CheckoutStatus.FAILED);
+			assertThat(status.getError()).isEqualTo("Checkout could not be completed, please try again later.");
+		}
+
+		@Test
+		void testDrain_StatusStoreFailure_OrderNotPlacedAgain() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(firstUser, secondUser);
+			asyncCheckoutService.submit(request);
+			asyncCheckoutService.submit(request);
+			when(orderService.createOrders(any())).thenReturn(List.of(
+					OrderResponse.builder().id(7L).build(),
+					OrderResponse.builder().id(8L).build()));
+			when(checkoutStateRepository.save(any(CheckoutState.class))).thenThrow(new DataIntegrityViolationException("down"));
+
+			// Act
+			int drained = asyncCheckoutService.drain();
+
+			// Assert
+			assertThat(drained).isEqualTo(2);
+			verify(orderService, times(1)).createOrders(any());
+			verify(orderService, never()).createOrder(any(), any(), any());
+		}
+
+		@Test
+		void testDrain_EmptyQueue() {
+			// Act & Assert
+			assertThat(asyncCheckoutService.drain()).isZero();
+			verifyNoInteractions(orderService);
+		}
+	}
+
+	@Nested
+	class SweepTests {
+		@Test
+		void testDeleteExpiredStatuses() {
+			// Act
+			asyncCheckoutService.deleteExpiredStatuses();
+
+			// Assert
+			verify(checkoutStateRepository).deleteExpired(any(LocalDateTime.class));
+		}
+	}
+
+	@Nested
+	class SecurityContextTests {
+		@Test
+		@SuppressWarnings("unchecked")
+		void testDrain_RunsWithSubmittingUsersSecurityContext() {
+			// Arrange
+			Authentication authentication = new UsernamePasswordAuthenticationToken(firstUser, null, List.of());
+			SecurityContextHolder.getContext().setAuthentication(authentication);
+			when(jwtService.getAuthenticatedUser()).thenReturn(firstUser);
+			asyncCheckoutService.submit(request);
+			SecurityContextHolder.clearContext();
+			when(orderService.createOrders(any())).thenReturn(List.of(OrderResponse.builder().id(7L).build()));
+
+			// Act
+			asyncCheckoutService.drain();
+
+			// Assert
+			ArgumentCaptor<List<CheckoutTask>> batchCaptor = ArgumentCaptor.forClass(List.class);
+			verify(orderService).createOrders(batchCaptor.capture());
+			assertThat(batchCaptor.getValue()).singleElement()
+					.satisfies(task -> assertThat(task.securityContext().getAuthentication()).isSameAs(authentication));
+		}
+	}
+
+	@Nested
+	class ShutdownTests {
+		@Test
+		void testShutdown_PlacesQueuedCheckouts() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(firstUser);
+			String token = asyncCheckoutService.submit(request).getToken();
+			when(orderService.createOrders(any())).thenReturn(List.of(OrderResponse.builder().id(7L).build()));
+
+			// Act
+			asyncCheckoutService.shutdown();
+
+			// Assert
+			assertThat(asyncCheckoutService.getStatus(token).getStatus()).isEqualTo(CheckoutStatus.COMPLETED);
+			assertThat(asyncCheckoutService.drain()).isZero();
+		}
+
+		@Test
+		void testSubmit_AfterShutdown_Rejected() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(firstUser);
+			asyncCheckoutService.shutdown();
+
+			// Act & Assert
+			assertThatThrownBy(() -> asyncCheckoutService.submit(request))
+					.isInstanceOf(CheckoutQueueFullException.class)
+					.hasMessage("Checkout is shutting down, please retry later.");
+		}
+	}
+}
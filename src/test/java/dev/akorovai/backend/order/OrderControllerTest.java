@@ -4,6 +4,8 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.github.javafaker.Faker;
 import dev.akorovai.backend.address_info.response.AddressInfoResponse;
 import dev.akorovai.backend.order.request.CreateOrderRequest;
+import dev.akorovai.backend.order.response.CheckoutStatusResponse;
+import dev.akorovai.backend.order.response.OrderPageResponse;
 import dev.akorovai.backend.order.response.OrderResponse;
 import dev.akorovai.backend.orderItem.dto.OrderItemResponse;
 import dev.akorovai.backend.security.JsonUtils;
@@ -24,6 +26,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -37,6 +40,12 @@ public class OrderControllerTest {
 	@Mock
 	private OrderService orderService;
 
+	@Mock
+	private OrderIdempotencyService orderIdempotencyService;
+
+	@Mock
+	private AsyncCheckoutService asyncCheckoutService;
+
 	@InjectMocks
 	private OrderController orderController;
 
@@ -135,6 +144,43 @@ public class OrderControllerTest {
 				});
 	}
 
+	@Test
+	void getOrderHistory_ShouldReturnPage() throws Exception {
+		// Arrange
+		OrderResponse orderResponse = OrderResponse.builder()
+				                              .id(faker.number().randomNumber())
+				                              .status(OrderStatus.DELIVERED)
+				                              .build();
+		OrderPageResponse page = OrderPageResponse.builder()
+				                         .content(List.of(orderResponse))
+				                         .nextCursor(orderResponse.getId())
+				                         .build();
+
+		when(orderService.getOrderHistory(42L, 10)).thenReturn(page);
+
+		// Act & Assert
+		mockMvc.perform(get("/api/orders/history")
+				                .param("cursor", "42")
+				                .param("limit", "10"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.code", is(HttpStatus.OK.value())))
+				.andExpect(jsonPath("$.message.content", hasSize(1)))
+				.andExpect(jsonPath("$.message.content[0].status", is(OrderStatus.DELIVERED.name())))
+				.andExpect(jsonPath("$.message.nextCursor", is(orderResponse.getId().intValue())));
+	}
+
+	@Test
+	void getOrderHistory_ShouldReturnEmptyPage() throws Exception {
+		// Arrange
+		when(orderService.getOrderHistory(null, 20)).thenReturn(new OrderPageResponse(List.of(), null));
+
+		// Act & Assert
+		mockMvc.perform(get("/api/orders/history"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.message.content", hasSize(0)))
+				.andExpect(jsonPath("$.message.nextCursor").doesNotExist());
+	}
+
 	@Test
 	void createOrder_ShouldReturnCreatedOrder() throws Exception {
 		// Arrange
@@ -179,7 +225,7 @@ public class OrderControllerTest {
 				                              .orderItems(Collections.singleton(orderItemResponse))
 				                              .build();
 
-		when(orderService.createOrder(any(CreateOrderRequest.class))).thenReturn(orderResponse);
+		when(orderIdempotencyService.createOrder(any(CreateOrderRequest.class), isNull())).thenReturn(orderResponse);
 
 		// Act & Assert
 		mockMvc.perform(post("/api/orders")
@@ -238,4 +284,49 @@ public class OrderControllerTest {
 					assertThat(responseOrderItem.getImageLink()).isEqualTo(orderItemResponse.getImageLink());
 				});
 	}
+
+	@Test
+	void checkout_ShouldReturnAcceptedWithToken() throws Exception {
+		// Arrange
+		CreateOrderRequest request = CreateOrderRequest.builder()
+				                             .email(faker.internet().emailAddress())
+				                             .addressInfo(AddressInfoResponse.builder().id(1L).build())
+				                             .shippingPrice(10.99)
+				                             .shippingTime(LocalDateTime.now().plusDays(2).toString())
+				                             .paymentMethod("PAYPAL")
+				                             .build();
+		CheckoutStatusResponse checkout = CheckoutStatusResponse.builder()
+				                                  .token("token-1")
+				                                  .status(CheckoutStatus.QUEUED)
+				                                  .build();
+
+		when(asyncCheckoutService.submit(any(CreateOrderRequest.class))).thenReturn(checkout);
+
+		// Act & Assert
+		mockMvc.perform(post("/api/orders/checkout")
+				                .contentType(MediaType.APPLICATION_JSON)
+				                .content(JsonUtils.toJson(request)))
+				.andExpect(status().isAccepted())
+				.andExpect(jsonPath("$.code", is(HttpStatus.ACCEPTED.value())))
+				.andExpect(jsonPath("$.message.token", is("token-1")))
+				.andExpect(jsonPath("$.message.status", is(CheckoutStatus.QUEUED.name())));
+	}
+
+	@Test
+	void getCheckoutStatus_ShouldReturnStatus() throws Exception {
+		// Arrange
+		CheckoutStatusResponse checkout = CheckoutStatusResponse.builder()
+				                                  .token("token-1")
+				                                  .status(CheckoutStatus.COMPLETED)
+				                                  .orderId(7L)
+				                                  .build();
+
+		when(asyncCheckoutService.getStatus("token-1")).thenReturn(checkout);
+
+		// Act & Assert
+		mockMvc.perform(get("/api/orders/checkout/token-1"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.message.status", is(CheckoutStatus.COMPLETED.name())))
+				.andExpect(jsonPath("$.message.orderId", is(7)));
+	}
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package dev.akorovai.backend.order;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderDeliverySchedulerTest {
+
+	@Mock
+	private OrderRepository orderRepository;
+
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	private OrderDeliveryScheduler scheduler;
+
+	@BeforeEach
+	void setUp() {
+		scheduler = new OrderDeliveryScheduler(orderRepository, transactionTemplate, Duration.ofSeconds(1), 2);
+	}
+
+	@Test
+	void testDeliverDueOrders_MarksOnlyDueOrdersInBatches() {
+		// Arrange
+		LocalDateTime now = LocalDateTime.now();
+		when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+				invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+		when(orderRepository.markDelivered(any(), any(), eq(OrderStatus.DELIVERED), eq(OrderStatus.IN_PROGRESS)))
+				.thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+		scheduler.onOrderPlaced(new OrderPlacedEvent(1L, now.minusDays(1)));
+		scheduler.onOrderPlaced(new OrderPlacedEvent(2L, now.plusMinutes(1)));
+		scheduler.onOrderPlaced(new OrderPlacedEvent(3L, now.plusMinutes(2)));
+		scheduler.onOrderPlaced(new OrderPlacedEvent(4L, now.plusMinutes(3)));
+		scheduler.onOrderPlaced(new OrderPlacedEvent(5L, now.plusDays(2)));
+
+		// Act
+		scheduler.deliverDueOrders(now.plusMinutes(5));
+
+		// Assert
+		verify(transactionTemplate, times(2)).execute(any());
+		ArgumentCaptor<List<Long>> batchCaptor = ArgumentCaptor.captor();
+		verify(orderRepository, times(2)).markDelivered(batchCaptor.capture(), any(), any(), any());
+		assertThat(batchCaptor.getAllValues()).allSatisfy(batch -> assertThat(batch).hasSize(2));
+		assertThat(batchCaptor.getAllValues()).flatMap(batch -> batch).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+		assertThat(scheduler.pendingCount()).isEqualTo(1);
+	}
+
+	@Test
+	void testDeliverDueOrders_NothingDue() {
+		// Arrange
+		scheduler.onOrderPlaced(new OrderPlacedEvent(1L, LocalDateTime.now().plusDays(1)));
+
+		// Act
+		scheduler.deliverDueOrders(LocalDateTime.now().plusSeconds(5));
+
+		// Assert
+		verifyNoInteractions(transactionTemplate, orderRepository);
+		assertThat(scheduler.pendingCount()).isEqualTo(1);
+	}
+
+	@Test
+	void testRebuild_SchedulesPendingOrders() {
+		// Arrange
+		PendingDelivery pending = mock(PendingDelivery.class);
+		when(pending.getId()).thenReturn(7L);
+		when(pending.getShippingTime()).thenReturn(LocalDateTime.now().plusHours(1));
+		when(orderRepository.findPendingDeliveries(OrderStatus.IN_PROGRESS)).thenReturn(List.of(pending));
+
+		// Act
+		scheduler.rebuild();
+
+		// Assert
+		assertThat(scheduler.pendingCount()).isEqualTo(1);
+	}
+
+	@Test
+	void testRebuild_FailureKeepsSchedulerRunning() {
+		// Arrange
+		when(orderRepository.findPendingDeliveries(OrderStatus.IN_PROGRESS)).thenThrow(new RuntimeException("db down"));
+
+		// Act
+		scheduler.rebuild();
+
+		// Assert
+		assertThat(scheduler.pendingCount()).isZero();
+	}
+}
@@ -0,0 +1,38 @@
+package dev.akorovai.backend.order;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderIdempotencyKeyInitializerTest {
+
+	private JdbcTemplate jdbcTemplate;
+	private OrderIdempotencyKeyInitializer orderIdempotencyKeyInitializer;
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:idempotency-key-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		orderIdempotencyKeyInitializer = new OrderIdempotencyKeyInitializer(jdbcTemplate);
+
+		jdbcTemplate.execute("CREATE TABLE order_idempotency_key (id BIGINT AUTO_INCREMENT PRIMARY KEY, idempotency_key VARCHAR(64) NOT NULL, " +
+				                     "user_id BIGINT NOT NULL, order_id BIGINT NOT NULL, expires_at TIMESTAMP NOT NULL)");
+	}
+
+	@Test
+	void testRun_AllowsClaimingKeyBeforeOrderExists() {
+		// Act
+		orderIdempotencyKeyInitializer.run();
+		orderIdempotencyKeyInitializer.run();
+
+		// Assert
+		jdbcTemplate.update("INSERT INTO order_idempotency_key (idempotency_key, user_id, expires_at) VALUES ('checkout-1', 1, NOW())");
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_idempotency_key WHERE order_id IS NULL", Integer.class)).isEqualTo(1);
+	}
+}
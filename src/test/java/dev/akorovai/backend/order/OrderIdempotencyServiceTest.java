@@ -0,0 +1,137 @@
+package dev.akorovai.backend.order;
+
+import dev.akorovai.backend.order.request.CreateOrderRequest;
+import dev.akorovai.backend.order.response.OrderResponse;
+import dev.akorovai.backend.security.JwtService;
+import dev.akorovai.backend.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIdempotencyServiceTest {
+
+	@Mock
+	private OrderService orderService;
+
+	@Mock
+	private JwtService jwtService;
+
+	private OrderIdempotencyService orderIdempotencyService;
+
+	private User user;
+	private CreateOrderRequest request;
+	private OrderResponse orderResponse;
+
+	@BeforeEach
+	void setUp() {
+		orderIdempotencyService = new OrderIdempotencyService(orderService, jwtService, Duration.ofHours(24), 100);
+		user = User.builder().id(1L).build();
+		request = CreateOrderRequest.builder().paymentMethod("VISA").build();
+		orderResponse = OrderResponse.builder().id(7L).build();
+	}
+
+	@Nested
+	class CreateOrderTests {
+		@Test
+		void testCreateOrder_WithoutKey_DelegatesToOrderService() {
+			// Arrange
+			when(orderService.createOrder(request)).thenReturn(orderResponse);
+
+			// Act
+			OrderResponse result = orderIdempotencyService.createOrder(request, null);
+
+			// Assert
+			assertThat(result).isEqualTo(orderResponse);
+			verifyNoInteractions(jwtService);
+			verify(orderService, never()).findIdempotentOrder(any(), any());
+		}
+
+		@Test
+		void testCreateOrder_NewKey_PlacesOrder() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(user);
+			when(orderService.findIdempotentOrder(user, "checkout-1")).thenReturn(Optional.empty());
+			when(orderService.createOrder(user, request, "checkout-1")).thenReturn(orderResponse);
+
+			// Act
+			OrderResponse result = orderIdempotencyService.createOrder(request, "checkout-1");
+
+			// Assert
+			assertThat(result).isEqualTo(orderResponse);
+			verify(orderService, times(1)).createOrder(user, request, "checkout-1");
+		}
+
+		@Test
+		void testCreateOrder_RepeatedKey_ServedFromCache() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(user);
+			when(orderService.findIdempotentOrder(user, "checkout-1")).thenReturn(Optional.empty());
+			when(orderService.createOrder(user, request, "checkout-1")).thenReturn(orderResponse);
+
+			// Act
+			orderIdempotencyService.createOrder(request, "checkout-1");
+			OrderResponse result = orderIdempotencyService.createOrder(request, "checkout-1");
+
+			// Assert
+			assertThat(result).isSameAs(orderResponse);
+			verify(orderService, times(1)).findIdempotentOrder(user, "checkout-1");
+			verify(orderService, times(1)).createOrder(user, request, "checkout-1");
+		}
+
+		@Test
+		void testCreateOrder_KeyStoredInDatabase_ReturnsStoredOrder() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(user);
+			when(orderService.findIdempotentOrder(user, "checkout-1")).thenReturn(Optional.of(orderResponse));
+
+			// Act
+			OrderResponse result = orderIdempotencyService.createOrder(request, "checkout-1");
+
+			// Assert
+			assertThat(result).isEqualTo(orderResponse);
+			verify(orderService, never()).createOrder(any(), any(), any());
+		}
+
+		@Test
+		void testCreateOrder_ConcurrentDuplicate_ReturnsStoredOrder() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(user);
+			when(orderService.findIdempotentOrder(user, "checkout-1"))
+					.thenReturn(Optional.empty())
+					.thenReturn(Optional.of(orderResponse));
+			when(orderService.createOrder(user, request, "checkout-1"))
+					.thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+			// Act
+			OrderResponse result = orderIdempotencyService.createOrder(request, "checkout-1");
+
+			// Assert
+			assertThat(result).isEqualTo(orderResponse);
+		}
+
+		@Test
+		void testCreateOrder_KeyTooLong() {
+			// Arrange
+			String key = "k".repeat(OrderIdempotencyKey.MAX_KEY_LENGTH + 1);
+
+			// Act & Assert
+			assertThatThrownBy(() -> orderIdempotencyService.createOrder(request, key))
+					.isInstanceOf(IllegalArgumentException.class)
+					.hasMessage("Idempotency-Key must not exceed 64 characters.");
+			verifyNoInteractions(orderService);
+		}
+	}
+}
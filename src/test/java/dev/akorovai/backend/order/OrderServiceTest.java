@@ -2,31 +2,60 @@ package dev.akorovai.backend.order;
 
 import com.github.javafaker.Faker;
 import dev.akorovai.backend.address_info.response.AddressInfoResponse;
+import dev.akorovai.backend.flash_sale.FlashSaleService;
 import dev.akorovai.backend.handler.order.NoOrdersFoundException;
 import dev.akorovai.backend.order.request.CreateOrderRequest;
+import dev.akorovai.backend.order.response.OrderPageResponse;
 import dev.akorovai.backend.order.response.OrderResponse;
+import dev.akorovai.backend.outbox.OutboxEventType;
+import dev.akorovai.backend.outbox.OutboxService;
+import dev.akorovai.backend.pricing.PricingEngine;
 import dev.akorovai.backend.product.Product;
-import dev.akorovai.backend.product.ProductRepository;
+import dev.akorovai.backend.product.ProductStockRepository;
+import dev.akorovai.backend.reservation.StockReservationService;
+import dev.akorovai.backend.sales.SalesAggregateRepository;
+import dev.akorovai.backend.sales.SalesLine;
 import dev.akorovai.backend.security.JwtService;
 import dev.akorovai.backend.shopping_cart.ShoppingCartItem;
 import dev.akorovai.backend.shopping_cart.ShoppingCartItemRepository;
 import dev.akorovai.backend.user.User;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,11 +74,41 @@ class OrderServiceTest {
 	private ShoppingCartItemRepository shoppingCartItemRepository;
 
 	@Mock
-	private ProductRepository productRepository;
+	private ProductStockRepository productStockRepository;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private StockReservationService stockReservationService;
+
+	@Mock
+	private OrderIdempotencyKeyRepository orderIdempotencyKeyRepository;
+
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	@Mock
+	private OutboxService outboxService;
+
+	@Mock
+	private FlashSaleService flashSaleService;
+
+	@Mock
+	private PricingEngine pricingEngine;
+
+	@Mock
+	private SalesAggregateRepository salesAggregateRepository;
+
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
 	@InjectMocks
 	private OrderService orderService;
 
+	@Captor
+	private ArgumentCaptor<Collection<SalesLine>> salesCaptor;
+
 
 
 
@@ -111,6 +170,64 @@ class OrderServiceTest {
 		verify(orderRepository, times(1)).findByUser(user);
 	}
 
+	@Test
+	void testGetOrderHistory_FirstPageHasNextCursor() {
+		// Arrange
+		User user = User.builder().id(1L).build();
+		Order newest = Order.builder().id(3L).build();
+		Order middle = Order.builder().id(2L).build();
+		Order oldest = Order.builder().id(1L).build();
+		List<OrderResponse> responses = List.of(OrderResponse.builder().id(3L).build(), OrderResponse.builder().id(2L).build());
+
+		when(jwtService.getAuthenticatedUser()).thenReturn(user);
+		when(orderRepository.findHistoryPage(1L, 3)).thenReturn(List.of(newest, middle, oldest));
+		when(orderMapper.toResponseList(List.of(newest, middle))).thenReturn(responses);
+
+		// Act
+		OrderPageResponse result = orderService.getOrderHistory(null, 2);
+
+		// Assert
+		assertThat(result.getContent()).isEqualTo(responses);
+		assertThat(result.getNextCursor()).isEqualTo(2L);
+		verify(orderRepository, never()).findByUser(any());
+	}
+
+	@Test
+	void testGetOrderHistory_AfterCursor() {
+		// Arrange
+		User user = User.builder().id(1L).build();
+		Order oldest = Order.builder().id(1L).build();
+		List<OrderResponse> responses = List.of(OrderResponse.builder().id(1L).build());
+
+		when(jwtService.getAuthenticatedUser()).thenReturn(user);
+		when(orderRepository.findHistoryPageAfter(1L, 2L, 3)).thenReturn(List.of(oldest));
+		when(orderMapper.toResponseList(List.of(oldest))).thenReturn(responses);
+
+		// Act
+		OrderPageResponse result = orderService.getOrderHistory(2L, 2);
+
+		// Assert
+		assertThat(result.getContent()).isEqualTo(responses);
+		assertThat(result.getNextCursor()).isNull();
+	}
+
+	@Test
+	void testGetOrderHistory_NoOrdersReturnsEmptyPage() {
+		// Arrange
+		User user = User.builder().id(1L).build();
+
+		when(jwtService.getAuthenticatedUser()).thenReturn(user);
+		when(orderRepository.findHistoryPage(1L, 21)).thenReturn(List.of());
+		when(orderMapper.toResponseList(List.of())).thenReturn(List.of());
+
+		// Act
+		OrderPageResponse result = orderService.getOrderHistory(null, 20);
+
+		// Assert
+		assertThat(result.getContent()).isEmpty();
+		assertThat(result.getNextCursor()).isNull();
+	}
+
 	@Test
 	void testCreateOrder_Success() {
 		// Arrange
@@ -172,9 +289,12 @@ class OrderServiceTest {
 				                              .build();
 
 		when(jwtService.getAuthenticatedUser()).thenReturn(user);
-		when(shoppingCartItemRepository.findByUser(user)).thenReturn(List.of(cartItem));
+		when(shoppingCartItemRepository.findByUserIdWithProduct(user.getId())).thenReturn(List.of(cartItem));
 		when(orderRepository.save(any(Order.class))).thenReturn(order);
 		when(orderMapper.toResponse(order)).thenReturn(orderResponse);
+		when(flashSaleService.admit(Map.of(1L, 2))).thenReturn(new FlashSaleService.Admission(Map.of(1L, 2), List.of()));
+		stubPrices(Map.of(1L, 5000L));
+		when(productStockRepository.decrementAvailableStock(eq(Map.of(1L, 2)), any(LocalDateTime.class))).thenReturn(List.of());
 
 		// Act
 		OrderResponse result = orderService.createOrder(request);
@@ -183,11 +303,132 @@ class OrderServiceTest {
 		assertThat(result).isEqualTo(orderResponse);
 
 		verify(jwtService, times(1)).getAuthenticatedUser();
-		verify(shoppingCartItemRepository, times(1)).findByUser(user);
-		verify(orderRepository, times(1)).save(any(Order.class));
+		verify(shoppingCartItemRepository, times(1)).findByUserIdWithProduct(user.getId());
+		ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
+		verify(orderRepository, times(1)).save(orderCaptor.capture());
+		assertThat(orderCaptor.getValue().getTotalPrice()).isEqualTo(110.99);
+		assertThat(orderCaptor.getValue().getOrderItems()).singleElement().satisfies(orderItem -> {
+			assertThat(orderItem.getProduct()).isEqualTo(product);
+			assertThat(orderItem.getQuantity()).isEqualTo(2);
+			assertThat(orderItem.getPrice()).isEqualTo(50.0);
+			assertThat(orderItem.getOrder()).isSameAs(orderCaptor.getValue());
+		});
 		verify(orderMapper, times(1)).toResponse(order);
-		verify(productRepository, times(1)).save(product);
-		verify(shoppingCartItemRepository, times(1)).delete(cartItem);
+		verify(productStockRepository, times(1)).decrementAvailableStock(eq(Map.of(1L, 2)), any(LocalDateTime.class));
+		verify(shoppingCartItemRepository, times(1)).deleteAllInBatch(List.of(cartItem));
+		verify(stockReservationService, times(1)).release(user, Set.of(1L));
+		InOrder stockOrder = inOrder(stockReservationService, productStockRepository);
+		stockOrder.verify(stockReservationService).release(user, Set.of(1L));
+		stockOrder.verify(productStockRepository).decrementAvailableStock(eq(Map.of(1L, 2)), any(LocalDateTime.class));
+		verifyNoInteractions(orderIdempotencyKeyRepository);
+		verify(eventPublisher, times(1)).publishEvent(new OrderPlacedEvent(1L, shippingTime));
+		verify(outboxService, times(1)).enqueue(OutboxEventType.ORDER_PLACED, new OrderPlacedPayload(1L, user.getEmail()));
+	}
+
+	@Test
+	void testCreateOrder_WithIdempotencyKey_StoresKey() {
+		// Arrange
+		ReflectionTestUtils.setField(orderService, "idempotencyTtl", Duration.ofHours(24));
+		User user = User.builder().id(1L).build();
+		Product product = Product.builder().id(1L).name("Test Product").price(50.0).amount(10).build();
+		ShoppingCartItem cartItem = ShoppingCartItem.builder().id(1L).user(user).product(product).quantity(2).build();
+		CreateOrderRequest request = CreateOrderRequest.builder()
+				                             .shippingPrice(10.99)
+				                             .shippingTime(LocalDateTime.now().plusDays(1).toString())
+				                             .paymentMethod("VISA")
+				                             .build();
+		Order order = Order.builder().id(7L).user(user).build();
+		OrderResponse orderResponse = OrderResponse.builder().id(7L).build();
+
+		when(shoppingCartItemRepository.findByUserIdWithProduct(1L)).thenReturn(List.of(cartItem));
+		when(orderRepository.save(any(Order.class))).thenReturn(order);
+		when(orderMapper.toResponse(order)).thenReturn(orderResponse);
+		when(flashSaleService.admit(Map.of(1L, 2))).thenReturn(new FlashSaleService.Admission(Map.of(1L, 2), List.of()));
+		stubPrices(Map.of(1L, 5000L));
+		when(productStockRepository.decrementAvailableStock(eq(Map.of(1L, 2)), any(LocalDateTime.class))).thenReturn(List.of());
+		when(orderIdempotencyKeyRepository.saveAndFlush(any(OrderIdempotencyKey.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		// Act
+		OrderResponse result = orderService.createOrder(user, request, "checkout-1");
+
+		// Assert
+		assertThat(result).isEqualTo(orderResponse);
+		ArgumentCaptor<OrderIdempotencyKey> keyCaptor = ArgumentCaptor.forClass(OrderIdempotencyKey.class);
+		InOrder claimOrder = inOrder(orderIdempotencyKeyRepository, shoppingCartItemRepository);
+		claimOrder.verify(orderIdempotencyKeyRepository).deleteExpiredKey(eq(1L), eq("checkout-1"), any(LocalDateTime.class));
+		claimOrder.verify(orderIdempotencyKeyRepository).saveAndFlush(keyCaptor.capture());
+		claimOrder.verify(shoppingCartItemRepository).findByUserIdWithProduct(1L);
+		assertThat(keyCaptor.getValue().getKey()).isEqualTo("checkout-1");
+		assertThat(keyCaptor.getValue().getUser()).isEqualTo(user);
+		assertThat(keyCaptor.getValue().getOrder()).isEqualTo(order);
+		assertThat(keyCaptor.getValue().getExpiresAt()).isAfter(LocalDateTime.now().plusHours(23));
+		verifyNoInteractions(jwtService);
+	}
+
+	@Test
+	void testCreateOrder_WithIdempotencyKey_ClaimsKeyBeforeReadingCart() {
+		// Arrange
+		ReflectionTestUtils.setField(orderService, "idempotencyTtl", Duration.ofHours(24));
+		User user = User.builder().id(1L).build();
+		CreateOrderRequest request = CreateOrderRequest.builder().paymentMethod("VISA").build();
+		when(orderIdempotencyKeyRepository.saveAndFlush(any(OrderIdempotencyKey.class)))
+				.thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+		// Act & Assert
+		assertThatThrownBy(() -> orderService.createOrder(user, request, "checkout-1")).isInstanceOf(DataIntegrityViolationException.class);
+		verifyNoInteractions(shoppingCartItemRepository, orderRepository, productStockRepository);
+	}
+
+	@Test
+	void testCreateOrder_AppliesDiscountedPrices() {
+		// Arrange
+		User user = User.builder().id(1L).build();
+		Product product = Product.builder().id(1L).name("Test Product").price(50.0).discount(20).amount(10).build();
+		ShoppingCartItem cartItem = ShoppingCartItem.builder().id(1L).user(user).product(product).quantity(2).build();
+		CreateOrderRequest request = CreateOrderRequest.builder()
+				                             .shippingPrice(10.99)
+				                             .shippingTime(LocalDateTime.now().plusDays(1).toString())
+				                             .paymentMethod("VISA")
+				                             .build();
+		Order order = Order.builder().id(7L).user(user).build();
+
+		when(jwtService.getAuthenticatedUser()).thenReturn(user);
+		when(shoppingCartItemRepository.findByUserIdWithProduct(1L)).thenReturn(List.of(cartItem));
+		when(orderRepository.save(any(Order.class))).thenReturn(order);
+		when(flashSaleService.admit(Map.of(1L, 2))).thenReturn(new FlashSaleService.Admission(Map.of(1L, 2), List.of()));
+		stubPrices(Map.of(1L, 4000L));
+		when(productStockRepository.decrementAvailableStock(eq(Map.of(1L, 2)), any(LocalDateTime.class))).thenReturn(List.of());
+
+		// Act
+		orderService.createOrder(request);
+
+		// Assert
+		ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
+		verify(orderRepository).save(orderCaptor.capture());
+		assertThat(orderCaptor.getValue().getTotalPrice()).isEqualTo(90.99);
+		assertThat(orderCaptor.getValue().getOrderItems()).singleElement()
+				.satisfies(orderItem -> assertThat(orderItem.getPrice()).isEqualTo(40.0));
+		verify(salesAggregateRepository).record(eq(LocalDate.now()), salesCaptor.capture());
+		assertThat(salesCaptor.getValue()).containsExactly(new SalesLine(1L, null, 2, 8000L));
+	}
+
+	@Test
+	void testFindIdempotentOrder_ReturnsStoredOrder() {
+		// Arrange
+		User user = User.builder().id(1L).build();
+		Order order = Order.builder().id(7L).user(user).build();
+		OrderResponse orderResponse = OrderResponse.builder().id(7L).build();
+
+		when(orderIdempotencyKeyRepository.findOrderId(eq(1L), eq("checkout-1"), any(LocalDateTime.class))).thenReturn(Optional.of(7L));
+		when(orderRepository.findById(7L)).thenReturn(Optional.of(order));
+		when(orderMapper.toResponse(order)).thenReturn(orderResponse);
+
+		// Act
+		Optional<OrderResponse> result = orderService.findIdempotentOrder(user, "checkout-1");
+
+		// Assert
+		assertThat(result).contains(orderResponse);
+		verifyNoInteractions(shoppingCartItemRepository, productStockRepository, stockReservationService);
 	}
 
 	@Test
@@ -217,7 +458,7 @@ class OrderServiceTest {
 				                             .build();
 
 		when(jwtService.getAuthenticatedUser()).thenReturn(user);
-		when(shoppingCartItemRepository.findByUser(user)).thenReturn(Collections.emptyList());
+		when(shoppingCartItemRepository.findByUserIdWithProduct(user.getId())).thenReturn(Collections.emptyList());
 
 		// Act & Assert
 		assertThatThrownBy(() -> orderService.createOrder(request))
@@ -225,7 +466,7 @@ class OrderServiceTest {
 				.hasMessage("Cannot create an order with an empty cart.");
 
 		verify(jwtService, times(1)).getAuthenticatedUser();
-		verify(shoppingCartItemRepository, times(1)).findByUser(user);
+		verify(shoppingCartItemRepository, times(1)).findByUserIdWithProduct(user.getId());
 	}
 
 	@Test
@@ -269,33 +510,167 @@ class OrderServiceTest {
 				                             .build();
 
 		when(jwtService.getAuthenticatedUser()).thenReturn(user);
-		when(shoppingCartItemRepository.findByUser(user)).thenReturn(List.of(cartItem));
+		when(shoppingCartItemRepository.findByUserIdWithProduct(user.getId())).thenReturn(List.of(cartItem));
+		when(flashSaleService.admit(Map.of(1L, 2))).thenReturn(new FlashSaleService.Admission(Map.of(1L, 2), List.of()));
+		stubPrices(Map.of(1L, 5000L));
+		when(productStockRepository.decrementAvailableStock(eq(Map.of(1L, 2)), any(LocalDateTime.class))).thenReturn(List.of(1L));
 
 		// Act & Assert
 		assertThatThrownBy(() -> orderService.createOrder(request))
 				.isInstanceOf(IllegalArgumentException.class)
-				.hasMessageContaining("Insufficient stock for product");
+				.hasMessage("Insufficient stock for product: Test Product");
 
 		verify(jwtService, times(1)).getAuthenticatedUser();
-		verify(shoppingCartItemRepository, times(1)).findByUser(user);
+		verify(shoppingCartItemRepository, times(1)).findByUserIdWithProduct(user.getId());
+		verify(shoppingCartItemRepository, never()).deleteAllInBatch(any());
+		verifyNoInteractions(eventPublisher, outboxService);
 	}
+
 	@Test
-	void testMarkOrdersAsDelivered() {
+	void testCreateOrder_FlashSaleSoldOut_RejectedBeforeDatabaseWrites() {
 		// Arrange
-		Order order = Order.builder()
-				              .id(1L)
-				              .status(OrderStatus.IN_PROGRESS)
-				              .shippingTime(LocalDateTime.now().minusDays(1))
-				              .build();
+		User user = User.builder().id(1L).build();
+		Product product = Product.builder().id(1L).name("Hot Product").price(50.0).amount(10).build();
+		ShoppingCartItem cartItem = ShoppingCartItem.builder().id(1L).user(user).product(product).quantity(2).build();
+		CreateOrderRequest request = CreateOrderRequest.builder()
+				                             .shippingPrice(10.99)
+				                             .shippingTime(LocalDateTime.now().plusDays(1).toString())
+				                             .paymentMethod("VISA")
+				                             .build();
+
+		when(jwtService.getAuthenticatedUser()).thenReturn(user);
+		when(shoppingCartItemRepository.findByUserIdWithProduct(1L)).thenReturn(List.of(cartItem));
+		when(flashSaleService.admit(Map.of(1L, 2))).thenReturn(new FlashSaleService.Admission(Map.of(), List.of(1L)));
+
+		// Act & Assert
+		assertThatThrownBy(() -> orderService.createOrder(request))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Insufficient stock for product: Hot Product");
+
+		verify(orderRepository, never()).save(any());
+		verifyNoInteractions(productStockRepository, eventPublisher, outboxService);
+	}
 
-		when(orderRepository.findByStatusAndShippingTimeBefore(eq(OrderStatus.IN_PROGRESS), any(LocalDateTime.class)))
-				.thenReturn(List.of(order));
+	@Test
+	void testCreateOrders_GroupsStockUpdatesPerProduct() {
+		// Arrange
+		User firstUser = User.builder().id(1L).email("first@example.com").build();
+		User secondUser = User.builder().id(2L).email("second@example.com").build();
+		Product shirt = Product.builder().id(1L).name("Shirt").price(20.0).amount(10).build();
+		Product hat = Product.builder().id(2L).name("Hat").price(15.0).amount(10).build();
+		ShoppingCartItem firstShirt = ShoppingCartItem.builder().id(1L).user(firstUser).product(shirt).quantity(2).build();
+		ShoppingCartItem secondShirt = ShoppingCartItem.builder().id(2L).user(secondUser).product(shirt).quantity(3).build();
+		ShoppingCartItem secondHat = ShoppingCartItem.builder().id(3L).user(secondUser).product(hat).quantity(1).build();
+		CreateOrderRequest request = CreateOrderRequest.builder()
+				                             .shippingPrice(10.99)
+				                             .shippingTime(LocalDateTime.now().plusDays(1).toString())
+				                             .paymentMethod("VISA")
+				                             .build();
+		Order firstOrder = Order.builder().id(7L).user(firstUser).build();
+		Order secondOrder = Order.builder().id(8L).user(secondUser).build();
+		OrderResponse firstResponse = OrderResponse.builder().id(7L).build();
+		OrderResponse secondResponse = OrderResponse.builder().id(8L).build();
+
+		when(shoppingCartItemRepository.findByUserIdWithProduct(1L)).thenReturn(List.of(firstShirt));
+		when(shoppingCartItemRepository.findByUserIdWithProduct(2L)).thenReturn(List.of(secondShirt, secondHat));
+		when(flashSaleService.admit(Map.of(1L, 2))).thenReturn(new FlashSaleService.Admission(Map.of(1L, 2), List.of()));
+		when(flashSaleService.admit(Map.of(1L, 3, 2L, 1))).thenReturn(new FlashSaleService.Admission(Map.of(1L, 3, 2L, 1), List.of()));
+		when(orderRepository.save(any(Order.class))).thenReturn(firstOrder, secondOrder);
+		stubPrices(Map.of(1L, 2000L, 2L, 1500L));
+		when(productStockRepository.decrementAvailableStock(eq(Map.of(1L, 5, 2L, 1)), any(LocalDateTime.class))).thenReturn(List.of());
+		when(orderMapper.toResponse(firstOrder)).thenReturn(firstResponse);
+		when(orderMapper.toResponse(secondOrder)).thenReturn(secondResponse);
+
+		// Act
+		List<OrderResponse> result = orderService.createOrders(List.of(
+				new CheckoutTask("a", firstUser, request, SecurityContextHolder.createEmptyContext()),
+				new CheckoutTask("b", secondUser, request, SecurityContextHolder.createEmptyContext())));
+
+		// Assert
+		assertThat(result).containsExactly(firstResponse, secondResponse);
+		verify(productStockRepository, times(1)).decrementAvailableStock(any(), any(LocalDateTime.class));
+		verify(shoppingCartItemRepository, times(1)).deleteAllInBatch(List.of(firstShirt));
+		verify(shoppingCartItemRepository, times(1)).deleteAllInBatch(List.of(secondShirt, secondHat));
+		verify(outboxService, times(1)).enqueue(OutboxEventType.ORDER_PLACED, new OrderPlacedPayload(8L, "second@example.com"));
+		verify(salesAggregateRepository, times(1)).record(eq(LocalDate.now()), salesCaptor.capture());
+		assertThat(salesCaptor.getValue()).containsExactly(
+				new SalesLine(1L, null, 5, 10000L),
+				new SalesLine(2L, null, 1, 1500L));
+	}
+
+	@Test
+	void testCreateOrders_InsufficientStockFailsWholeBatch() {
+		// Arrange
+		User user = User.builder().id(1L).build();
+		Product product = Product.builder().id(1L).name("Shirt").price(20.0).amount(1).build();
+		ShoppingCartItem cartItem = ShoppingCartItem.builder().id(1L).user(user).product(product).quantity(2).build();
+		CreateOrderRequest request = CreateOrderRequest.builder()
+				                             .shippingPrice(10.99)
+				                             .shippingTime(LocalDateTime.now().plusDays(1).toString())
+				                             .paymentMethod("VISA")
+				                             .build();
+
+		when(shoppingCartItemRepository.findByUserIdWithProduct(1L)).thenReturn(List.of(cartItem));
+		when(flashSaleService.admit(Map.of(1L, 2))).thenReturn(new FlashSaleService.Admission(Map.of(1L, 2), List.of()));
+		when(orderRepository.save(any(Order.class))).thenReturn(Order.builder().id(7L).user(user).build());
+		stubPrices(Map.of(1L, 5000L));
+		when(productStockRepository.decrementAvailableStock(eq(Map.of(1L, 2)), any(LocalDateTime.class))).thenReturn(List.of(1L));
+
+		// Act & Assert
+		assertThatThrownBy(() -> orderService.createOrders(List.of(new CheckoutTask("a", user, request, SecurityContextHolder.createEmptyContext()))))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Insufficient stock for product: Shirt");
+
+		verify(shoppingCartItemRepository, never()).deleteAllInBatch(any());
+		verifyNoInteractions(eventPublisher, outboxService, salesAggregateRepository);
+	}
+
+	@Test
+	void testMarkOrdersAsDelivered_UpdatesInChunksUntilShortChunk() {
+		// Arrange
+		ReflectionTestUtils.setField(orderService, "deliveryChunkSize", 2);
+		when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+				invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+		when(orderRepository.markDeliveredChunk(any(LocalDateTime.class), eq(2))).thenReturn(2, 2, 1);
 
 		// Act
 		orderService.markOrdersAsDelivered();
 
 		// Assert
-		assertThat(order.getStatus()).isEqualTo(OrderStatus.DELIVERED);
-		verify(orderRepository, times(1)).save(order);
+		verify(transactionTemplate, times(3)).execute(any());
+		verify(orderRepository, never()).save(any());
+		assertThat(meterRegistry.counter("orders.delivered").count()).isEqualTo(5.0);
+		assertThat(meterRegistry.timer("orders.delivered.chunk").count()).isEqualTo(3);
+	}
+
+	@Test
+	void testMarkOrdersAsDelivered_NothingToDeliver() {
+		// Arrange
+		ReflectionTestUtils.setField(orderService, "deliveryChunkSize", 2);
+		when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+				invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+		when(orderRepository.markDeliveredChunk(any(LocalDateTime.class), eq(2))).thenReturn(0);
+
+		// Act
+		orderService.markOrdersAsDelivered();
+
+		// Assert
+		verify(transactionTemplate, times(1)).execute(any());
+		assertThat(meterRegistry.counter("orders.delivered").count()).isZero();
+	}
+
+	private void stubPrices( Map<Long, Long> unitPricesByProductId ) {
+		when(pricingEngine.priceCheckout(any(), any(), any(), anyInt())).thenAnswer(invocation -> {
+			long[] productIds = invocation.getArgument(0);
+			int[] quantities = invocation.getArgument(1);
+			long[] unitPrices = invocation.getArgument(2);
+			int lines = invocation.getArgument(3);
+			long total = 0;
+			for ( int i = 0; i < lines; i++ ) {
+				unitPrices[i] = unitPricesByProductId.get(productIds[i]);
+				total += unitPrices[i] * quantities[i];
+			}
+			return total;
+		});
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,120 @@
+package dev.akorovai.backend.order;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimerWheelTest {
+	private static final long TICK = 1_000;
+	private static final long START = 1_700_000_000_000L;
+
+	@Nested
+	class AdvanceTests {
+		@Test
+		void testAdvance_FiresOnlyDueTimers() {
+			// Arrange
+			TimerWheel wheel = new TimerWheel(TICK, START);
+			wheel.schedule(1L, START + 1_500);
+			wheel.schedule(2L, START + 5_000);
+
+			// Act
+			List<Long> first = wheel.advance(START + 2_000);
+			List<Long> second = wheel.advance(START + 4_000);
+			List<Long> third = wheel.advance(START + 6_000);
+
+			// Assert
+			assertThat(first).containsExactly(1L);
+			assertThat(second).isEmpty();
+			assertThat(third).containsExactly(2L);
+			assertThat(wheel.size()).isZero();
+		}
+
+		@Test
+		void testAdvance_PastDeadlineFiresOnNextTick() {
+			// Arrange
+			TimerWheel wheel = new TimerWheel(TICK, START);
+			wheel.schedule(1L, START - 86_400_000L);
+
+			// Act
+			List<Long> due = wheel.advance(START + TICK);
+
+			// Assert
+			assertThat(due).containsExactly(1L);
+		}
+
+		@Test
+		void testAdvance_CascadesFromHigherLevels() {
+			// Arrange
+			TimerWheel wheel = new TimerWheel(TICK, START);
+			long threeHours = 3 * 3_600_000L;
+			wheel.schedule(1L, START + threeHours);
+
+			// Act
+			List<Long> early = wheel.advance(START + threeHours - TICK);
+			List<Long> due = wheel.advance(START + threeHours + TICK);
+
+			// Assert
+			assertThat(early).isEmpty();
+			assertThat(due).containsExactly(1L);
+		}
+
+		@Test
+		void testAdvance_BeyondWheelRangeIsRescheduled() {
+			// Arrange
+			TimerWheel wheel = new TimerWheel(TICK, START);
+			long range = TICK * (long) Math.pow(TimerWheel.SLOTS_PER_LEVEL, TimerWheel.LEVELS);
+			wheel.schedule(1L, START + 3 * range);
+
+			// Act
+			List<Long> early = wheel.advance(START + 2 * range);
+			List<Long> due = wheel.advance(START + 3 * range + TICK);
+
+			// Assert
+			assertThat(early).isEmpty();
+			assertThat(due).containsExactly(1L);
+		}
+
+		@Test
+		void testAdvance_RandomScheduleFiresEveryTimerWithinOneTick() {
+			// Arrange
+			Random random = new Random(42);
+			TimerWheel wheel = new TimerWheel(TICK, START);
+			Map<Long, Long> deadlines = new HashMap<>();
+			for (long id = 0; id < 5_000; id++) {
+				long deadline = START + (long) (random.nextDouble() * 14 * 86_400_000L);
+				deadlines.put(id, deadline);
+				wheel.schedule(id, deadline);
+			}
+
+			// Act & Assert
+			long now = START;
+			Map<Long, Long> firedAt = new HashMap<>();
+			while (firedAt.size() < deadlines.size()) {
+				now += TICK + random.nextInt((int) (30 * TICK));
+				for (Long id : wheel.advance(now)) {
+					assertThat(firedAt.put(id, now)).isNull();
+				}
+			}
+			long lastStep = 31 * TICK;
+			firedAt.forEach((id, fired) -> assertThat(fired)
+					                               .isGreaterThanOrEqualTo(deadlines.get(id))
+					                               .isLessThan(deadlines.get(id) + lastStep + TICK));
+			assertThat(wheel.size()).isZero();
+		}
+	}
+
+	@Test
+	void testConstructor_RejectsNonPositiveTick() {
+		// Act & Assert
+		assertThatThrownBy(() -> new TimerWheel(0, START))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Tick must be positive: 0");
+	}
+}
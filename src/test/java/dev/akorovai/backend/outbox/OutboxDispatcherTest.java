@@ -0,0 +1,213 @@
+package dev.akorovai.backend.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+	private static final int BATCH_SIZE = 2;
+	private static final int MAX_ATTEMPTS = 3;
+
+	@Mock
+	private OutboxEventRepository outboxEventRepository;
+
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Mock
+	private OutboxHandler accountHandler;
+
+	@Mock
+	private OutboxHandler orderHandler;
+
+	private final AtomicBoolean inTransaction = new AtomicBoolean();
+
+	private OutboxDispatcher dispatcher;
+
+	@BeforeEach
+	void setUp() {
+		when(accountHandler.types()).thenReturn(Set.of(OutboxEventType.ACCOUNT_ACTIVATION, OutboxEventType.ACCOUNT_RECOVERY));
+		when(orderHandler.types()).thenReturn(Set.of(OutboxEventType.ORDER_PLACED));
+		lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+			inTransaction.set(true);
+			try {
+				return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+			} finally {
+				inTransaction.set(false);
+			}
+		});
+		dispatcher = new OutboxDispatcher(outboxEventRepository, transactionTemplate, meterRegistry, List.of(accountHandler, orderHandler),
+				BATCH_SIZE, 2, MAX_ATTEMPTS, Duration.ofSeconds(30), Duration.ofMinutes(5));
+	}
+
+	@AfterEach
+	void tearDown() {
+		dispatcher.shutdown();
+	}
+
+	@Nested
+	class DispatchTests {
+		@Test
+		void testDispatch_RoutesEventsAndDeletesDelivered() throws Exception {
+			// Arrange
+			OutboxEvent activation = event(1L, OutboxEventType.ACCOUNT_ACTIVATION);
+			OutboxEvent order = event(2L, OutboxEventType.ORDER_PLACED);
+			when(outboxEventRepository.lockBatch(any(LocalDateTime.class), eq(MAX_ATTEMPTS), eq(BATCH_SIZE)))
+					.thenReturn(List.of(activation, order), List.of());
+
+			// Act
+			dispatcher.dispatch();
+
+			// Assert
+			verify(accountHandler).handle(activation);
+			verify(orderHandler).handle(order);
+			verify(outboxEventRepository).deleteClaimed(eq(List.of(1L, 2L)), eq(activation.getClaimedBy()));
+			verify(outboxEventRepository, never()).findAllById(any());
+			verify(transactionTemplate, times(3)).execute(any());
+		}
+
+		@Test
+		void testDispatch_ClaimsEventsAndRunsHandlersOutsideTransaction() throws Exception {
+			// Arrange
+			OutboxEvent order = event(1L, OutboxEventType.ORDER_PLACED);
+			LocalDateTime before = LocalDateTime.now();
+			when(outboxEventRepository.lockBatch(any(LocalDateTime.class), anyInt(), anyInt())).thenReturn(List.of(order), List.of());
+			AtomicBoolean handledInTransaction = new AtomicBoolean(true);
+			doAnswer(invocation -> {
+				handledInTransaction.set(inTransaction.get());
+				return null;
+			}).when(orderHandler).handle(order);
+
+			// Act
+			dispatcher.dispatch();
+
+			// Assert
+			assertThat(handledInTransaction).isFalse();
+			assertThat(order.getClaimedBy()).isNotBlank();
+			assertThat(order.getAvailableAt()).isAfterOrEqualTo(before.plusMinutes(5));
+		}
+
+		@Test
+		void testDispatch_FailedEventIsRescheduledWithBackoff() throws Exception {
+			// Arrange
+			OutboxEvent activation = event(1L, OutboxEventType.ACCOUNT_ACTIVATION);
+			activation.setAttempts(1);
+			OutboxEvent order = event(2L, OutboxEventType.ORDER_PLACED);
+			doThrow(new IllegalStateException("smtp down")).when(accountHandler).handle(activation);
+			when(outboxEventRepository.lockBatch(any(LocalDateTime.class), anyInt(), anyInt())).thenReturn(List.of(activation, order), List.of());
+			when(outboxEventRepository.findAllById(Set.of(1L))).thenReturn(List.of(activation));
+
+			// Act
+			LocalDateTime before = LocalDateTime.now();
+			dispatcher.dispatch();
+
+			// Assert
+			verify(outboxEventRepository).deleteClaimed(eq(List.of(2L)), anyString());
+			assertThat(activation.getAttempts()).isEqualTo(2);
+			assertThat(activation.getLastError()).isEqualTo("smtp down");
+			assertThat(activation.getClaimedBy()).isNull();
+			assertThat(activation.getDeadAt()).isNull();
+			assertThat(activation.getAvailableAt()).isAfterOrEqualTo(before.plusSeconds(60)).isBefore(before.plusMinutes(5));
+		}
+
+		@Test
+		void testDispatch_EventAtMaxAttemptsIsMarkedDeadAndCounted() throws Exception {
+			// Arrange
+			OutboxEvent activation = event(1L, OutboxEventType.ACCOUNT_ACTIVATION);
+			activation.setAttempts(MAX_ATTEMPTS - 1);
+			doThrow(new IllegalStateException("smtp down")).when(accountHandler).handle(activation);
+			when(outboxEventRepository.lockBatch(any(LocalDateTime.class), anyInt(), anyInt())).thenReturn(List.of(activation));
+			when(outboxEventRepository.findAllById(Set.of(1L))).thenReturn(List.of(activation));
+
+			// Act
+			dispatcher.dispatch();
+
+			// Assert
+			assertThat(activation.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+			assertThat(activation.getDeadAt()).isNotNull();
+			assertThat(meterRegistry.counter("outbox.events.dead", "type", "ACCOUNT_ACTIVATION").count()).isEqualTo(1.0);
+			verify(outboxEventRepository, never()).deleteClaimed(anyCollection(), anyString());
+		}
+
+		@Test
+		void testDispatch_FailureOfEventClaimedByAnotherDispatcherIsIgnored() throws Exception {
+			// Arrange
+			OutboxEvent activation = event(1L, OutboxEventType.ACCOUNT_ACTIVATION);
+			OutboxEvent reclaimed = event(1L, OutboxEventType.ACCOUNT_ACTIVATION);
+			reclaimed.setClaimedBy("other-dispatcher");
+			doThrow(new IllegalStateException("smtp down")).when(accountHandler).handle(activation);
+			when(outboxEventRepository.lockBatch(any(LocalDateTime.class), anyInt(), anyInt())).thenReturn(List.of(activation));
+			when(outboxEventRepository.findAllById(Set.of(1L))).thenReturn(List.of(reclaimed));
+
+			// Act
+			dispatcher.dispatch();
+
+			// Assert
+			assertThat(reclaimed.getAttempts()).isZero();
+			assertThat(reclaimed.getClaimedBy()).isEqualTo("other-dispatcher");
+		}
+
+		@Test
+		void testDispatch_ShortBatchStopsPolling() {
+			// Arrange
+			when(outboxEventRepository.lockBatch(any(LocalDateTime.class), anyInt(), anyInt())).thenReturn(List.of());
+
+			// Act
+			dispatcher.dispatch();
+
+			// Assert
+			verify(transactionTemplate, times(1)).execute(any());
+			verify(outboxEventRepository, never()).deleteClaimed(anyCollection(), anyString());
+		}
+	}
+
+	@Test
+	void testConstructor_RejectsDuplicateHandlers() {
+		// Arrange
+		OutboxHandler duplicate = mock(OutboxHandler.class);
+		when(duplicate.types()).thenReturn(Set.of(OutboxEventType.ORDER_PLACED));
+
+		// Act & Assert
+		assertThatThrownBy(() -> new OutboxDispatcher(outboxEventRepository, transactionTemplate, meterRegistry,
+				List.of(orderHandler, duplicate), BATCH_SIZE, 1, MAX_ATTEMPTS, Duration.ofSeconds(30), Duration.ofMinutes(5)))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("Duplicate outbox handler for ORDER_PLACED");
+	}
+
+	private OutboxEvent event(Long id, OutboxEventType type) {
+		return OutboxEvent.builder()
+				       .id(id)
+				       .type(type)
+				       .payload("{}")
+				       .createdAt(LocalDateTime.now())
+				       .availableAt(LocalDateTime.now())
+				       .build();
+	}
+}
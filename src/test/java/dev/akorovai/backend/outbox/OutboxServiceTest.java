@@ -0,0 +1,45 @@
+package dev.akorovai.backend.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.akorovai.backend.emailToken.AccountEmailPayload;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+	@Mock
+	private OutboxEventRepository outboxEventRepository;
+
+	@Spy
+	private ObjectMapper objectMapper = new ObjectMapper();
+
+	@InjectMocks
+	private OutboxService outboxService;
+
+	@Test
+	void testEnqueue_StoresSerializedPayload() throws Exception {
+		// Arrange
+		AccountEmailPayload payload = new AccountEmailPayload("john.doe@example.com", "ABC123");
+
+		// Act
+		outboxService.enqueue(OutboxEventType.ACCOUNT_ACTIVATION, payload);
+
+		// Assert
+		ArgumentCaptor<OutboxEvent> eventCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+		verify(outboxEventRepository).save(eventCaptor.capture());
+		OutboxEvent event = eventCaptor.getValue();
+		assertThat(event.getType()).isEqualTo(OutboxEventType.ACCOUNT_ACTIVATION);
+		assertThat(event.getAttempts()).isZero();
+		assertThat(event.getAvailableAt()).isEqualTo(event.getCreatedAt());
+		assertThat(outboxService.readPayload(event, AccountEmailPayload.class)).isEqualTo(payload);
+	}
+}
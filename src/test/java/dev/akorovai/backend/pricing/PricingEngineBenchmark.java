@@ -0,0 +1,78 @@
+package dev.akorovai.backend.pricing;
+
+import dev.akorovai.backend.product.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingEngineBenchmark {
+	private static final int CATALOG_SIZE = 10_000;
+
+	@Param({"1", "10", "50", "200"})
+	private int lines;
+
+	private PricingEngine pricingEngine;
+	private long[] productIds;
+	private int[] quantities;
+	private long[] unitPrices;
+
+	@Setup
+	public void setUp() {
+		List<ProductPrice> prices = LongStream.rangeClosed(1, CATALOG_SIZE)
+				                            .mapToObj(id -> new ProductPrice(id, 10.0 + id % 90, (int) (id % 4) * 10))
+				                            .toList();
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		productIds = new long[lines];
+		quantities = new int[lines];
+		unitPrices = new long[lines];
+		for (int i = 0; i < lines; i++) {
+			productIds[i] = random.nextLong(1, CATALOG_SIZE + 1);
+			quantities[i] = random.nextInt(1, 5);
+		}
+
+		// A proxy stands in for the repository so that priceCheckout measures pricing the rows, not mock bookkeeping.
+		List<ProductPrice> orderedPrices = Arrays.stream(productIds).distinct()
+				                                   .mapToObj(id -> prices.get((int) id - 1))
+				                                   .toList();
+		ProductRepository productRepository = (ProductRepository) Proxy.newProxyInstance(
+				ProductRepository.class.getClassLoader(), new Class<?>[]{ProductRepository.class},
+				(proxy, method, args) -> switch (method.getName()) {
+					case "findAllPrices" -> prices;
+					case "findPrices" -> orderedPrices;
+					default -> throw new UnsupportedOperationException(method.getName());
+				});
+		pricingEngine = new PricingEngine(productRepository);
+		pricingEngine.rebuild();
+	}
+
+	@Benchmark
+	public long priceCart() {
+		return pricingEngine.priceCart(productIds, quantities, unitPrices, lines);
+	}
+
+	@Benchmark
+	public long priceCheckout() {
+		return pricingEngine.priceCheckout(productIds, quantities, unitPrices, lines);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				           .include(PricingEngineBenchmark.class.getSimpleName())
+				           .addProfiler("gc")
+				           .build()).run();
+	}
+}
@@ -0,0 +1,196 @@
+package dev.akorovai.backend.pricing;
+
+import dev.akorovai.backend.handler.product.ProductNotFoundException;
+import dev.akorovai.backend.product.ProductChange;
+import dev.akorovai.backend.product.ProductChangedEvent;
+import dev.akorovai.backend.product.ProductRepository;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PricingEngineTest {
+
+	@Mock
+	private ProductRepository productRepository;
+
+	@InjectMocks
+	private PricingEngine pricingEngine;
+
+	@Nested
+	class MoneyTests {
+		@Test
+		void testToMinorUnits_RoundsToNearestCent() {
+			// Act & Assert
+			assertThat(PricingEngine.toMinorUnits(19.99)).isEqualTo(1999);
+			assertThat(PricingEngine.toMinorUnits(0.1 + 0.2)).isEqualTo(30);
+			assertThat(PricingEngine.toMajorUnits(1999)).isEqualTo(19.99);
+		}
+
+		@Test
+		void testApplyDiscount_RoundsHalfUpAndClampsPercent() {
+			// Act & Assert
+			assertThat(PricingEngine.applyDiscount(1999, 15)).isEqualTo(1699);
+			assertThat(PricingEngine.applyDiscount(1999, null)).isEqualTo(1999);
+			assertThat(PricingEngine.applyDiscount(1999, 150)).isZero();
+			assertThat(PricingEngine.applyDiscount(1999, -5)).isEqualTo(1999);
+		}
+	}
+
+	@Nested
+	class PriceCartTests {
+		@Test
+		void testPriceCart_AppliesPrecomputedDiscounts() {
+			// Arrange
+			when(productRepository.findAllPrices()).thenReturn(List.of(
+					new ProductPrice(1L, 50.0, 0),
+					new ProductPrice(2L, 19.99, 15)));
+			pricingEngine.rebuild();
+			long[] unitPrices = new long[2];
+
+			// Act
+			long total = pricingEngine.priceCart(new long[]{1L, 2L}, new int[]{2, 3}, unitPrices, 2);
+
+			// Assert
+			assertThat(unitPrices).containsExactly(5000, 1699);
+			assertThat(total).isEqualTo(2 * 5000 + 3 * 1699);
+		}
+
+		@Test
+		void testPriceCart_HandlesLargeTables() {
+			// Arrange
+			when(productRepository.findAllPrices()).thenReturn(LongStream.rangeClosed(1, 5_000)
+					                                                   .mapToObj(id -> new ProductPrice(id, (double) id, 0))
+					                                                   .toList());
+			pricingEngine.rebuild();
+
+			// Act & Assert
+			LongStream.rangeClosed(1, 5_000).forEach(id -> assertThat(pricingEngine.effectivePrice(id)).isEqualTo(id * 100));
+		}
+
+		@Test
+		void testPriceCart_LoadsMissingProductOnDemand() {
+			// Arrange
+			when(productRepository.findPrices(List.of(7L))).thenReturn(List.of(new ProductPrice(7L, 10.0, 50)));
+			long[] unitPrices = new long[1];
+
+			// Act
+			long total = pricingEngine.priceCart(new long[]{7L}, new int[]{1}, unitPrices, 1);
+			pricingEngine.effectivePrice(7L);
+
+			// Assert
+			assertThat(total).isEqualTo(500);
+			verify(productRepository, times(1)).findPrices(any());
+		}
+
+		@Test
+		void testEffectivePrice_UnknownProduct() {
+			// Arrange
+			when(productRepository.findPrices(List.of(7L))).thenReturn(List.of());
+
+			// Act & Assert
+			assertThatThrownBy(() -> pricingEngine.effectivePrice(7L))
+					.isInstanceOf(ProductNotFoundException.class)
+					.hasMessage("Product not found with ID: 7");
+		}
+	}
+
+	@Nested
+	class PriceCheckoutTests {
+		@Test
+		void testPriceCheckout_ReadsCurrentPricesInsteadOfCachedTable() {
+			// Arrange
+			when(productRepository.findAllPrices()).thenReturn(List.of(new ProductPrice(1L, 50.0, 0), new ProductPrice(2L, 20.0, 0)));
+			when(productRepository.findPrices(Set.of(1L, 2L))).thenReturn(List.of(new ProductPrice(1L, 50.0, 20), new ProductPrice(2L, 25.0, 0)));
+			pricingEngine.rebuild();
+			long[] unitPrices = new long[3];
+
+			// Act
+			long total = pricingEngine.priceCheckout(new long[]{1L, 2L, 1L}, new int[]{1, 2, 1}, unitPrices, 3);
+
+			// Assert
+			assertThat(unitPrices).containsExactly(4000, 2500, 4000);
+			assertThat(total).isEqualTo(4000 + 2 * 2500 + 4000);
+			verify(productRepository, times(1)).findPrices(any());
+		}
+
+		@Test
+		void testPriceCheckout_LeavesSharedTableToRefresh() {
+			// Arrange
+			when(productRepository.findAllPrices()).thenReturn(List.of(new ProductPrice(1L, 50.0, 0)));
+			when(productRepository.findPrices(Set.of(1L))).thenReturn(List.of(new ProductPrice(1L, 60.0, 0)));
+			pricingEngine.rebuild();
+
+			// Act
+			pricingEngine.priceCheckout(new long[]{1L}, new int[]{1}, new long[1], 1);
+
+			// Assert
+			assertThat(pricingEngine.effectivePrice(1L)).isEqualTo(5000);
+		}
+
+		@Test
+		void testPriceCheckout_UnknownProduct() {
+			// Arrange
+			when(productRepository.findPrices(Set.of(1L, 7L))).thenReturn(List.of(new ProductPrice(1L, 50.0, 0)));
+
+			// Act & Assert
+			assertThatThrownBy(() -> pricingEngine.priceCheckout(new long[]{1L, 7L}, new int[]{1, 1}, new long[2], 2))
+					.isInstanceOf(ProductNotFoundException.class)
+					.hasMessage("Product not found with ID: 7");
+		}
+	}
+
+	@Nested
+	class ProductChangedTests {
+		@Test
+		void testOnProductChanged_DiscountChangeRefreshesPrice() {
+			// Arrange
+			when(productRepository.findAllPrices()).thenReturn(List.of(new ProductPrice(1L, 50.0, 0), new ProductPrice(2L, 20.0, 0)));
+			when(productRepository.findPrices(Set.of(1L))).thenReturn(List.of(new ProductPrice(1L, 50.0, 20)));
+			pricingEngine.rebuild();
+
+			// Act
+			pricingEngine.onProductChanged(ProductChangedEvent.of(ProductChange.DISCOUNT_CHANGED, 1L));
+
+			// Assert
+			assertThat(pricingEngine.effectivePrice(1L)).isEqualTo(4000);
+			assertThat(pricingEngine.effectivePrice(2L)).isEqualTo(2000);
+		}
+
+		@Test
+		void testOnProductChanged_DeletedProductIsRemoved() {
+			// Arrange
+			when(productRepository.findAllPrices()).thenReturn(List.of(new ProductPrice(1L, 50.0, 0)));
+			when(productRepository.findPrices(Set.of(1L))).thenReturn(List.of());
+			pricingEngine.rebuild();
+
+			// Act
+			pricingEngine.onProductChanged(ProductChangedEvent.of(ProductChange.DELETED, 1L));
+
+			// Assert
+			when(productRepository.findPrices(List.of(1L))).thenReturn(List.of());
+			assertThatThrownBy(() -> pricingEngine.effectivePrice(1L)).isInstanceOf(ProductNotFoundException.class);
+		}
+
+		@Test
+		void testOnProductChanged_IgnoresStockChanges() {
+			// Act
+			pricingEngine.onProductChanged(ProductChangedEvent.of(ProductChange.STOCK_CHANGED, 1L));
+
+			// Assert
+			verifyNoInteractions(productRepository);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package dev.akorovai.backend.product;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DiscountedProductPoolTest {
+
+	@Mock
+	private ProductRepository productRepository;
+
+	@InjectMocks
+	private DiscountedProductPool discountedPool;
+
+	private static List<Long> ids(long count) {
+		return LongStream.rangeClosed(1, count).boxed().toList();
+	}
+
+	@Nested
+	class SampleTests {
+		@Test
+		void testSample_ReturnsEmptyBeforeFirstRotation() {
+			// Act & Assert
+			assertThat(discountedPool.sample(5)).isEmpty();
+		}
+
+		@Test
+		void testSample_RotatesThroughWholePoolWithoutRepeats() {
+			// Arrange
+			when(productRepository.findDiscountedIds()).thenReturn(ids(10));
+			discountedPool.rotate();
+
+			// Act
+			List<Long> sampled = new ArrayList<>();
+			sampled.addAll(discountedPool.sample(4).orElseThrow());
+			sampled.addAll(discountedPool.sample(4).orElseThrow());
+			sampled.addAll(discountedPool.sample(2).orElseThrow());
+
+			// Assert
+			assertThat(sampled).containsExactlyInAnyOrderElementsOf(ids(10));
+		}
+
+		@Test
+		void testSample_IsBoundedByPoolSize() {
+			// Arrange
+			when(productRepository.findDiscountedIds()).thenReturn(ids(3));
+			discountedPool.rotate();
+
+			// Act
+			List<Long> sampled = discountedPool.sample(20).orElseThrow();
+
+			// Assert
+			assertThat(sampled).hasSize(3);
+			assertThat(new HashSet<>(sampled)).isEqualTo(Set.of(1L, 2L, 3L));
+		}
+	}
+
+	@Nested
+	class OnProductChangedTests {
+		@Test
+		void testOnProductChanged_ReloadsPoolWhenDiscountChanges() {
+			// Arrange
+			when(productRepository.findDiscountedIds()).thenReturn(ids(2), List.of(7L));
+			discountedPool.rotate();
+
+			// Act
+			discountedPool.onProductChanged(ProductChangedEvent.of(ProductChange.DISCOUNT_CHANGED, 7L));
+
+			// Assert
+			assertThat(discountedPool.sample(5)).contains(List.of(7L));
+		}
+
+		@Test
+		void testOnProductChanged_IgnoresStockChanges() {
+			// Arrange
+			when(productRepository.findDiscountedIds()).thenReturn(ids(2));
+			discountedPool.rotate();
+
+			// Act
+			discountedPool.onProductChanged(ProductChangedEvent.of(ProductChange.STOCK_CHANGED, 1L));
+
+			// Assert
+			verify(productRepository, times(1)).findDiscountedIds();
+		}
+	}
+}
@@ -0,0 +1,216 @@
+package dev.akorovai.backend.product;
+
+import dev.akorovai.backend.product.request.ProductFilterRequest;
+import dev.akorovai.backend.reservation.ReservedQuantity;
+import dev.akorovai.backend.reservation.StockReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogIndexTest {
+
+	@Mock
+	private ProductRepository productRepository;
+
+	@Mock
+	private StockReservationRepository stockReservationRepository;
+
+	@InjectMocks
+	private ProductCatalogIndex catalogIndex;
+
+	private static CatalogEntry entry(long id, long typeId, String typeName, Gender gender, Size size, double price, int amount) {
+		return new CatalogEntry(id, "Product " + id, typeId, typeName, 1L, "Black", gender, size, price, amount, 0);
+	}
+
+	private record Reserved(Long productId, Long quantity) implements ReservedQuantity {
+		@Override
+		public Long getProductId() {
+			return productId;
+		}
+
+		@Override
+		public Long getQuantity() {
+			return quantity;
+		}
+	}
+
+	@BeforeEach
+	void setUp() {
+		when(productRepository.findAllCatalogEntries()).thenReturn(List.of(
+				entry(1L, 10L, "Jacket", Gender.MEN, Size.M, 120.0, 5),
+				entry(2L, 10L, "Jacket", Gender.WOMEN, Size.S, 80.0, 0),
+				entry(3L, 20L, "Pants", Gender.MEN, Size.M, 60.0, 3),
+				entry(4L, 10L, "Jacket", Gender.MEN, Size.L, 200.0, 1)
+		));
+		catalogIndex.rebuild();
+	}
+
+	@Nested
+	class FindIdsTests {
+		@Test
+		void testFindIds_IntersectsFacets() {
+			// Arrange
+			ProductFilterRequest filter = ProductFilterRequest.builder().type("jacket").gender(Gender.MEN).build();
+
+			// Act
+			Optional<List<Long>> result = catalogIndex.findIds(filter, null, 10);
+
+			// Assert
+			assertThat(result).contains(List.of(1L, 4L));
+		}
+
+		@Test
+		void testFindIds_FiltersByPriceRangeAndStock() {
+			// Arrange
+			ProductFilterRequest filter = ProductFilterRequest.builder().minPrice(70.0).maxPrice(150.0).inStock(true).build();
+
+			// Act
+			Optional<List<Long>> result = catalogIndex.findIds(filter, null, 10);
+
+			// Assert
+			assertThat(result).contains(List.of(1L));
+		}
+
+		@Test
+		void testFindIds_PriceBoundsAreInclusiveAndInvertedRangeIsEmpty() {
+			// Act
+			Optional<List<Long>> inclusive = catalogIndex.findIds(ProductFilterRequest.builder().minPrice(80.0).maxPrice(120.0).build(), null, 10);
+			Optional<List<Long>> inverted = catalogIndex.findIds(ProductFilterRequest.builder().minPrice(150.0).maxPrice(70.0).build(), null, 10);
+
+			// Assert
+			assertThat(inclusive).contains(List.of(1L, 2L));
+			assertThat(inverted).contains(List.of());
+		}
+
+		@Test
+		void testFindIds_ProductFullyHeldByReservationsIsOutOfStock() {
+			// Arrange
+			when(stockReservationRepository.sumUnexpiredQuantities(any())).thenReturn(List.of(new Reserved(4L, 1L), new Reserved(1L, 2L)));
+			catalogIndex.rebuild();
+
+			// Act
+			Optional<List<Long>> inStock = catalogIndex.findIds(ProductFilterRequest.builder().inStock(true).build(), null, 10);
+			Optional<List<Long>> outOfStock = catalogIndex.findIds(ProductFilterRequest.builder().inStock(false).build(), null, 10);
+
+			// Assert
+			assertThat(inStock).contains(List.of(1L, 3L));
+			assertThat(outOfStock).contains(List.of(2L, 4L));
+		}
+
+		@Test
+		void testFindIds_ResumesAfterCursor() {
+			// Arrange
+			ProductFilterRequest filter = ProductFilterRequest.builder().build();
+
+			// Act
+			Optional<List<Long>> result = catalogIndex.findIds(filter, 1L, 2);
+
+			// Assert
+			assertThat(result).contains(List.of(2L, 3L));
+		}
+
+		@Test
+		void testFindIds_ReturnsEmptyListForUnknownType() {
+			// Arrange
+			ProductFilterRequest filter = ProductFilterRequest.builder().type("Hat").build();
+
+			// Act
+			Optional<List<Long>> result = catalogIndex.findIds(filter, null, 10);
+
+			// Assert
+			assertThat(result).contains(List.of());
+		}
+	}
+
+	@Nested
+	class OnProductChangedTests {
+		@Test
+		void testOnProductChanged_ReindexesUpdatedProducts() {
+			// Arrange
+			when(productRepository.findCatalogEntriesByIdIn(anyCollection()))
+					.thenReturn(List.of(entry(3L, 10L, "Jacket", Gender.MEN, Size.M, 90.0, 0)));
+
+			// Act
+			catalogIndex.onProductChanged(new ProductChangedEvent(Set.of(3L), ProductChange.STOCK_CHANGED));
+
+			// Assert
+			assertThat(catalogIndex.findIds(ProductFilterRequest.builder().type("Jacket").maxPrice(100.0).build(), null, 10))
+					.contains(List.of(2L, 3L));
+			assertThat(catalogIndex.findIds(ProductFilterRequest.builder().type("Pants").build(), null, 10))
+					.contains(List.of());
+		}
+
+		@Test
+		void testOnProductChanged_SubtractsUnexpiredHolds() {
+			// Arrange
+			when(productRepository.findCatalogEntriesByIdIn(anyCollection()))
+					.thenReturn(List.of(entry(3L, 20L, "Pants", Gender.MEN, Size.M, 60.0, 3)));
+			when(stockReservationRepository.sumUnexpiredQuantitiesByProductIdIn(eq(Set.of(3L)), any()))
+					.thenReturn(List.of(new Reserved(3L, 3L)));
+
+			// Act
+			catalogIndex.onProductChanged(ProductChangedEvent.of(ProductChange.STOCK_CHANGED, 3L));
+
+			// Assert
+			assertThat(catalogIndex.findIds(ProductFilterRequest.builder().inStock(true).build(), null, 10))
+					.contains(List.of(1L, 4L));
+			assertThat(catalogIndex.findIds(ProductFilterRequest.builder().maxPrice(60.0).build(), null, 10))
+					.contains(List.of(3L));
+		}
+
+		@Test
+		void testOnProductChanged_RemovesDeletedProducts() {
+			// Act
+			catalogIndex.onProductChanged(ProductChangedEvent.of(ProductChange.DELETED, 1L));
+
+			// Assert
+			assertThat(catalogIndex.findIds(ProductFilterRequest.builder().build(), null, 10))
+					.contains(List.of(2L, 3L, 4L));
+			verify(productRepository, never()).findCatalogEntriesByIdIn(anyCollection());
+		}
+	
+		@Test
+		void testRebuild_ReplaysEventsThatArriveWhileLoading() {
+			// Arrange
+			when(productRepository.findAllCatalogEntries()).thenAnswer(invocation -> {
+				catalogIndex.onProductChanged(ProductChangedEvent.of(ProductChange.DELETED, 1L));
+				return List.of(entry(1L, 10L, "Jacket", Gender.MEN, Size.M, 120.0, 5));
+			});
+
+			// Act
+			catalogIndex.rebuild();
+
+			// Assert
+			assertThat(catalogIndex.findIds(ProductFilterRequest.builder().build(), null, 10)).contains(List.of());
+		}
+
+		@Test
+		void testRebuild_ReplaysQueuedEventsWhenRebuildFails() {
+			// Arrange
+			when(productRepository.findAllCatalogEntries()).thenAnswer(invocation -> {
+				catalogIndex.onProductChanged(ProductChangedEvent.of(ProductChange.DELETED, 4L));
+				throw new IllegalStateException("database unavailable");
+			});
+
+			// Act
+			catalogIndex.rebuild();
+
+			// Assert
+			assertThat(catalogIndex.findIds(ProductFilterRequest.builder().build(), null, 10)).contains(List.of(1L, 2L, 3L));
+		}
+	}
+}
@@ -3,7 +3,11 @@ package dev.akorovai.backend.product;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.javafaker.Faker;
 import dev.akorovai.backend.color.response.ColorResponse;
+import dev.akorovai.backend.dictionary.DictionaryService;
+import dev.akorovai.backend.product.request.ProductFilterRequest;
 import dev.akorovai.backend.product.request.ProductRequest;
+import dev.akorovai.backend.product.response.ProductFacetsResponse;
+import dev.akorovai.backend.product.response.ProductPageResponse;
 import dev.akorovai.backend.product.response.ProductResponse;
 import dev.akorovai.backend.product.response.ProductWithSizeAvailabilityResponse;
 
@@ -25,6 +29,7 @@ import java.util.*;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -43,6 +48,9 @@ class ProductControllerTest {
 
 	@Mock
 	private TypeRepository typeRepository;
+
+	@Mock
+	private DictionaryService dictionaryService;
 	private MockMvc mockMvc;
 	private Faker faker;
 	private ObjectMapper objectMapper;
@@ -227,10 +235,10 @@ class ProductControllerTest {
 					                                  .build();
 
 			List<ProductResponse> responses = Collections.singletonList(productResponse);
-			when(productService.getRandomDiscountedProducts()).thenReturn(responses);
+			when(productService.getRandomDiscountedProducts(anyInt())).thenReturn(responses);
 
 			// Act & Assert
-			mockMvc.perform(get("/api/products/discounted"))
+			mockMvc.perform(get("/api/products/discounted").param("limit", "5"))
 					.andExpect(status().isOk()) // Expect 200 OK
 					.andExpect(jsonPath("$.code", is(HttpStatus.OK.value())))
 					.andExpect(jsonPath("$.message", hasSize(1)))
@@ -249,7 +257,7 @@ class ProductControllerTest {
 					.andExpect(jsonPath("$.message[0].discount", is(productResponse.getDiscount())))
 					.andExpect(jsonPath("$.message[0].links", hasSize(productResponse.getLinks().size())));
 
-			verify(productService, times(1)).getRandomDiscountedProducts();
+			verify(productService, times(1)).getRandomDiscountedProducts(5);
 		}
 	}
 
@@ -461,8 +469,13 @@ class ProductControllerTest {
 					                                  .links(Collections.singletonList("https://example.com/image.jpg"))
 					                                  .build();
 
-			List<ProductResponse> responses = Collections.singletonList(productResponse);
-			when(productService.getAllProductsWithFilters(any(), any(), any(), any(), any(), any())).thenReturn(responses);
+			ProductPageResponse page = ProductPageResponse.builder()
+					                           .content(Collections.singletonList(productResponse))
+					                           .nextCursor(1L)
+					                           .build();
+			when(dictionaryService.findGender("MEN")).thenReturn(Optional.of(Gender.MEN));
+			when(dictionaryService.findSize("M")).thenReturn(Optional.of(Size.M));
+			when(productService.getAllProductsWithFilters(any(ProductFilterRequest.class), any(), anyInt())).thenReturn(page);
 
 			// Act & Assert
 			mockMvc.perform(get("/api/products/filter")
@@ -471,28 +484,65 @@ class ProductControllerTest {
 					                .param("color", "Red")
 					                .param("size", "M")
 					                .param("minPrice", "10")
-					                .param("maxPrice", "100"))
+					                .param("maxPrice", "100")
+					                .param("limit", "10"))
 					.andExpect(status().isOk()) // Expect 200 OK
 					.andExpect(jsonPath("$.code", is(HttpStatus.OK.value())))
-					.andExpect(jsonPath("$.message", hasSize(1)))
-					.andExpect(jsonPath("$.message[0].id", is(productResponse.getId().intValue())))
-					.andExpect(jsonPath("$.message[0].name", is(productResponse.getName())))
-					.andExpect(jsonPath("$.message[0].description", is(productResponse.getDescription())))
-					.andExpect(jsonPath("$.message[0].price", is(productResponse.getPrice())))
-					.andExpect(jsonPath("$.message[0].color.id", is(productResponse.getColor().getId().intValue())))
-					.andExpect(jsonPath("$.message[0].color.name", is(productResponse.getColor().getName())))
-					.andExpect(jsonPath("$.message[0].color.code", is(productResponse.getColor().getCode())))
-					.andExpect(jsonPath("$.message[0].type.id", is(productResponse.getType().getId().intValue())))
-					.andExpect(jsonPath("$.message[0].type.name", is(productResponse.getType().getName())))
-					.andExpect(jsonPath("$.message[0].gender", is(productResponse.getGender().getDisplayName()))) // Match displayName
-					.andExpect(jsonPath("$.message[0].size", is(productResponse.getSize().getDisplayName()))) // Match displayName
-					.andExpect(jsonPath("$.message[0].amount", is(productResponse.getAmount())))
-					.andExpect(jsonPath("$.message[0].discount", is(productResponse.getDiscount())))
-					.andExpect(jsonPath("$.message[0].links", hasSize(productResponse.getLinks().size())));
+					.andExpect(jsonPath("$.message.content", hasSize(1)))
+					.andExpect(jsonPath("$.message.nextCursor", is(1)))
+					.andExpect(jsonPath("$.message.content[0].id", is(productResponse.getId().intValue())))
+					.andExpect(jsonPath("$.message.content[0].name", is(productResponse.getName())))
+					.andExpect(jsonPath("$.message.content[0].description", is(productResponse.getDescription())))
+					.andExpect(jsonPath("$.message.content[0].price", is(productResponse.getPrice())))
+					.andExpect(jsonPath("$.message.content[0].color.id", is(productResponse.getColor().getId().intValue())))
+					.andExpect(jsonPath("$.message.content[0].color.name", is(productResponse.getColor().getName())))
+					.andExpect(jsonPath("$.message.content[0].color.code", is(productResponse.getColor().getCode())))
+					.andExpect(jsonPath("$.message.content[0].type.id", is(productResponse.getType().getId().intValue())))
+					.andExpect(jsonPath("$.message.content[0].type.name", is(productResponse.getType().getName())))
+					.andExpect(jsonPath("$.message.content[0].gender", is(productResponse.getGender().getDisplayName()))) // Match displayName
+					.andExpect(jsonPath("$.message.content[0].size", is(productResponse.getSize().getDisplayName()))) // Match displayName
+					.andExpect(jsonPath("$.message.content[0].amount", is(productResponse.getAmount())))
+					.andExpect(jsonPath("$.message.content[0].discount", is(productResponse.getDiscount())))
+					.andExpect(jsonPath("$.message.content[0].links", hasSize(productResponse.getLinks().size())));
+
+			verify(productService, times(1)).getAllProductsWithFilters(
+					argThat(filter -> "Clothing".equals(filter.type())
+							                  && filter.gender() == Gender.MEN
+							                  && "Red".equals(filter.color())
+							                  && filter.size() == Size.M),
+					isNull(), eq(10));
+		}
+	}
+	@Nested
+	class GetFacetCountsTests {
+		@Test
+		void getFacetCounts_ShouldReturnOkResponse() throws Exception {
+			// Arrange
+			ProductFacetsResponse facets = ProductFacetsResponse.builder()
+					                               .types(Map.of("Clothing", 4L))
+					                               .colors(Map.of("Red", 3L, "Blue", 1L))
+					                               .genders(Map.of("MEN", 4L))
+					                               .sizes(Map.of("M", 4L))
+					                               .build();
+			when(dictionaryService.findGender("MEN")).thenReturn(Optional.of(Gender.MEN));
+			when(productService.getFacetCounts(any(ProductFilterRequest.class))).thenReturn(facets);
 
-			verify(productService, times(1)).getAllProductsWithFilters(any(), any(), any(), any(), any(), any());
+			// Act & Assert
+			mockMvc.perform(get("/api/products/filter/facets")
+					                .param("gender", "MEN")
+					                .param("inStock", "true"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.code", is(HttpStatus.OK.value())))
+					.andExpect(jsonPath("$.message.types.Clothing", is(4)))
+					.andExpect(jsonPath("$.message.colors.Red", is(3)))
+					.andExpect(jsonPath("$.message.colors.Blue", is(1)))
+					.andExpect(jsonPath("$.message.sizes.M", is(4)));
+
+			verify(productService, times(1)).getFacetCounts(
+					argThat(filter -> filter.gender() == Gender.MEN && Boolean.TRUE.equals(filter.inStock())));
 		}
 	}
+
 	@Nested
 	class GetProductWithSizeAvailabilityTests {
 		@Test
@@ -0,0 +1,140 @@
+package dev.akorovai.backend.product;
+
+import dev.akorovai.backend.color.response.ColorResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductFamilyProjectionTest {
+
+	@Mock
+	private ProductRepository productRepository;
+
+	@InjectMocks
+	private ProductFamilyProjection familyProjection;
+
+	private static ProductFamilyMember member(long id, String name, long colorId, String colorName, Size size) {
+		return member(id, name, colorId, colorName, size, 5);
+	}
+
+	private static ProductFamilyMember member(long id, String name, long colorId, String colorName, Size size, int amount) {
+		return new ProductFamilyMember(id, name, colorId, colorName, "000000", size, amount);
+	}
+
+	private static Map<String, Set<Size>> sizesByColorName(ProductFamilyProjection.ProductFamily family) {
+		return family.sizesByColor().entrySet().stream()
+				       .collect(Collectors.toMap(e -> e.getKey().getName(), Map.Entry::getValue));
+	}
+
+	@BeforeEach
+	void setUp() {
+		when(productRepository.findAllFamilyMembers()).thenReturn(List.of(
+				member(3L, "T-Shirt", 1L, "Red", Size.L),
+				member(1L, "T-Shirt", 1L, "Red", Size.M),
+				member(2L, "T-Shirt", 2L, "Blue", Size.S),
+				member(4L, "Jeans", 2L, "Blue", Size.M)
+		));
+		familyProjection.rebuild();
+	}
+
+	@Nested
+	class FindFamilyTests {
+		@Test
+		void testFindFamily_GroupsSizesByColor() {
+			// Act
+			ProductFamilyProjection.ProductFamily family = familyProjection.findFamily("T-Shirt").orElseThrow();
+
+			// Assert
+			assertThat(family.representativeId()).isEqualTo(1L);
+			assertThat(family.sizesByColor().keySet()).extracting(ColorResponse::getId).containsExactlyInAnyOrder(1L, 2L);
+			assertThat(sizesByColorName(family)).containsOnly(
+					Map.entry("Red", Set.of(Size.M, Size.L)),
+					Map.entry("Blue", Set.of(Size.S)));
+		}
+
+		@Test
+		void testFindAllFamilies_ReturnsFamiliesSortedByName() {
+			// Act & Assert
+			assertThat(familyProjection.findAllFamilies()).hasValueSatisfying(families ->
+					assertThat(families).extracting(ProductFamilyProjection.ProductFamily::name).containsExactly("Jeans", "T-Shirt"));
+		}
+	}
+
+	@Nested
+	class OnProductChangedTests {
+		@Test
+		void testOnProductChanged_MovesProductBetweenFamilies() {
+			// Arrange
+			when(productRepository.findFamilyMembersByIdIn(anyCollection()))
+					.thenReturn(List.of(member(2L, "Jeans", 2L, "Blue", Size.S)));
+
+			// Act
+			familyProjection.onProductChanged(ProductChangedEvent.of(ProductChange.UPDATED, 2L));
+
+			// Assert
+			assertThat(sizesByColorName(familyProjection.findFamily("T-Shirt").orElseThrow()))
+					.containsOnly(Map.entry("Red", Set.of(Size.M, Size.L)));
+			assertThat(sizesByColorName(familyProjection.findFamily("Jeans").orElseThrow()))
+					.containsOnly(Map.entry("Blue", Set.of(Size.S, Size.M)));
+		}
+
+		@Test
+		void testOnProductChanged_RemovesEmptyFamily() {
+			// Act
+			familyProjection.onProductChanged(ProductChangedEvent.of(ProductChange.DELETED, 4L));
+
+			// Assert
+			assertThat(familyProjection.findFamily("Jeans")).isEmpty();
+			verify(productRepository, never()).findFamilyMembersByIdIn(anyCollection());
+		}
+
+		@Test
+		void testOnProductChanged_StockChangePatchesOnlyAvailability() {
+			// Arrange
+			when(productRepository.findFamilyMembersByIdIn(anyCollection()))
+					.thenReturn(List.of(member(3L, "Renamed", 9L, "Green", Size.XL, 0)));
+
+			// Act
+			familyProjection.onProductChanged(ProductChangedEvent.of(ProductChange.STOCK_CHANGED, 3L));
+
+			// Assert
+			assertThat(familyProjection.findFamily("Renamed")).isEmpty();
+			assertThat(sizesByColorName(familyProjection.findFamily("T-Shirt").orElseThrow())).containsOnly(
+					Map.entry("Red", Set.of(Size.M)),
+					Map.entry("Blue", Set.of(Size.S)));
+		}
+
+		@Test
+		void testOnProductChanged_RestockedSizeBecomesAvailableAgain() {
+			// Arrange
+			when(productRepository.findFamilyMembersByIdIn(anyCollection()))
+					.thenReturn(List.of(member(4L, "Jeans", 2L, "Blue", Size.M, 0)),
+							List.of(member(4L, "Jeans", 2L, "Blue", Size.M, 3)));
+			familyProjection.onProductChanged(ProductChangedEvent.of(ProductChange.STOCK_CHANGED, 4L));
+
+			// Act
+			ProductFamilyProjection.ProductFamily soldOut = familyProjection.findFamily("Jeans").orElseThrow();
+			familyProjection.onProductChanged(ProductChangedEvent.of(ProductChange.STOCK_CHANGED, 4L));
+
+			// Assert
+			assertThat(soldOut.representativeId()).isEqualTo(4L);
+			assertThat(soldOut.sizesByColor()).isEmpty();
+			assertThat(sizesByColorName(familyProjection.findFamily("Jeans").orElseThrow()))
+					.containsOnly(Map.entry("Blue", Set.of(Size.M)));
+		}
+	}
+}
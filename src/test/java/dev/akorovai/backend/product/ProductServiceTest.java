@@ -2,25 +2,31 @@ package dev.akorovai.backend.product;
 
 import com.github.javafaker.Faker;
 import dev.akorovai.backend.color.Color;
-import dev.akorovai.backend.color.ColorMapper;
 import dev.akorovai.backend.color.response.ColorResponse;
+import dev.akorovai.backend.dictionary.DictionaryService;
 import dev.akorovai.backend.handler.product.ProductNotFoundException;
 import dev.akorovai.backend.product.mapper.ProductMapper;
+import dev.akorovai.backend.product.request.ProductFilterRequest;
 import dev.akorovai.backend.product.request.ProductRequest;
+import dev.akorovai.backend.product.response.ProductFacetsResponse;
+import dev.akorovai.backend.product.response.ProductPageResponse;
 import dev.akorovai.backend.product.response.ProductResponse;
 import dev.akorovai.backend.product.response.ProductWithSizeAvailabilityResponse;
 import dev.akorovai.backend.type.Type;
-import dev.akorovai.backend.type.TypeMapper;
-import dev.akorovai.backend.type.TypeRepository;
 import dev.akorovai.backend.type.response.TypeResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -28,6 +34,8 @@ import java.util.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,17 +47,29 @@ public class ProductServiceTest {
 	@Mock
 	private ProductMapper productMapper;
 
+	@InjectMocks
+	private ProductService productService;
+
 	@Mock
-	private ColorMapper colorMapper;
+	private DictionaryService dictionaryService;
 
 	@Mock
-	private TypeMapper typeMapper;
+	private ProductCatalogIndex catalogIndex;
 
-	@InjectMocks
-	private ProductService productService;
+	@Mock
+	private ProductSimilarityEngine similarityEngine;
 
 	@Mock
-	private TypeRepository typeRepository;
+	private ProductFamilyProjection familyProjection;
+
+	@Mock
+	private DiscountedProductPool discountedPool;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Spy
+	private ProductCache productCache = new ProductCache(new ConcurrentMapCacheManager());
 
 	private Faker faker;
 
@@ -196,26 +216,205 @@ public class ProductServiceTest {
 		}
 	}
 
+	@Nested
+	class ProductCacheTests {
+		@Test
+		void testGetProductById_ServedFromCacheOnSecondCall() {
+			// Arrange
+			Product product = createProduct();
+			ProductRow row = createProductRow(product);
+			ProductResponse response = createProductResponse();
+
+			when(productRepository.findRowsByIdIn(List.of(product.getId()))).thenReturn(List.of(row));
+			when(productMapper.toProductResponse(row)).thenReturn(response);
+
+			// Act
+			ProductResponse first = productService.getProductById(product.getId());
+			ProductResponse second = productService.getProductById(product.getId());
+
+			// Assert
+			assertThat(first).isSameAs(response);
+			assertThat(second).isSameAs(response);
+			verify(productRepository, times(1)).findRowsByIdIn(any());
+		}
+
+		@Test
+		void testGetProductById_AttachesLinksFromSecondQueryInOrder() {
+			// Arrange
+			Product product = createProduct();
+			ProductRow row = new ProductRow(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+					product.getColor().getId(), product.getColor().getName(), product.getColor().getCode(),
+					product.getType().getId(), product.getType().getName(), product.getGender(), product.getAmount(),
+					product.getDiscount(), product.getSize());
+			List<String> links = List.of("https://cdn.example.com/front view.png", "https://cdn.example.com/back.png");
+
+			when(productRepository.findRowsByIdIn(List.of(product.getId()))).thenReturn(List.of(row));
+			when(productRepository.findLinksByProductIdIn(List.of(product.getId()))).thenReturn(List.of(
+					new ProductLink(product.getId(), links.get(0)), new ProductLink(product.getId(), links.get(1))));
+			when(productMapper.toProductResponse(any(ProductRow.class))).thenReturn(createProductResponse());
+
+			// Act
+			productService.getProductById(product.getId());
+
+			// Assert
+			ArgumentCaptor<ProductRow> rowCaptor = ArgumentCaptor.forClass(ProductRow.class);
+			verify(productMapper).toProductResponse(rowCaptor.capture());
+			assertThat(rowCaptor.getValue().links()).containsExactlyElementsOf(links);
+		}
+
+		@Test
+		void testGetProductById_NotFound() {
+			// Arrange
+			long productId = faker.number().randomNumber();
+			when(productRepository.findRowsByIdIn(List.of(productId))).thenReturn(List.of());
+
+			// Act & Assert
+			assertThatThrownBy(() -> productService.getProductById(productId))
+					.isInstanceOf(ProductNotFoundException.class)
+					.hasMessage("Product not found with ID: " + productId);
+		}
+
+		@Test
+		void testOnProductChanged_StockChangeEvictsOnlyProductResponse() {
+			// Arrange
+			Product product = createProduct();
+			ProductRow row = createProductRow(product);
+			ProductResponse response = createProductResponse();
+
+			when(catalogIndex.findIds(any(ProductFilterRequest.class), isNull(), eq(Integer.MAX_VALUE)))
+					.thenReturn(Optional.of(List.of(product.getId())));
+			when(productRepository.findRowsByIdIn(List.of(product.getId()))).thenReturn(List.of(row));
+			when(productMapper.toProductResponse(row)).thenReturn(response);
+			productService.getProductsByGender(Gender.MEN);
+
+			// Act
+			productService.onProductChanged(ProductChangedEvent.of(ProductChange.STOCK_CHANGED, product.getId()));
+			productService.getProductsByGender(Gender.MEN);
+
+			// Assert
+			verify(catalogIndex, times(1)).findIds(any(ProductFilterRequest.class), isNull(), eq(Integer.MAX_VALUE));
+			verify(productRepository, times(2)).findRowsByIdIn(List.of(product.getId()));
+		}
+
+		@Test
+		void testOnProductChanged_UpdateEvictsPreviousAndCurrentLists() {
+			// Arrange
+			Product product = createProduct();
+			ProductRow row = createProductRow(product);
+			ProductResponse response = createProductResponse();
+			ProductRow movedRow = new ProductRow(row.id(), row.name(), row.description(), row.price(), row.colorId(),
+					row.colorName(), row.colorCode(), row.typeId(), row.typeName(), Gender.WOMEN, row.amount(),
+					row.discount(), row.size(), row.links());
+
+			when(catalogIndex.findIds(any(ProductFilterRequest.class), isNull(), eq(Integer.MAX_VALUE)))
+					.thenReturn(Optional.of(List.of(product.getId())));
+			when(productRepository.findRowsByIdIn(List.of(product.getId()))).thenReturn(List.of(row));
+			when(productMapper.toProductResponse(row)).thenReturn(response);
+			productService.getProductsByGender(Gender.MEN);
+			productService.getProductsByGender(Gender.WOMEN);
+			when(productRepository.findRowsByIdIn(Set.of(product.getId()))).thenReturn(List.of(movedRow));
+
+			// Act
+			productService.onProductChanged(ProductChangedEvent.of(ProductChange.UPDATED, product.getId()));
+
+			// Assert
+			assertThat(productCache.findResponse(product.getId())).isEmpty();
+			verify(productCache).evictGender(Gender.MEN);
+			verify(productCache).evictGender(Gender.WOMEN);
+			verify(productCache, never()).clearLists();
+		}
+
+		@Test
+		void testGetFacetCounts_StockChangeKeepsUnfilteredFacets() {
+			// Arrange
+			ProductFilterRequest filter = ProductFilterRequest.builder().gender(Gender.MEN).build();
+			when(productRepository.countFacets(null, null, "MEN", null, null, null, null))
+					.thenReturn(List.of(createFacetCount("type", "Jackets", 3L)));
+			productService.getFacetCounts(filter);
+
+			// Act
+			productService.onProductChanged(ProductChangedEvent.of(ProductChange.STOCK_CHANGED, 1L));
+			ProductFacetsResponse result = productService.getFacetCounts(filter);
+
+			// Assert
+			assertThat(result.getTypes()).containsExactly(Map.entry("Jackets", 3L));
+			verify(productRepository, times(1)).countFacets(null, null, "MEN", null, null, null, null);
+		}
+
+		@Test
+		void testGetFacetCounts_StockChangeEvictsInStockFacets() {
+			// Arrange
+			ProductFilterRequest filter = ProductFilterRequest.builder().inStock(true).build();
+			when(productRepository.countFacets(null, null, null, null, null, null, true))
+					.thenReturn(List.of(createFacetCount("type", "Jackets", 3L)));
+			productService.getFacetCounts(filter);
+
+			// Act
+			productService.onProductChanged(ProductChangedEvent.of(ProductChange.STOCK_CHANGED, 1L));
+			productService.getFacetCounts(filter);
+
+			// Assert
+			verify(productRepository, times(2)).countFacets(null, null, null, null, null, null, true);
+		}
+
+		@Test
+		void testGetFacetCounts_UpdateEvictsFacets() {
+			// Arrange
+			ProductFilterRequest filter = ProductFilterRequest.builder().build();
+			when(productRepository.countFacets(null, null, null, null, null, null, null))
+					.thenReturn(List.of(createFacetCount("type", "Jackets", 3L)));
+			productService.getFacetCounts(filter);
+
+			// Act
+			productService.onProductChanged(ProductChangedEvent.of(ProductChange.UPDATED, 1L));
+			productService.getFacetCounts(filter);
+
+			// Assert
+			verify(productRepository, times(2)).countFacets(null, null, null, null, null, null, null);
+		}
+	}
+
 	@Nested
 	class ProductRetrievalTests {
 		@Test
 		void testGetRandomDiscountedProducts() {
 			// Arrange
-			List<Product> discountedProducts = Arrays.asList(createProduct(), createProduct());
+			ProductRow row1 = createProductRow(createProduct());
+			ProductRow row2 = createProductRow(createProduct());
 			List<ProductResponse> productResponses = Arrays.asList(createProductResponse(), createProductResponse());
+			List<Long> sampledIds = List.of(row2.id(), row1.id());
 
-			when(productRepository.findByDiscountGreaterThan(0)).thenReturn(discountedProducts);
-			when(productMapper.toProductResponse(any(Product.class)))
-					.thenReturn(productResponses.get(0), productResponses.get(1));
+			when(discountedPool.sample(2)).thenReturn(Optional.of(sampledIds));
+			when(productRepository.findRowsByIdIn(sampledIds)).thenReturn(Arrays.asList(row1, row2));
+			when(productMapper.toProductResponse(row2)).thenReturn(productResponses.get(0));
+			when(productMapper.toProductResponse(row1)).thenReturn(productResponses.get(1));
 
 			// Act
-			List<ProductResponse> result = productService.getRandomDiscountedProducts();
+			List<ProductResponse> result = productService.getRandomDiscountedProducts(2);
 
 			// Assert
-			assertThat(result).hasSize(2);
-			assertThat(result).containsExactlyInAnyOrderElementsOf(productResponses);
-			verify(productRepository).findByDiscountGreaterThan(0);
-			verify(productMapper, times(2)).toProductResponse(any(Product.class));
+			assertThat(result).containsExactlyElementsOf(productResponses);
+			verify(productRepository, never()).findRandomDiscountedIds(anyInt());
+			verify(productRepository, never()).findByDiscountGreaterThan(anyInt());
+		}
+
+		@Test
+		void testGetRandomDiscountedProducts_SamplesInDatabaseWhenPoolIsNotLoaded() {
+			// Arrange
+			ProductRow row = createProductRow(createProduct());
+			ProductResponse productResponse = createProductResponse();
+
+			when(discountedPool.sample(100)).thenReturn(Optional.empty());
+			when(productRepository.findRandomDiscountedIds(100)).thenReturn(List.of(row.id()));
+			when(productRepository.findRowsByIdIn(List.of(row.id()))).thenReturn(List.of(row));
+			when(productMapper.toProductResponse(row)).thenReturn(productResponse);
+
+			// Act
+			List<ProductResponse> result = productService.getRandomDiscountedProducts(500);
+
+			// Assert
+			assertThat(result).containsExactly(productResponse);
+			verify(productRepository).findRandomDiscountedIds(100);
 		}
 
 		@Test
@@ -224,12 +423,15 @@ public class ProductServiceTest {
 			long productId = faker.number().randomNumber();
 			Product product = createProduct();
 			List<Product> similarProducts = Arrays.asList(createProduct(), createProduct());
+			List<Long> similarIds = similarProducts.stream().map(Product::getId).toList();
 			List<ProductResponse> productResponses = Arrays.asList(createProductResponse(), createProductResponse());
 
 			when(productRepository.findById(productId)).thenReturn(Optional.of(product));
 			when(productRepository.findByTypeAndGenderAndColor(any(Type.class), any(Gender.class), any(Color.class)))
 					.thenReturn(similarProducts);
-			when(productMapper.toProductResponse(any(Product.class)))
+			when(productRepository.findRowsByIdIn(similarIds))
+					.thenReturn(similarProducts.stream().map(ProductServiceTest.this::createProductRow).toList());
+			when(productMapper.toProductResponse(any(ProductRow.class)))
 					.thenReturn(productResponses.get(0), productResponses.get(1));
 
 			// Act
@@ -240,7 +442,35 @@ public class ProductServiceTest {
 			assertThat(result).containsExactlyInAnyOrderElementsOf(productResponses);
 			verify(productRepository).findById(productId);
 			verify(productRepository).findByTypeAndGenderAndColor(any(Type.class), any(Gender.class), any(Color.class));
-			verify(productMapper, times(2)).toProductResponse(any(Product.class));
+			verify(productMapper, times(2)).toProductResponse(any(ProductRow.class));
+			verify(productMapper, never()).toProductResponse(any(Product.class));
+		}
+
+		@Test
+		void testGetSimilarProducts_UsesPrecomputedNeighbors() {
+			// Arrange
+			long productId = faker.number().randomNumber();
+			Product neighbor1 = createProduct();
+			neighbor1.setId(11L);
+			Product neighbor2 = createProduct();
+			neighbor2.setId(12L);
+			ProductRow row1 = createProductRow(neighbor1);
+			ProductRow row2 = createProductRow(neighbor2);
+			ProductResponse response1 = createProductResponse();
+			ProductResponse response2 = createProductResponse();
+
+			when(similarityEngine.findSimilar(productId)).thenReturn(Optional.of(List.of(12L, 11L)));
+			when(productRepository.findRowsByIdIn(List.of(12L, 11L))).thenReturn(List.of(row1, row2));
+			when(productMapper.toProductResponse(row1)).thenReturn(response1);
+			when(productMapper.toProductResponse(row2)).thenReturn(response2);
+
+			// Act
+			List<ProductResponse> result = productService.getSimilarProducts(productId);
+
+			// Assert
+			assertThat(result).containsExactly(response2, response1);
+			verify(productRepository, never()).findById(anyLong());
+			verify(productRepository, never()).findByAnyOneAttribute(any(), any(), any());
 		}
 
 		@Test
@@ -253,17 +483,19 @@ public class ProductServiceTest {
 					            .name(typeName)
 					            .build();
 
-			List<Product> products = Arrays.asList(createProduct(), createProduct());
+			List<ProductRow> rows = Arrays.asList(createProductRow(createProduct()), createProductRow(createProduct()));
+			List<Long> ids = rows.stream().map(ProductRow::id).toList();
 			List<ProductResponse> productResponses = Arrays.asList(createProductResponse(), createProductResponse());
 
 
-			when(typeRepository.findByName(typeName)).thenReturn(Optional.of(type));
+			when(dictionaryService.findType(typeName)).thenReturn(Optional.of(type));
 
-			// Mock the productRepository to return the list of products
-			when(productRepository.findByType(type)).thenReturn(products);
+			// Mock the productRepository to return the ids and projected rows
+			when(productRepository.findIdsByType(type)).thenReturn(ids);
+			when(productRepository.findRowsByIdIn(ids)).thenReturn(rows);
 
-			// Mock the productMapper to convert Product to ProductResponse
-			when(productMapper.toProductResponse(any(Product.class)))
+			// Mock the productMapper to convert ProductRow to ProductResponse
+			when(productMapper.toProductResponse(any(ProductRow.class)))
 					.thenReturn(productResponses.get(0), productResponses.get(1));
 
 			// Act
@@ -274,20 +506,22 @@ public class ProductServiceTest {
 			assertThat(result).containsExactlyInAnyOrderElementsOf(productResponses); // Verify the contents of the result list
 
 			// Verify interactions
-			verify(typeRepository).findByName(typeName); // Verify typeRepository was called
-			verify(productRepository).findByType(type); // Verify productRepository was called
-			verify(productMapper, times(2)).toProductResponse(any(Product.class)); // Verify productMapper was called twice
+			verify(dictionaryService).findType(typeName); // Verify the type was resolved from the dictionary
+			verify(productRepository).findIdsByType(type); // Verify productRepository was called
+			verify(productMapper, times(2)).toProductResponse(any(ProductRow.class)); // Verify productMapper was called twice
 		}
 
 		@Test
 		void testGetProductsByGender() {
 			// Arrange
 			Gender gender = Gender.MEN;
-			List<Product> products = Arrays.asList(createProduct(), createProduct());
+			List<ProductRow> rows = Arrays.asList(createProductRow(createProduct()), createProductRow(createProduct()));
+			List<Long> ids = rows.stream().map(ProductRow::id).toList();
 			List<ProductResponse> productResponses = Arrays.asList(createProductResponse(), createProductResponse());
 
-			when(productRepository.findByGender(gender)).thenReturn(products);
-			when(productMapper.toProductResponse(any(Product.class)))
+			when(productRepository.findIdsByGender(gender)).thenReturn(ids);
+			when(productRepository.findRowsByIdIn(ids)).thenReturn(rows);
+			when(productMapper.toProductResponse(any(ProductRow.class)))
 					.thenReturn(productResponses.get(0), productResponses.get(1));
 
 			// Act
@@ -296,8 +530,8 @@ public class ProductServiceTest {
 			// Assert
 			assertThat(result).hasSize(2);
 			assertThat(result).containsExactlyInAnyOrderElementsOf(productResponses);
-			verify(productRepository).findByGender(gender);
-			verify(productMapper, times(2)).toProductResponse(any(Product.class));
+			verify(productRepository).findIdsByGender(gender);
+			verify(productMapper, times(2)).toProductResponse(any(ProductRow.class));
 		}
 
 		@Test
@@ -307,11 +541,13 @@ public class ProductServiceTest {
 			LocalDateTime now = fixedCutoffDate.plusDays(1);
 			LocalDateTime cutoffDate = now.minusDays(30);
 
-			List<Product> newProducts = Arrays.asList(createProduct(), createProduct());
+			List<ProductRow> newProducts = Arrays.asList(createProductRow(createProduct()), createProductRow(createProduct()));
+			List<Long> ids = newProducts.stream().map(ProductRow::id).toList();
 			List<ProductResponse> productResponses = Arrays.asList(createProductResponse(), createProductResponse());
 
-			when(productRepository.findByCreatedDateAfter(cutoffDate)).thenReturn(newProducts);
-			when(productMapper.toProductResponse(any(Product.class)))
+			when(productRepository.findIdsByCreatedDateAfter(cutoffDate)).thenReturn(ids);
+			when(productRepository.findRowsByIdIn(ids)).thenReturn(newProducts);
+			when(productMapper.toProductResponse(any(ProductRow.class)))
 					.thenReturn(productResponses.get(0), productResponses.get(1));
 
 			try (MockedStatic<LocalDateTime> mockedLocalDateTime = mockStatic(LocalDateTime.class)) {
@@ -323,83 +559,226 @@ public class ProductServiceTest {
 				// Assert
 				assertThat(result).hasSize(2);
 				assertThat(result).containsExactlyInAnyOrderElementsOf(productResponses);
-				verify(productRepository).findByCreatedDateAfter(cutoffDate);
-				verify(productMapper, times(2)).toProductResponse(any(Product.class));
+				verify(productRepository).findIdsByCreatedDateAfter(cutoffDate);
+				verify(productMapper, times(2)).toProductResponse(any(ProductRow.class));
 			}
 		}
 
 		@Test
 		void testGetAllProductsWithFilters() {
 			// Arrange
-			TypeResponse typeResponse = TypeResponse.builder().name(faker.commerce().department()).build();
-			Gender gender = Gender.MEN;
-			ColorResponse colorResponse = ColorResponse.builder().name(faker.color().name()).build();
-			Size size = Size.M;
-			Double minPrice = 10.0;
-			Double maxPrice = 100.0;
-
-			Type type = Type.builder().name(typeResponse.getName()).build();
-			Color color = Color.builder().name(colorResponse.getName()).build();
+			ProductFilterRequest filter = ProductFilterRequest.builder()
+					                              .type(faker.commerce().department())
+					                              .gender(Gender.MEN)
+					                              .color(faker.color().name())
+					                              .size(Size.M)
+					                              .minPrice(10.0)
+					                              .maxPrice(100.0)
+					                              .build();
 
 			Product product1 = createProduct();
-			product1.setType(type);
-			product1.setGender(gender);
-			product1.setColor(color);
-			product1.setSize(size);
-			product1.setPrice(50.0);
-
+			product1.setId(1L);
 			Product product2 = createProduct();
-			product2.setType(type);
-			product2.setGender(gender);
-			product2.setColor(color);
-			product2.setSize(size);
-			product2.setPrice(75.0);
+			product2.setId(2L);
 
-			List<Product> products = Arrays.asList(product1, product2);
 			List<ProductResponse> productResponses = Arrays.asList(createProductResponse(), createProductResponse());
 
-			when(typeMapper.toType(typeResponse)).thenReturn(type);
-			when(colorMapper.toColor(colorResponse)).thenReturn(color);
-			when(productRepository.findAll()).thenReturn(products);
-			when(productMapper.toProductResponse(any(Product.class)))
+			when(dictionaryService.findTypeId(filter.type())).thenReturn(Optional.of(1L));
+			when(dictionaryService.findColorId(filter.color())).thenReturn(Optional.of(2L));
+			when(productRepository.findBy(any(Specification.class), any())).thenReturn(Arrays.asList(product1, product2));
+			when(productRepository.findRowsByIdIn(List.of(1L, 2L)))
+					.thenReturn(List.of(createProductRow(product1), createProductRow(product2)));
+			when(productMapper.toProductResponse(any(ProductRow.class)))
 					.thenReturn(productResponses.get(0), productResponses.get(1));
 
 			// Act
-			List<ProductResponse> result = productService.getAllProductsWithFilters(typeResponse, gender, colorResponse, size, minPrice, maxPrice);
+			ProductPageResponse result = productService.getAllProductsWithFilters(filter, null, 20);
 
 			// Assert
-			assertThat(result).hasSize(2);
-			assertThat(result).containsExactlyInAnyOrderElementsOf(productResponses);
-			verify(typeMapper).toType(typeResponse);
-			verify(colorMapper).toColor(colorResponse);
-			verify(productRepository).findAll();
-			verify(productMapper, times(2)).toProductResponse(any(Product.class));
+			assertThat(result.getContent()).containsExactlyElementsOf(productResponses);
+			assertThat(result.getNextCursor()).isNull();
+			verify(productRepository).findBy(any(Specification.class), any());
+			verify(productMapper, times(2)).toProductResponse(any(ProductRow.class));
+		}
+
+		@Test
+		void testGetAllProductsWithFilters_ReturnsNextCursorWhenMoreRowsExist() {
+			// Arrange
+			ProductFilterRequest filter = ProductFilterRequest.builder().gender(Gender.MEN).build();
+
+			Product product1 = createProduct();
+			product1.setId(5L);
+			Product product2 = createProduct();
+			product2.setId(7L);
+			Product product3 = createProduct();
+			product3.setId(9L);
+			ProductRow row1 = createProductRow(product1);
+			ProductRow row2 = createProductRow(product2);
+
+			when(productRepository.findBy(any(Specification.class), any()))
+					.thenReturn(Arrays.asList(product1, product2, product3));
+			when(productRepository.findRowsByIdIn(List.of(5L, 7L))).thenReturn(List.of(row1, row2));
+			when(productMapper.toProductResponse(any(ProductRow.class))).thenReturn(createProductResponse());
+
+			// Act
+			ProductPageResponse result = productService.getAllProductsWithFilters(filter, 3L, 2);
+
+			// Assert
+			assertThat(result.getContent()).hasSize(2);
+			assertThat(result.getNextCursor()).isEqualTo(7L);
+			verify(productMapper).toProductResponse(row1);
+			verify(productMapper).toProductResponse(row2);
+		}
+
+		@Test
+		void testGetAllProductsWithFilters_UnknownTypeSkipsDatabase() {
+			// Arrange
+			ProductFilterRequest filter = ProductFilterRequest.builder().type("Unknown").build();
+			when(dictionaryService.findTypeId("Unknown")).thenReturn(Optional.empty());
+
+			// Act
+			ProductPageResponse result = productService.getAllProductsWithFilters(filter, null, 20);
+
+			// Assert
+			assertThat(result.getContent()).isEmpty();
+			assertThat(result.getNextCursor()).isNull();
+			verify(productRepository, never()).findBy(any(Specification.class), any());
+		}
+
+		@Test
+		void testGetAllProductsWithFilters_UsesCatalogIndexWhenReady() {
+			// Arrange
+			ProductFilterRequest filter = ProductFilterRequest.builder().inStock(true).build();
+			ProductRow row = createProductRow(createProduct());
+			ProductResponse productResponse = createProductResponse();
+
+			when(catalogIndex.findIds(filter, null, 21)).thenReturn(Optional.of(List.of(row.id())));
+			when(productRepository.findRowsByIdIn(List.of(row.id()))).thenReturn(List.of(row));
+			when(productMapper.toProductResponse(row)).thenReturn(productResponse);
+
+			// Act
+			ProductPageResponse result = productService.getAllProductsWithFilters(filter, null, 20);
+
+			// Assert
+			assertThat(result.getContent()).containsExactly(productResponse);
+			assertThat(result.getNextCursor()).isNull();
+			verify(productRepository, never()).findBy(any(Specification.class), any());
+		}
+
+		@Test
+		void testGetFacetCounts() {
+			// Arrange
+			ProductFilterRequest filter = ProductFilterRequest.builder().gender(Gender.MEN).inStock(true).build();
+
+			when(productRepository.countFacets(null, null, "MEN", null, null, null, true)).thenReturn(Arrays.asList(
+					createFacetCount("type", "Jackets", 3L),
+					createFacetCount("type", "Pants", 2L),
+					createFacetCount("color", "Black", 5L),
+					createFacetCount("gender", "MEN", 5L),
+					createFacetCount("size", "M", 4L),
+					createFacetCount("size", "L", 1L)
+			));
+
+			// Act
+			ProductFacetsResponse result = productService.getFacetCounts(filter);
+
+			// Assert
+			assertThat(result.getTypes()).containsExactly(Map.entry("Jackets", 3L), Map.entry("Pants", 2L));
+			assertThat(result.getColors()).containsExactly(Map.entry("Black", 5L));
+			assertThat(result.getGenders()).containsExactly(Map.entry("MEN", 5L));
+			assertThat(result.getSizes()).containsOnly(Map.entry("M", 4L), Map.entry("L", 1L));
+			verify(productRepository).countFacets(null, null, "MEN", null, null, null, true);
 		}
 
 		@Test
 		void testGetProductWithSizeAvailability() {
 			// Arrange
-			long productId = faker.number().randomNumber();
-			Product product = createProduct();
-			List<Product> productsWithSameName = Arrays.asList(createProduct(), createProduct());
+			ColorResponse red = new ColorResponse(1L, "Red", "123456");
+			Map<ColorResponse, Set<Size>> sizes = Map.of(red, Set.of(Size.M, Size.L));
+			ProductRow row = new ProductRow(2L, "T-Shirt", "Cotton tee", 19.99, 1L, "Red", "123456",
+					2L, "Shirts", Gender.MEN, 5, 0, Size.L);
 			ProductWithSizeAvailabilityResponse response = createProductWithSizeAvailabilityResponse();
 
-			when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-			when(productRepository.findByName(product.getName())).thenReturn(productsWithSameName);
-			when(productMapper.toProductWithSizeAvailabilityResponse(product)).thenReturn(response);
+			when(productRepository.findRowsByIdIn(List.of(2L))).thenReturn(List.of(row));
+			when(familyProjection.findFamily("T-Shirt"))
+					.thenReturn(Optional.of(new ProductFamilyProjection.ProductFamily("T-Shirt", 1L, sizes)));
+			when(productMapper.toProductWithSizeAvailabilityResponse(row)).thenReturn(response);
 
 			// Act
-			ProductWithSizeAvailabilityResponse result = productService.getProductWithSizeAvailability(productId);
+			ProductWithSizeAvailabilityResponse result = productService.getProductWithSizeAvailability(2L);
 
 			// Assert
 			assertThat(result).isEqualTo(response);
-			verify(productRepository).findById(productId);
-			verify(productRepository).findByName(product.getName());
-			verify(productMapper).toProductWithSizeAvailabilityResponse(product);
+			assertThat(result.getSizeAvailabilityByColor()).isEqualTo(sizes);
+			verify(productRepository, never()).findById(anyLong());
+			verify(productRepository, never()).findFamilyMembersByName(any());
+		}
+
+		@Test
+		void testGetProductWithSizeAvailability_ProjectionNotReady_LoadsFamilyMembers() {
+			// Arrange
+			ProductRow row = new ProductRow(2L, "T-Shirt", "Cotton tee", 19.99, 1L, "Red", "123456",
+					2L, "Shirts", Gender.MEN, 5, 0, Size.L);
+			ProductWithSizeAvailabilityResponse response = createProductWithSizeAvailabilityResponse();
+
+			when(productRepository.findRowsByIdIn(List.of(2L))).thenReturn(List.of(row));
+			when(familyProjection.findFamily("T-Shirt")).thenReturn(Optional.empty());
+			when(productRepository.findFamilyMembersByName("T-Shirt")).thenReturn(List.of(
+					new ProductFamilyMember(1L, "T-Shirt", 1L, "Red", "123456", Size.M, 3),
+					new ProductFamilyMember(2L, "T-Shirt", 1L, "Red", "123456", Size.L, 5),
+					new ProductFamilyMember(3L, "T-Shirt", 4L, "Blue", "0000FF", Size.S, 0)));
+			when(productMapper.toProductWithSizeAvailabilityResponse(row)).thenReturn(response);
+
+			// Act
+			ProductWithSizeAvailabilityResponse result = productService.getProductWithSizeAvailability(2L);
+
+			// Assert
+			assertThat(result.getSizeAvailabilityByColor()).hasSize(1).allSatisfy((color, sizes) -> {
+				assertThat(color.getName()).isEqualTo("Red");
+				assertThat(sizes).containsExactlyInAnyOrder(Size.M, Size.L);
+			});
+			verify(productRepository, never()).findById(anyLong());
+		}
+
+		@Test
+		void testGetProductWithSizeAvailability_NotFound() {
+			// Arrange
+			when(productRepository.findRowsByIdIn(List.of(2L))).thenReturn(List.of());
+
+			// Act & Assert
+			assertThatThrownBy(() -> productService.getProductWithSizeAvailability(2L))
+					.isInstanceOf(ProductNotFoundException.class)
+					.hasMessage("Product not found with ID: 2");
 		}
 	}
 
 	// Helper methods for creating test data
+	private ProductRow createProductRow(Product product) {
+		return new ProductRow(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+				product.getColor().getId(), product.getColor().getName(), product.getColor().getCode(),
+				product.getType().getId(), product.getType().getName(), product.getGender(), product.getAmount(),
+				product.getDiscount(), product.getSize(), product.getLinks());
+	}
+
+	private FacetCount createFacetCount(String facet, String value, Long count) {
+		return new FacetCount() {
+			@Override
+			public String getFacet() {
+				return facet;
+			}
+
+			@Override
+			public String getValue() {
+				return value;
+			}
+
+			@Override
+			public Long getCount() {
+				return count;
+			}
+		};
+	}
+
 	private ProductRequest createProductRequest() {
 		return ProductRequest.builder()
 				       .id(faker.number().randomNumber())
@@ -464,6 +843,29 @@ public class ProductServiceTest {
 				       .sizeAvailabilityByColor(new HashMap<>())
 				       .build();
 	}
+	@Test
+	void getProductsWithSizeAvailability_ShouldReadFamiliesFromProjection() {
+		// Arrange
+		ColorResponse red = new ColorResponse(1L, "Red", "123456");
+		Map<ColorResponse, Set<Size>> sizes = Map.of(red, Set.of(Size.M, Size.L));
+		ProductRow representative = new ProductRow(1L, "T-Shirt", "Cotton tee", 19.99, 1L, "Red", "123456",
+				2L, "Shirts", Gender.MEN, 5, 0, Size.M);
+		ProductWithSizeAvailabilityResponse response = ProductWithSizeAvailabilityResponse.builder().id(1L).name("T-Shirt").build();
+
+		when(familyProjection.findAllFamilies())
+				.thenReturn(Optional.of(List.of(new ProductFamilyProjection.ProductFamily("T-Shirt", 1L, sizes))));
+		when(productRepository.findRowsByIdIn(List.of(1L))).thenReturn(List.of(representative));
+		when(productMapper.toProductWithSizeAvailabilityResponse(representative)).thenReturn(response);
+
+		// Act
+		List<ProductWithSizeAvailabilityResponse> result = productService.getProductsWithSizeAvailability();
+
+		// Assert
+		assertThat(result).containsExactly(response);
+		assertThat(response.getSizeAvailabilityByColor()).isEqualTo(sizes);
+		verify(productRepository, never()).findAll();
+	}
+
 	@Test
 	void getProductsWithSizeAvailability_ShouldReturnListOfProductsWithSizeAvailability() {
 		// Arrange
@@ -0,0 +1,161 @@
+package dev.akorovai.backend.product;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSimilarityEngineTest {
+
+	@Mock
+	private ProductRepository productRepository;
+
+	@InjectMocks
+	private ProductSimilarityEngine similarityEngine;
+
+	private static CatalogEntry entry(long id, long typeId, long colorId, Gender gender, double price, int amount) {
+		return new CatalogEntry(id, "Product " + id, typeId, "Type " + typeId, colorId, "Color " + colorId,
+				gender, Size.M, price, amount, 0);
+	}
+
+	@Nested
+	class FindSimilarTests {
+		@Test
+		void testFindSimilar_RanksByOverlapPriceAndStock() {
+			// Arrange
+			when(productRepository.findAllCatalogEntries()).thenReturn(List.of(
+					entry(1L, 1L, 1L, Gender.MEN, 100.0, 5),
+					entry(2L, 1L, 1L, Gender.MEN, 100.0, 0),
+					entry(3L, 1L, 1L, Gender.MEN, 100.0, 4),
+					entry(4L, 1L, 2L, Gender.MEN, 100.0, 4),
+					entry(5L, 1L, 1L, Gender.MEN, 300.0, 4),
+					entry(6L, 2L, 2L, Gender.WOMEN, 100.0, 4)
+			));
+
+			// Act
+			similarityEngine.rebuild();
+
+			// Assert
+			assertThat(similarityEngine.findSimilar(1L)).contains(List.of(3L, 2L, 5L, 4L));
+		}
+
+		@Test
+		void testFindSimilar_ReturnsAtMostTopK() {
+			// Arrange
+			List<CatalogEntry> catalog = new ArrayList<>();
+			for (long id = 1; id <= 50; id++) {
+				catalog.add(entry(id, 1L, 1L, Gender.MEN, 100.0 + id, 1));
+			}
+			when(productRepository.findAllCatalogEntries()).thenReturn(catalog);
+
+			// Act
+			similarityEngine.rebuild();
+
+			// Assert
+			assertThat(similarityEngine.findSimilar(1L)).hasValueSatisfying(ids -> {
+				assertThat(ids).hasSize(ProductSimilarityEngine.TOP_K);
+				assertThat(ids).startsWith(2L, 3L);
+			});
+		}
+
+		@Test
+		void testFindSimilar_ReturnsEmptyBeforeRebuild() {
+			// Act & Assert
+			assertThat(similarityEngine.findSimilar(1L)).isEmpty();
+		}
+	}
+
+	@Nested
+	class OnProductChangedTests {
+		@Test
+		void testOnProductChanged_RefreshesAffectedNeighbors() {
+			// Arrange
+			when(productRepository.findAllCatalogEntries()).thenReturn(List.of(
+					entry(1L, 1L, 1L, Gender.MEN, 100.0, 5),
+					entry(2L, 1L, 1L, Gender.MEN, 100.0, 5),
+					entry(3L, 2L, 2L, Gender.MEN, 100.0, 5)
+			));
+			similarityEngine.rebuild();
+			when(productRepository.findCatalogEntriesByIdIn(anyCollection()))
+					.thenReturn(List.of(entry(3L, 1L, 1L, Gender.MEN, 100.0, 5)));
+
+			// Act
+			similarityEngine.onProductChanged(new ProductChangedEvent(Set.of(3L), ProductChange.UPDATED));
+
+			// Assert
+			assertThat(similarityEngine.findSimilar(1L)).contains(List.of(2L, 3L));
+			assertThat(similarityEngine.findSimilar(3L)).contains(List.of(1L, 2L));
+		}
+
+		@Test
+		void testOnProductChanged_DropsDeletedProductFromNeighbors() {
+			// Arrange
+			when(productRepository.findAllCatalogEntries()).thenReturn(List.of(
+					entry(1L, 1L, 1L, Gender.MEN, 100.0, 5),
+					entry(2L, 1L, 1L, Gender.MEN, 100.0, 5),
+					entry(3L, 1L, 2L, Gender.MEN, 100.0, 5)
+			));
+			similarityEngine.rebuild();
+
+			// Act
+			similarityEngine.onProductChanged(ProductChangedEvent.of(ProductChange.DELETED, 2L));
+
+			// Assert
+			assertThat(similarityEngine.findSimilar(1L)).contains(List.of(3L));
+			assertThat(similarityEngine.findSimilar(2L)).isEmpty();
+		}
+	
+		@Test
+		void testOnProductChanged_IgnoresStockOnlyChanges() {
+			// Arrange
+			when(productRepository.findAllCatalogEntries()).thenReturn(List.of(
+					entry(1L, 1L, 1L, Gender.MEN, 100.0, 5),
+					entry(2L, 1L, 1L, Gender.MEN, 100.0, 5)
+			));
+			similarityEngine.rebuild();
+
+			// Act
+			similarityEngine.onProductChanged(ProductChangedEvent.of(ProductChange.STOCK_CHANGED, 2L));
+
+			// Assert
+			assertThat(similarityEngine.findSimilar(1L)).contains(List.of(2L));
+			verify(productRepository, never()).findCatalogEntriesByIdIn(anyCollection());
+		}
+
+		@Test
+		void testRebuild_ReplaysChangesThatArriveWhileRebuilding() {
+			// Arrange
+			List<CatalogEntry> before = List.of(
+					entry(1L, 1L, 1L, Gender.MEN, 100.0, 5),
+					entry(2L, 1L, 1L, Gender.MEN, 100.0, 5),
+					entry(3L, 2L, 2L, Gender.MEN, 100.0, 5));
+			when(productRepository.findAllCatalogEntries()).thenReturn(before);
+			similarityEngine.rebuild();
+			when(productRepository.findAllCatalogEntries()).thenAnswer(invocation -> {
+				similarityEngine.onProductChanged(new ProductChangedEvent(Set.of(3L), ProductChange.UPDATED));
+				return before;
+			});
+			when(productRepository.findCatalogEntriesByIdIn(anyCollection()))
+					.thenReturn(List.of(entry(3L, 1L, 1L, Gender.MEN, 100.0, 5)));
+
+			// Act
+			similarityEngine.rebuild();
+
+			// Assert
+			assertThat(similarityEngine.findSimilar(3L)).contains(List.of(1L, 2L));
+		}
+	}
+}
@@ -0,0 +1,214 @@
+package dev.akorovai.backend.product;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+class ProductStockRepositoryTest {
+	private static final int THREADS = 16;
+	private static final int ORDERS_PER_THREAD = 50;
+	private static final int INITIAL_STOCK = 600;
+
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate transactionTemplate;
+	private ProductStockRepository productStockRepository;
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:stock-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		productStockRepository = new ProductStockRepository(jdbcTemplate);
+
+		jdbcTemplate.execute("CREATE TABLE product (id BIGINT PRIMARY KEY, amount INT NOT NULL)");
+		jdbcTemplate.update("INSERT INTO product (id, amount) VALUES (1, ?), (2, ?), (3, ?)", INITIAL_STOCK, INITIAL_STOCK, 5);
+		jdbcTemplate.execute("CREATE TABLE stock_reservation (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, " +
+				                     "product_id BIGINT NOT NULL, quantity INT NOT NULL, expires_at TIMESTAMP NOT NULL)");
+	}
+
+	@Nested
+	class ClampStockTests {
+		@Test
+		void testClampStock_NeverGoesBelowZero() {
+			// Act
+			productStockRepository.clampStock(Map.of(1L, 4, 3L, 6));
+
+			// Assert
+			assertThat(amount(1L)).isEqualTo(INITIAL_STOCK - 4);
+			assertThat(amount(3L)).isZero();
+		}
+	}
+
+	@Nested
+	class DecrementStockTests {
+		@Test
+		void testDecrementStock_AllLinesUpdated() {
+			// Act
+			List<Long> rejected = productStockRepository.decrementStock(Map.of(1L, 4, 2L, 1));
+
+			// Assert
+			assertThat(rejected).isEmpty();
+			assertThat(amount(1L)).isEqualTo(INITIAL_STOCK - 4);
+			assertThat(amount(2L)).isEqualTo(INITIAL_STOCK - 1);
+		}
+
+		@Test
+		void testDecrementStock_ReportsLinesWithInsufficientStock() {
+			// Act
+			List<Long> rejected = productStockRepository.decrementStock(Map.of(1L, 2, 3L, 6));
+
+			// Assert
+			assertThat(rejected).containsExactly(3L);
+			assertThat(amount(3L)).isEqualTo(5);
+		}
+
+		@Test
+		void testDecrementStock_RejectedLineRollsBackWholeOrder() {
+			// Act
+			checkout(Map.of(1L, 2, 3L, 6));
+
+			// Assert
+			assertThat(amount(1L)).isEqualTo(INITIAL_STOCK);
+			assertThat(amount(3L)).isEqualTo(5);
+		}
+	}
+
+	@Nested
+	class DecrementAvailableStockTests {
+		@Test
+		void testDecrementAvailableStock_UnitsHeldByActiveReservationsAreNotSold() {
+			// Arrange
+			LocalDateTime now = LocalDateTime.of(2024, 3, 31, 12, 0);
+			jdbcTemplate.update("INSERT INTO stock_reservation (user_id, product_id, quantity, expires_at) VALUES " +
+					                    "(10, 3, 2, ?), (20, 3, 1, ?), (30, 3, 4, ?)",
+					now.plusMinutes(10), now.plusMinutes(5), now.minusMinutes(1));
+
+			// Act
+			List<Long> rejected = productStockRepository.decrementAvailableStock(Map.of(3L, 3), now);
+			List<Long> accepted = productStockRepository.decrementAvailableStock(Map.of(3L, 2, 1L, 1), now);
+
+			// Assert
+			assertThat(rejected).containsExactly(3L);
+			assertThat(accepted).isEmpty();
+			assertThat(amount(3L)).isEqualTo(3);
+			assertThat(amount(1L)).isEqualTo(INITIAL_STOCK - 1);
+		}
+	}
+
+	@Nested
+	class StressTests {
+		@Test
+		void testConcurrentCheckouts_NeverOversell() throws Exception {
+			// Arrange
+			Map<Long, Integer> order = Map.of(1L, 3, 2L, 1);
+
+			// Act
+			int placed = runConcurrently(() -> checkout(order));
+
+			// Assert
+			assertThat(placed).isEqualTo(INITIAL_STOCK / 3);
+			assertThat(amount(1L)).isZero();
+			assertThat(amount(2L)).isEqualTo(INITIAL_STOCK - placed);
+		}
+
+		@Test
+		void testConcurrentCheckouts_ThroughputAgainstReadModifyWrite() throws Exception {
+			// Arrange
+			Map<Long, Integer> order = Map.of(1L, 1, 2L, 1);
+
+			// Act
+			long legacyStart = System.nanoTime();
+			int legacyPlaced = runConcurrently(() -> checkoutWithReadModifyWrite(order));
+			long legacyNanos = System.nanoTime() - legacyStart;
+			int legacyOversold = legacyPlaced - (INITIAL_STOCK - amount(1L));
+
+			jdbcTemplate.update("UPDATE product SET amount = ? WHERE id IN (1, 2)", INITIAL_STOCK);
+
+			long batchedStart = System.nanoTime();
+			int batchedPlaced = runConcurrently(() -> checkout(order));
+			long batchedNanos = System.nanoTime() - batchedStart;
+
+			// Assert
+			log.info("Read-modify-write: {} orders in {} ms ({} lost updates)",
+					legacyPlaced, legacyNanos / 1_000_000, legacyOversold);
+			log.info("Batched conditional update: {} orders in {} ms",
+					batchedPlaced, batchedNanos / 1_000_000);
+			assertThat(amount(1L)).isEqualTo(INITIAL_STOCK - batchedPlaced);
+			assertThat(amount(2L)).isEqualTo(INITIAL_STOCK - batchedPlaced);
+			assertThat(amount(1L)).isGreaterThanOrEqualTo(0);
+		}
+	}
+
+	private boolean checkout(Map<Long, Integer> order) {
+		return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+			if (!productStockRepository.decrementStock(order).isEmpty()) {
+				status.setRollbackOnly();
+				return false;
+			}
+			return true;
+		}));
+	}
+
+	private boolean checkoutWithReadModifyWrite(Map<Long, Integer> order) {
+		return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+			for (Map.Entry<Long, Integer> line : order.entrySet()) {
+				int newAmount = amount(line.getKey()) - line.getValue();
+				if (newAmount < 0) {
+					status.setRollbackOnly();
+					return false;
+				}
+				jdbcTemplate.update("UPDATE product SET amount = ? WHERE id = ?", newAmount, line.getKey());
+			}
+			return true;
+		}));
+	}
+
+	private int runConcurrently(Callable<Boolean> checkout) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger placed = new AtomicInteger();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int j = 0; j < ORDERS_PER_THREAD; j++) {
+						if (checkout.call()) {
+							placed.incrementAndGet();
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		return placed.get();
+	}
+
+	private int amount(long productId) {
+		Integer amount = jdbcTemplate.queryForObject("SELECT amount FROM product WHERE id = ?", Integer.class, productId);
+		return amount != null ? amount : 0;
+	}
+}
@@ -3,18 +3,27 @@ package dev.akorovai.backend.product.converter;
 import com.github.javafaker.Faker;
 import dev.akorovai.backend.color.Color;
 
+import dev.akorovai.backend.dictionary.DictionaryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.Optional;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.when;
 
 
 class StringToColorConverterTest {
 
+	@Mock
+	private DictionaryService dictionaryService;
+
 	@InjectMocks
 	private StringToColorConverter stringToColorConverter;
 
@@ -30,12 +39,15 @@ class StringToColorConverterTest {
 	void testConvert() {
 		// Arrange
 		String colorName = faker.color().name();
+		Color color = Color.builder().id(1L).name(colorName).code("#000000").build();
+		when(dictionaryService.findColor(colorName)).thenReturn(Optional.of(color));
 
 		// Act
 		Color result = stringToColorConverter.convert(colorName);
 
 		// Assert using AssertJ
 		assertThat(result).isNotNull();
+		assertThat(result.getId()).isEqualTo(1L);
 		assertThat(result.getName()).isEqualTo(colorName);
 
 		// Assert using Hamcrest
@@ -44,36 +56,25 @@ class StringToColorConverterTest {
 	}
 
 	@Test
-	void testConvertWithEmptyString() {
+	void testConvertWithUnknownColor() {
 		// Arrange
-		String emptyString = "";
-
-		// Act
-		Color result = stringToColorConverter.convert(emptyString);
+		String colorName = faker.lorem().word();
+		when(dictionaryService.findColor(colorName)).thenReturn(Optional.empty());
 
-		// Assert using AssertJ
-		assertThat(result).isNotNull();
-		assertThat(result.getName()).isEmpty();
-
-		// Assert using Hamcrest
-		assertThat(result, is(notNullValue()));
-		assertThat(result.getName(), is(""));
+		// Act & Assert
+		assertThatThrownBy(() -> stringToColorConverter.convert(colorName))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Invalid color name: " + colorName);
 	}
 
 	@Test
 	void testConvertWithNull() {
 		// Arrange
-		String nullString = null;
-
-		// Act
-		Color result = stringToColorConverter.convert(nullString);
-
-		// Assert using AssertJ
-		assertThat(result).isNotNull();
-		assertThat(result.getName()).isNull();
+		when(dictionaryService.findColor(null)).thenReturn(Optional.empty());
 
-		// Assert using Hamcrest
-		assertThat(result, is(notNullValue()));
-		assertThat(result.getName(), is(nullValue()));
+		// Act & Assert
+		assertThatThrownBy(() -> stringToColorConverter.convert(null))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Invalid color name: null");
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,275 @@
+package dev.akorovai.backend.reservation;
+
+import dev.akorovai.backend.handler.shopping_cart.InsufficientStockException;
+import dev.akorovai.backend.product.Product;
+import dev.akorovai.backend.user.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTest {
+
+	@Mock
+	private StockReservationRepository stockReservationRepository;
+
+	@InjectMocks
+	private StockReservationService stockReservationService;
+
+	private Product product;
+	private User firstUser;
+	private User secondUser;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(stockReservationService, "ttl", Duration.ofMinutes(15));
+		product = Product.builder().id(1L).name("Jacket").amount(3).build();
+		firstUser = User.builder().id(10L).build();
+		secondUser = User.builder().id(20L).build();
+	}
+
+	@Nested
+	class ReserveTests {
+		@Test
+		void testReserve_SavesHoldWithExpiry() {
+			// Arrange
+			when(stockReservationRepository.findByUserIdAndProductId(10L, 1L)).thenReturn(Optional.empty());
+			ArgumentCaptor<StockReservation> captor = ArgumentCaptor.forClass(StockReservation.class);
+
+			// Act
+			stockReservationService.reserve(firstUser, product, 2);
+
+			// Assert
+			verify(stockReservationRepository).save(captor.capture());
+			assertThat(captor.getValue().getQuantity()).isEqualTo(2);
+			assertThat(captor.getValue().getExpiresAt()).isAfter(LocalDateTime.now().plusMinutes(14));
+		}
+
+		@Test
+		void testReserve_RejectsUnitsHeldByOtherUsers() {
+			// Arrange
+			when(stockReservationRepository.findByUserIdAndProductId(anyLong(), eq(1L))).thenReturn(Optional.empty());
+			stockReservationService.reserve(firstUser, product, 2);
+
+			// Act & Assert
+			assertThatThrownBy(() -> stockReservationService.reserve(secondUser, product, 2))
+					.isInstanceOf(InsufficientStockException.class)
+					.hasMessage("Insufficient stock. Available stock: 1");
+		}
+
+		@Test
+		void testReserve_ExistingHoldCountsTowardsOwnAvailability() {
+			// Arrange
+			StockReservation existing = StockReservation.builder().user(firstUser).product(product).quantity(0).build();
+			when(stockReservationRepository.findByUserIdAndProductId(10L, 1L)).thenReturn(Optional.of(existing));
+			stockReservationService.reserve(firstUser, product, 2);
+
+			// Act
+			stockReservationService.reserve(firstUser, product, 3);
+
+			// Assert
+			assertThat(existing.getQuantity()).isEqualTo(3);
+			verify(stockReservationRepository, times(2)).save(existing);
+		}
+	}
+
+	@Nested
+	class ReserveBatchTests {
+		@Test
+		void testReserve_SavesAllHoldsWithOneLookupAndOneSave() {
+			// Arrange
+			Product boots = Product.builder().id(2L).name("Boots").amount(5).build();
+			StockReservation existing = StockReservation.builder().user(firstUser).product(boots).quantity(1).build();
+			when(stockReservationRepository.findByUserIdAndProductIdIn(10L, List.of(1L, 2L))).thenReturn(List.of(existing));
+			@SuppressWarnings("unchecked")
+			ArgumentCaptor<List<StockReservation>> captor = ArgumentCaptor.forClass(List.class);
+
+			// Act
+			stockReservationService.reserve(firstUser, List.of(product, boots), Map.of(1L, 2, 2L, 4));
+
+			// Assert
+			verify(stockReservationRepository).saveAll(captor.capture());
+			assertThat(captor.getValue()).extracting(StockReservation::getQuantity).containsExactly(2, 4);
+			assertThat(captor.getValue()).element(1).isSameAs(existing);
+			verify(stockReservationRepository, never()).findByUserIdAndProductId(anyLong(), anyLong());
+		}
+
+		@Test
+		void testReserve_RejectsBatchWhenAnyProductIsShort() {
+			// Arrange
+			when(stockReservationRepository.findByUserIdAndProductId(20L, 1L)).thenReturn(Optional.empty());
+			stockReservationService.reserve(secondUser, product, 2);
+			when(stockReservationRepository.findByUserIdAndProductIdIn(10L, List.of(1L))).thenReturn(List.of());
+
+			// Act & Assert
+			assertThatThrownBy(() -> stockReservationService.reserve(firstUser, List.of(product), Map.of(1L, 2)))
+					.isInstanceOf(InsufficientStockException.class)
+					.hasMessage("Insufficient stock. Available stock: 1");
+			verify(stockReservationRepository, never()).saveAll(any());
+		}
+	}
+
+	@Nested
+	class ReleaseTests {
+		@Test
+		void testRelease_FreesHeldUnits() {
+			// Arrange
+			StockReservation reservation = StockReservation.builder().user(firstUser).product(product).quantity(3).build();
+			when(stockReservationRepository.findByUserIdAndProductId(anyLong(), eq(1L))).thenReturn(Optional.empty());
+			stockReservationService.reserve(firstUser, product, 3);
+			when(stockReservationRepository.findByUserIdAndProductIdIn(10L, List.of(1L))).thenReturn(List.of(reservation));
+
+			// Act
+			stockReservationService.release(firstUser, List.of(1L));
+			stockReservationService.reserve(secondUser, product, 3);
+
+			// Assert
+			verify(stockReservationRepository).deleteAllInBatch(List.of(reservation));
+			verify(stockReservationRepository, times(2)).save(any(StockReservation.class));
+		}
+
+		@Test
+		void testRelease_ByUser_FreesOnlyMatchingUserProductPairs() {
+			// Arrange
+			Product hat = Product.builder().id(2L).name("Hat").amount(1).build();
+			StockReservation firstJacket = StockReservation.builder().user(firstUser).product(product).quantity(3).build();
+			StockReservation secondHat = StockReservation.builder().user(secondUser).product(hat).quantity(1).build();
+			StockReservation secondJacket = StockReservation.builder().user(secondUser).product(product).quantity(0).build();
+			when(stockReservationRepository.findByProductIdIn(Set.of(1L, 2L))).thenReturn(List.of(firstJacket, secondHat, secondJacket));
+
+			// Act
+			stockReservationService.release(Map.of(10L, Set.of(1L), 20L, Set.of(2L)));
+
+			// Assert
+			verify(stockReservationRepository).deleteAllInBatch(List.of(firstJacket, secondHat));
+		}
+
+		@Test
+		void testReleaseExpiredReservations_SubtractsOnlyExpiredHolds() {
+			// Arrange
+			Product hat = Product.builder().id(2L).name("Hat").amount(5).build();
+			StockReservation expired = StockReservation.builder().user(firstUser).product(hat).quantity(2).build();
+			when(stockReservationRepository.findByUserIdAndProductId(anyLong(), eq(2L))).thenReturn(Optional.empty());
+			stockReservationService.reserve(firstUser, hat, 2);
+			stockReservationService.reserve(secondUser, hat, 2);
+			when(stockReservationRepository.lockExpired(any(LocalDateTime.class))).thenReturn(List.of(expired));
+
+			// Act
+			stockReservationService.releaseExpiredReservations();
+
+			// Assert
+			verify(stockReservationRepository).deleteAllInBatch(List.of(expired));
+			assertThatThrownBy(() -> stockReservationService.reserve(User.builder().id(30L).build(), hat, 4))
+					.isInstanceOf(InsufficientStockException.class)
+					.hasMessage("Insufficient stock. Available stock: 3");
+		}
+
+		@Test
+		void testLoadHeldQuantities_CountsExistingHolds() {
+			// Arrange
+			when(stockReservationRepository.sumQuantities()).thenReturn(List.of(new Reserved(1L, 2L)));
+			when(stockReservationRepository.findByUserIdAndProductId(10L, 1L)).thenReturn(Optional.empty());
+
+			// Act
+			stockReservationService.loadHeldQuantities();
+
+			// Assert
+			assertThatThrownBy(() -> stockReservationService.reserve(firstUser, product, 2))
+					.isInstanceOf(InsufficientStockException.class)
+					.hasMessage("Insufficient stock. Available stock: 1");
+		}
+	}
+
+	@Nested
+	class TransactionTests {
+		@AfterEach
+		void tearDown() {
+			if (TransactionSynchronizationManager.isSynchronizationActive()) {
+				TransactionSynchronizationManager.clearSynchronization();
+			}
+		}
+
+		@Test
+		void testReserve_UncommittedHoldBlocksOtherUsers() {
+			// Arrange
+			when(stockReservationRepository.findByUserIdAndProductId(anyLong(), eq(1L))).thenReturn(Optional.empty());
+			TransactionSynchronizationManager.initSynchronization();
+
+			// Act
+			stockReservationService.reserve(firstUser, product, 3);
+
+			// Assert
+			assertThatThrownBy(() -> stockReservationService.reserve(secondUser, product, 1))
+					.isInstanceOf(InsufficientStockException.class)
+					.hasMessage("Insufficient stock. Available stock: 0");
+		}
+
+		@Test
+		void testReserve_RolledBackHoldDoesNotBlockOtherUsers() {
+			// Arrange
+			when(stockReservationRepository.findByUserIdAndProductId(anyLong(), eq(1L))).thenReturn(Optional.empty());
+			TransactionSynchronizationManager.initSynchronization();
+			stockReservationService.reserve(firstUser, product, 3);
+
+			// Act
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+			TransactionSynchronizationManager.clearSynchronization();
+
+			// Assert
+			stockReservationService.reserve(secondUser, product, 3);
+			verify(stockReservationRepository, times(2)).save(any(StockReservation.class));
+		}
+
+		@Test
+		void testReserve_CommittedHoldBlocksOtherUsers() {
+			// Arrange
+			when(stockReservationRepository.findByUserIdAndProductId(anyLong(), eq(1L))).thenReturn(Optional.empty());
+			TransactionSynchronizationManager.initSynchronization();
+			stockReservationService.reserve(firstUser, product, 3);
+
+			// Act
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+			TransactionSynchronizationManager.clearSynchronization();
+
+			// Assert
+			assertThatThrownBy(() -> stockReservationService.reserve(secondUser, product, 1))
+					.isInstanceOf(InsufficientStockException.class)
+					.hasMessage("Insufficient stock. Available stock: 0");
+		}
+	}
+
+	private record Reserved(Long productId, Long quantity) implements ReservedQuantity {
+		@Override
+		public Long getProductId() {
+			return productId;
+		}
+
+		@Override
+		public Long getQuantity() {
+			return quantity;
+		}
+	}
+}
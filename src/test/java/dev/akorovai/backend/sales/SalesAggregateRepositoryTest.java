@@ -0,0 +1,154 @@
+package dev.akorovai.backend.sales;
+
+import dev.akorovai.backend.sales.response.RevenuePointResponse;
+import dev.akorovai.backend.sales.response.TopProductResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SalesAggregateRepositoryTest {
+	private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+	private SalesAggregateRepository salesAggregateRepository;
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:sales-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		salesAggregateRepository = new SalesAggregateRepository(jdbcTemplate);
+
+		jdbcTemplate.execute("CREATE TABLE product (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+		jdbcTemplate.execute("CREATE TABLE daily_product_sales (sale_date DATE NOT NULL, product_id BIGINT NOT NULL, type_id BIGINT, " +
+				                     "units_sold BIGINT NOT NULL, revenue_minor BIGINT NOT NULL, PRIMARY KEY (sale_date, product_id))");
+		jdbcTemplate.update("INSERT INTO product (id, name) VALUES (1, 'Shirt'), (2, 'Hat'), (3, 'Boots')");
+		jdbcTemplate.update("INSERT INTO daily_product_sales VALUES " +
+				                    "(?, 1, 10, 3, 6000), (?, 2, 20, 5, 7500), " +
+				                    "(?, 1, 10, 4, 8000), (?, 3, 10, 1, 9999), " +
+				                    "(?, 3, 10, 50, 500000)",
+				DAY, DAY, DAY.plusDays(1), DAY.plusDays(1), DAY.plusDays(10));
+	}
+
+	// H2 has no ON CONFLICT ... DO UPDATE, so the upsert is checked against the statement and bound parameters.
+	@Nested
+	class RecordTests {
+		private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		private final SalesAggregateRepository repository = new SalesAggregateRepository(jdbcTemplate);
+
+		@Test
+		@SuppressWarnings("unchecked")
+		void testRecord_UpsertsLinesInProductOrder() throws SQLException {
+			// Arrange
+			ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+			ArgumentCaptor<Collection<SalesLine>> linesCaptor = ArgumentCaptor.forClass(Collection.class);
+			ArgumentCaptor<ParameterizedPreparedStatementSetter<SalesLine>> setterCaptor =
+					ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+			PreparedStatement statement = mock(PreparedStatement.class);
+
+			// Act
+			repository.record(DAY, List.of(
+					new SalesLine(2L, null, 4, 6000),
+					new SalesLine(1L, 10L, 1, 2000)));
+
+			// Assert
+			verify(jdbcTemplate).batchUpdate(sqlCaptor.capture(), linesCaptor.capture(), eq(2), setterCaptor.capture());
+			assertThat(sqlCaptor.getValue())
+					.startsWith("INSERT INTO daily_product_sales")
+					.contains("ON CONFLICT (sale_date, product_id) DO UPDATE SET")
+					.contains("units_sold = daily_product_sales.units_sold + EXCLUDED.units_sold")
+					.contains("revenue_minor = daily_product_sales.revenue_minor + EXCLUDED.revenue_minor");
+			assertThat(linesCaptor.getValue()).extracting(SalesLine::productId).containsExactly(1L, 2L);
+
+			setterCaptor.getValue().setValues(statement, new SalesLine(2L, null, 4, 6000));
+			verify(statement).setDate(1, Date.valueOf(DAY));
+			verify(statement).setLong(2, 2L);
+			verify(statement).setObject(3, null, Types.BIGINT);
+			verify(statement).setLong(4, 4L);
+			verify(statement).setLong(5, 6000L);
+		}
+
+		@Test
+		void testRecord_IgnoresEmptyLines() {
+			// Act
+			repository.record(DAY, List.of());
+
+			// Assert
+			verifyNoInteractions(jdbcTemplate);
+		}
+	}
+
+	@Nested
+	class TopProductsTests {
+		@Test
+		void testFindTopProducts_SumsUnitsAcrossDaysInRange() {
+			// Act
+			List<TopProductResponse> result = salesAggregateRepository.findTopProducts(DAY, DAY.plusDays(1), null, 10);
+
+			// Assert
+			assertThat(result)
+					.extracting(TopProductResponse::getProductId, TopProductResponse::getProductName, TopProductResponse::getUnitsSold, TopProductResponse::getRevenue)
+					.containsExactly(
+							tuple(1L, "Shirt", 7L, 140.0),
+							tuple(2L, "Hat", 5L, 75.0),
+							tuple(3L, "Boots", 1L, 99.99));
+		}
+
+		@Test
+		void testFindTopProducts_FiltersByTypeAndLimits() {
+			// Act
+			List<TopProductResponse> result = salesAggregateRepository.findTopProducts(DAY, DAY.plusDays(1), 10L, 1);
+
+			// Assert
+			assertThat(result)
+					.extracting(TopProductResponse::getProductId, TopProductResponse::getUnitsSold)
+					.containsExactly(tuple(1L, 7L));
+		}
+	}
+
+	@Nested
+	class RevenueSeriesTests {
+		@Test
+		void testFindRevenueSeries_GroupsByDay() {
+			// Act
+			List<RevenuePointResponse> result = salesAggregateRepository.findRevenueSeries(DAY, DAY.plusDays(1), null, null);
+
+			// Assert
+			assertThat(result)
+					.extracting(RevenuePointResponse::getDate, RevenuePointResponse::getUnitsSold, RevenuePointResponse::getRevenue)
+					.containsExactly(
+							tuple(DAY, 8L, 135.0),
+							tuple(DAY.plusDays(1), 5L, 179.99));
+		}
+
+		@Test
+		void testFindRevenueSeries_FiltersByProduct() {
+			// Act
+			List<RevenuePointResponse> result = salesAggregateRepository.findRevenueSeries(DAY, DAY.plusDays(30), 10L, 3L);
+
+			// Assert
+			assertThat(result)
+					.extracting(RevenuePointResponse::getDate, RevenuePointResponse::getUnitsSold, RevenuePointResponse::getRevenue)
+					.containsExactly(
+							tuple(DAY.plusDays(1), 1L, 99.99),
+							tuple(DAY.plusDays(10), 50L, 5000.0));
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package dev.akorovai.backend.sales;
+
+import dev.akorovai.backend.handler.sales.InvalidDateRangeException;
+import dev.akorovai.backend.sales.response.RevenuePointResponse;
+import dev.akorovai.backend.sales.response.TopProductResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalesAnalyticsServiceTest {
+	private static final LocalDate FROM = LocalDate.of(2024, 3, 1);
+	private static final LocalDate TO = LocalDate.of(2024, 3, 31);
+
+	@Mock
+	private SalesAggregateRepository salesAggregateRepository;
+
+	@InjectMocks
+	private SalesAnalyticsService salesAnalyticsService;
+
+	@Test
+	void testGetTopProducts_ClampsLimit() {
+		// Arrange
+		List<TopProductResponse> rows = List.of(new TopProductResponse(1L, "Shirt", 7, 140.0));
+		when(salesAggregateRepository.findTopProducts(FROM, TO, 2L, 100)).thenReturn(rows);
+
+		// Act
+		List<TopProductResponse> result = salesAnalyticsService.getTopProducts(FROM, TO, 2L, 5000);
+
+		// Assert
+		assertThat(result).isSameAs(rows);
+	}
+
+	@Test
+	void testGetRevenueSeries_DelegatesToAggregates() {
+		// Arrange
+		List<RevenuePointResponse> rows = List.of(new RevenuePointResponse(FROM, 8, 135.0));
+		when(salesAggregateRepository.findRevenueSeries(FROM, TO, null, 1L)).thenReturn(rows);
+
+		// Act
+		List<RevenuePointResponse> result = salesAnalyticsService.getRevenueSeries(FROM, TO, null, 1L);
+
+		// Assert
+		assertThat(result).isSameAs(rows);
+	}
+
+	@Test
+	void testGetRevenueSeries_RejectsReversedRange() {
+		// Act & Assert
+		assertThatThrownBy(() -> salesAnalyticsService.getRevenueSeries(TO, FROM, null, null))
+				.isInstanceOf(InvalidDateRangeException.class)
+				.hasMessage("Start date must not be after end date.");
+
+		verifyNoInteractions(salesAggregateRepository);
+	}
+
+	@Test
+	void testGetTopProducts_RejectsTooLongRange() {
+		// Act & Assert
+		assertThatThrownBy(() -> salesAnalyticsService.getTopProducts(FROM, FROM.plusYears(2), null, 10))
+				.isInstanceOf(InvalidDateRangeException.class)
+				.hasMessage("Date range must not exceed 366 days.");
+
+		verifyNoInteractions(salesAggregateRepository);
+	}
+}
@@ -2,10 +2,12 @@ package dev.akorovai.backend.shopping_cart;
 
 import com.github.javafaker.Faker;
 import dev.akorovai.backend.security.ResponseRecord;
+import dev.akorovai.backend.shopping_cart.request.CartBatchRequest;
 import dev.akorovai.backend.shopping_cart.response.ShoppingCartItemResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -17,6 +19,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import java.util.Collections;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -112,4 +115,56 @@ public class ShoppingCartControllerTest {
 
 		verify(shoppingCartItemService).addProductToCart(productId);
 	}
-}
\ No newline at end of file
+
+	@Test
+	void applyCartBatch_AppliesOperationsSuccessfully() throws Exception {
+		// Arrange
+		String body = """
+				{"operations": [
+				  {"type": "ADD", "productId": 1, "quantity": 2},
+				  {"type": "REMOVE", "productId": 2}
+				]}
+				""";
+
+		// Act & Assert
+		mockMvc.perform(post("/api/shopping-cart/items/batch")
+				                .content(body)
+				                .contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNoContent())
+				.andExpect(jsonPath("$.code", is(HttpStatus.NO_CONTENT.value())))
+				.andExpect(jsonPath("$.message", is("Shopping cart updated successfully")));
+
+		ArgumentCaptor<CartBatchRequest> requestCaptor = ArgumentCaptor.forClass(CartBatchRequest.class);
+		verify(shoppingCartItemService).applyBatch(requestCaptor.capture());
+		assertThat(requestCaptor.getValue().getOperations()).hasSize(2);
+	}
+
+	@Test
+	void applyCartBatch_RejectsInvalidOperations() throws Exception {
+		// Arrange
+		String body = """
+				{"operations": [
+				  {"type": "ADD", "quantity": 0}
+				]}
+				""";
+
+		// Act & Assert
+		mockMvc.perform(post("/api/shopping-cart/items/batch")
+				                .content(body)
+				                .contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+
+		verifyNoInteractions(shoppingCartItemService);
+	}
+
+	@Test
+	void applyCartBatch_RejectsEmptyBatch() throws Exception {
+		// Act & Assert
+		mockMvc.perform(post("/api/shopping-cart/items/batch")
+				                .content("{\"operations\": []}")
+				                .contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isBadRequest());
+
+		verifyNoInteractions(shoppingCartItemService);
+	}
+}
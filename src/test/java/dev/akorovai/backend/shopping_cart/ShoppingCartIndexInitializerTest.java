@@ -0,0 +1,62 @@
+package dev.akorovai.backend.shopping_cart;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ShoppingCartIndexInitializerTest {
+
+	private JdbcTemplate jdbcTemplate;
+	private ShoppingCartIndexInitializer shoppingCartIndexInitializer;
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:cart-index-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		shoppingCartIndexInitializer = new ShoppingCartIndexInitializer(jdbcTemplate);
+
+		jdbcTemplate.execute("CREATE TABLE shopping_cart_item (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, " +
+				                     "product_id BIGINT NOT NULL, quantity INT NOT NULL, created_date TIMESTAMP NOT NULL)");
+		jdbcTemplate.update("INSERT INTO shopping_cart_item (user_id, product_id, quantity, created_date) VALUES " +
+				                    "(1, 10, 1, NOW()), (1, 10, 2, NOW()), (1, 20, 1, NOW()), (2, 10, 4, NOW()), (1, 10, 3, NOW())");
+	}
+
+	@Test
+	void testRun_MergesDuplicateLinesIntoOldestAndCreatesUniqueIndex() {
+		// Act
+		shoppingCartIndexInitializer.run();
+
+		// Assert
+		List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+				"SELECT id, user_id, product_id, quantity FROM shopping_cart_item ORDER BY id");
+		assertThat(rows).extracting(row -> ((Number) row.get("ID")).longValue(), row -> ((Number) row.get("QUANTITY")).intValue())
+				.containsExactly(
+						tuple(1L, 6),
+						tuple(3L, 1),
+						tuple(4L, 4));
+		assertThatThrownBy(() -> jdbcTemplate.update(
+				"INSERT INTO shopping_cart_item (user_id, product_id, quantity, created_date) VALUES (1, 20, 1, NOW())"))
+				.isInstanceOf(DuplicateKeyException.class);
+	}
+
+	@Test
+	void testRun_IsIdempotent() {
+		// Act
+		shoppingCartIndexInitializer.run();
+		shoppingCartIndexInitializer.run();
+
+		// Assert
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM shopping_cart_item", Integer.class)).isEqualTo(3);
+	}
+}
@@ -0,0 +1,66 @@
+package dev.akorovai.backend.shopping_cart;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ShoppingCartItemBatchRepositoryTest {
+
+	private JdbcTemplate jdbcTemplate;
+	private ShoppingCartItemBatchRepository shoppingCartItemBatchRepository;
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:cart-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		shoppingCartItemBatchRepository = new ShoppingCartItemBatchRepository(jdbcTemplate);
+
+		jdbcTemplate.execute("CREATE TABLE shopping_cart_item (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, " +
+				                     "product_id BIGINT NOT NULL, quantity INT NOT NULL, created_date TIMESTAMP NOT NULL, last_modified_date TIMESTAMP)");
+		jdbcTemplate.update("INSERT INTO shopping_cart_item (user_id, product_id, quantity, created_date) VALUES " +
+				                    "(1, 10, 1, NOW()), (1, 20, 2, NOW()), (2, 10, 5, NOW())");
+	}
+
+	@Test
+	void testBatchWrites_ApplyInsertsUpdatesAndDeletes() {
+		// Arrange
+		Long shirtItemId = itemId(1L, 10L);
+		Long hatItemId = itemId(1L, 20L);
+
+		LocalDateTime now = LocalDateTime.of(2024, 3, 31, 12, 0);
+
+		// Act
+		shoppingCartItemBatchRepository.insertItems(1L, Map.of(30L, 3, 40L, 1), now);
+		shoppingCartItemBatchRepository.updateQuantities(Map.of(shirtItemId, 4), now);
+		shoppingCartItemBatchRepository.deleteItems(List.of(hatItemId));
+
+		// Assert
+		List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+				"SELECT product_id, quantity FROM shopping_cart_item WHERE user_id = 1 ORDER BY product_id");
+		assertThat(rows).extracting(row -> ((Number) row.get("PRODUCT_ID")).longValue(), row -> ((Number) row.get("QUANTITY")).intValue())
+				.containsExactly(
+						tuple(10L, 4),
+						tuple(30L, 3),
+						tuple(40L, 1));
+		assertThat(jdbcTemplate.queryForObject("SELECT quantity FROM shopping_cart_item WHERE user_id = 2", Integer.class)).isEqualTo(5);
+		assertThat(jdbcTemplate.queryForList("SELECT last_modified_date FROM shopping_cart_item WHERE user_id = 1", LocalDateTime.class))
+				.containsOnly(now);
+		assertThat(jdbcTemplate.queryForObject("SELECT last_modified_date FROM shopping_cart_item WHERE user_id = 2", LocalDateTime.class))
+				.isNull();
+	}
+
+	private Long itemId(Long userId, Long productId) {
+		return jdbcTemplate.queryForObject("SELECT id FROM shopping_cart_item WHERE user_id = ? AND product_id = ?",
+				Long.class, userId, productId);
+	}
+}
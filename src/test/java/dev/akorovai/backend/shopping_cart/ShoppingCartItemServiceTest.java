@@ -2,13 +2,19 @@ package dev.akorovai.backend.shopping_cart;
 
 
 import com.github.javafaker.Faker;
+import dev.akorovai.backend.handler.product.ProductNotFoundException;
 import dev.akorovai.backend.handler.shopping_cart.*;
+import dev.akorovai.backend.pricing.PricingEngine;
 import dev.akorovai.backend.product.Product;
 import dev.akorovai.backend.product.ProductRepository;
 import dev.akorovai.backend.product.mapper.ProductMapper;
 import dev.akorovai.backend.product.response.ProductCartResponse;
+import dev.akorovai.backend.reservation.StockReservationService;
 import dev.akorovai.backend.security.JwtService;
 import dev.akorovai.backend.shopping_cart.mapper.ShoppingCartItemMapper;
+import dev.akorovai.backend.shopping_cart.request.CartBatchRequest;
+import dev.akorovai.backend.shopping_cart.request.CartOperation;
+import dev.akorovai.backend.shopping_cart.request.CartOperationType;
 import dev.akorovai.backend.shopping_cart.response.ShoppingCartItemResponse;
 import dev.akorovai.backend.user.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,11 +26,20 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,6 +58,15 @@ public class ShoppingCartItemServiceTest {
 	@Mock
 	private ProductRepository productRepository;
 
+	@Mock
+	private StockReservationService stockReservationService;
+
+	@Mock
+	private PricingEngine pricingEngine;
+
+	@Mock
+	private ShoppingCartItemBatchRepository shoppingCartItemBatchRepository;
+
 	@InjectMocks
 	private ShoppingCartItemService shoppingCartItemService;
 
@@ -79,9 +103,15 @@ public class ShoppingCartItemServiceTest {
 		@Test
 		void whenUserHasItemsInCart_thenReturnInStockItems() {
 			// Arrange
+			ShoppingCartItemView itemView = createItemView(shoppingCartItem.getId(), product.getAmount());
 			when(jwtService.getAuthenticatedUser()).thenReturn(user);
-			when(shoppingCartItemRepository.findByUserIdWithProduct(user.getId()))
-					.thenReturn(List.of(shoppingCartItem));
+			when(shoppingCartItemRepository.findInStockViewsByUserId(user.getId()))
+					.thenReturn(List.of(itemView));
+			when(pricingEngine.priceCart(any(), any(), any(), eq(1))).thenAnswer(invocation -> {
+				long[] unitPrices = invocation.getArgument(2);
+				unitPrices[0] = 1999;
+				return 1999L * shoppingCartItem.getQuantity();
+			});
 
 			// Create a valid ProductCartResponse
 			ProductCartResponse productCartResponse = ProductCartResponse.builder()
@@ -96,7 +126,7 @@ public class ShoppingCartItemServiceTest {
 					                                          .build();
 
 			// Mock the mapper to return a valid ShoppingCartItemResponse
-			when(shoppingCartItemMapper.toShoppingCartItemResponse(shoppingCartItem))
+			when(shoppingCartItemMapper.toShoppingCartItemResponse(itemView, 19.99))
 					.thenReturn(ShoppingCartItemResponse.builder()
 							            .id(shoppingCartItem.getId())
 							            .quantity(shoppingCartItem.getQuantity())
@@ -109,33 +139,29 @@ public class ShoppingCartItemServiceTest {
 
 			// Assert
 			assertThat(result).hasSize(1);
-			verify(shoppingCartItemRepository).findByUserIdWithProduct(user.getId());
-			verify(shoppingCartItemMapper).toShoppingCartItemResponse(shoppingCartItem);
+			verify(shoppingCartItemRepository).findInStockViewsByUserId(user.getId());
+			verify(shoppingCartItemMapper).toShoppingCartItemResponse(itemView, 19.99);
+			verify(shoppingCartItemRepository, never()).deleteAllByIdInBatch(anyList());
 		}
 
 		@Test
-		void whenUserHasOutOfStockItems_thenRemoveOutOfStockItems() {
+		void whenCartHasNoInStockItems_thenReturnEmptyListWithoutWrites() {
 			// Arrange
-			Product outOfStockProduct = Product.builder()
-					                            .id(faker.number().randomNumber())
-					                            .amount(0) // Out of stock
-					                            .build();
-			ShoppingCartItem outOfStockItem = ShoppingCartItem.builder()
-					                                  .id(faker.number().randomNumber())
-					                                  .user(user)
-					                                  .product(outOfStockProduct)
-					                                  .quantity(faker.number().numberBetween(1, 10))
-					                                  .build();
-
 			when(jwtService.getAuthenticatedUser()).thenReturn(user);
-			when(shoppingCartItemRepository.findByUserIdWithProduct(user.getId()))
-					.thenReturn(List.of(shoppingCartItem, outOfStockItem));
+			when(shoppingCartItemRepository.findInStockViewsByUserId(user.getId())).thenReturn(List.of());
 
 			// Act
-			shoppingCartItemService.getShoppingCartItemsByUserId();
+			List<ShoppingCartItemResponse> result = shoppingCartItemService.getShoppingCartItemsByUserId();
 
 			// Assert
-			verify(shoppingCartItemRepository).deleteAll(List.of(outOfStockItem));
+			assertThat(result).isEmpty();
+			verify(shoppingCartItemRepository, never()).deleteAllByIdInBatch(anyList());
+			verifyNoInteractions(shoppingCartItemMapper);
+		}
+
+		private ShoppingCartItemView createItemView(Long itemId, int amount) {
+			return new ShoppingCartItemView(itemId, shoppingCartItem.getQuantity(), user.getId(), product.getId(),
+					faker.commerce().productName(), faker.color().name(), faker.number().randomDouble(2, 10, 100), 0, amount);
 		}
 	}
 
@@ -154,6 +180,7 @@ public class ShoppingCartItemServiceTest {
 
 			// Assert
 			verify(shoppingCartItemRepository).delete(shoppingCartItem);
+			verify(stockReservationService).release(user, List.of(product.getId()));
 		}
 
 		@Test
@@ -200,6 +227,7 @@ public class ShoppingCartItemServiceTest {
 
 			// Assert
 			assertThat(shoppingCartItem.getQuantity()).isEqualTo(newQuantity);
+			verify(stockReservationService).reserve(user, product, newQuantity);
 			verify(shoppingCartItemRepository).save(shoppingCartItem);
 		}
 
@@ -260,61 +288,134 @@ public class ShoppingCartItemServiceTest {
 	class AddProductToCartTests {
 
 		@Test
-		void whenProductExistsAndItemExists_thenUpdateQuantity() {
+		void whenProductIsInStock_thenUpsertsLineAndRecordsReservedDelta() {
 			// Arrange
 			when(jwtService.getAuthenticatedUser()).thenReturn(user);
-			when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
-			when(shoppingCartItemRepository.findByUserAndProduct(user, product))
-					.thenReturn(Optional.of(shoppingCartItem));
-
-			// Capture the original quantity
-			int originalQuantity = shoppingCartItem.getQuantity();
+			when(stockReservationService.expiresAt(any(LocalDateTime.class))).thenAnswer(invocation ->
+					invocation.<LocalDateTime>getArgument(0).plusMinutes(15));
+			when(shoppingCartItemRepository.incrementQuantity(eq(user.getId()), eq(product.getId()), any(LocalDateTime.class), any(LocalDateTime.class)))
+					.thenReturn(Optional.of(upsertResult(10, 3, 2)));
 
 			// Act
 			shoppingCartItemService.addProductToCart(product.getId());
 
 			// Assert
-			assertThat(shoppingCartItem.getQuantity()).isEqualTo(originalQuantity + 1);
-			verify(shoppingCartItemRepository).save(shoppingCartItem);
+			verify(stockReservationService).recordReserved(product.getId(), 1);
+			verify(stockReservationService, never()).reserve(any(), any(), anyInt(), anyInt());
+			verifyNoInteractions(productRepository);
+			verify(shoppingCartItemRepository, never()).save(any());
 		}
 
 		@Test
-		void whenProductExistsAndItemDoesNotExist_thenAddNewItem() {
+		void whenProductDoesNotExist_thenThrowIllegalArgumentException() {
+			// Arrange
+			when(jwtService.getAuthenticatedUser()).thenReturn(user);
+			when(stockReservationService.expiresAt(any(LocalDateTime.class))).thenAnswer(invocation ->
+					invocation.<LocalDateTime>getArgument(0).plusMinutes(15));
+			when(shoppingCartItemRepository.incrementQuantity(eq(user.getId()), eq(product.getId()), any(LocalDateTime.class), any(LocalDateTime.class)))
+					.thenReturn(Optional.empty());
+
+			// Act & Assert
+			assertThrows(IllegalArgumentException.class,
+					() -> shoppingCartItemService.addProductToCart(product.getId()));
+			verify(stockReservationService, never()).recordReserved(any(), anyInt());
+		}
+
+		@Test
+		void whenQuantityExceedsStock_thenThrowInsufficientStockException() {
 			// Arrange
 			when(jwtService.getAuthenticatedUser()).thenReturn(user);
-			when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
-			when(shoppingCartItemRepository.findByUserAndProduct(user, product)).thenReturn(Optional.empty());
+			when(stockReservationService.expiresAt(any(LocalDateTime.class))).thenAnswer(invocation ->
+					invocation.<LocalDateTime>getArgument(0).plusMinutes(15));
+			when(shoppingCartItemRepository.incrementQuantity(eq(user.getId()), eq(product.getId()), any(LocalDateTime.class), any(LocalDateTime.class)))
+					.thenReturn(Optional.of(upsertResult(1, null, 0)));
+
+			// Act & Assert
+			InsufficientStockException exception = assertThrows(InsufficientStockException.class,
+					() -> shoppingCartItemService.addProductToCart(product.getId()));
+			assertThat(exception.getMessage()).isEqualTo("Insufficient stock. Available stock: 1");
+			verify(stockReservationService, never()).recordReserved(any(), anyInt());
+		}
+
+		private CartUpsertResult upsertResult(Integer amount, Integer quantity, Integer reservedBefore) {
+			return new CartUpsertResult() {
+				@Override
+				public Integer getAmount() {
+					return amount;
+				}
+
+				@Override
+				public Integer getQuantity() {
+					return quantity;
+				}
+
+				@Override
+				public Integer getReservedBefore() {
+					return reservedBefore;
+				}
+			};
+		}
+	}
+
+	@Nested
+	class ApplyBatchTests {
+
+		@Test
+		void whenOperationsTouchSeveralProducts_thenWritesOnePlanInBatches() {
+			// Arrange
+			Product shirt = Product.builder().id(1L).amount(10).build();
+			Product hat = Product.builder().id(2L).amount(10).build();
+			Product boots = Product.builder().id(3L).amount(10).build();
+			ShoppingCartItem hatItem = ShoppingCartItem.builder().id(20L).user(user).product(hat).quantity(1).build();
+			ShoppingCartItem bootsItem = ShoppingCartItem.builder().id(30L).user(user).product(boots).quantity(2).build();
+			CartBatchRequest request = new CartBatchRequest(List.of(
+					new CartOperation(CartOperationType.ADD, 1L, null),
+					new CartOperation(CartOperationType.ADD, 1L, 2),
+					new CartOperation(CartOperationType.SET, 2L, 4),
+					new CartOperation(CartOperationType.REMOVE, 3L, null)));
+
+			when(jwtService.getAuthenticatedUser()).thenReturn(user);
+			when(productRepository.findAllById(Set.of(1L, 2L, 3L))).thenReturn(List.of(shirt, hat, boots));
+			when(shoppingCartItemRepository.findByUserIdAndProductIdIn(user.getId(), Set.of(1L, 2L, 3L)))
+					.thenReturn(List.of(hatItem, bootsItem));
 
 			// Act
-			shoppingCartItemService.addProductToCart(product.getId());
+			shoppingCartItemService.applyBatch(request);
 
 			// Assert
-			verify(shoppingCartItemRepository).save(Mockito.any(ShoppingCartItem.class));
+			verify(stockReservationService).reserve(user, List.of(shirt, hat), Map.of(1L, 3, 2L, 4));
+			verify(shoppingCartItemBatchRepository).insertItems(eq(user.getId()), eq(Map.of(1L, 3)), any(LocalDateTime.class));
+			verify(shoppingCartItemBatchRepository).updateQuantities(eq(Map.of(20L, 4)), any(LocalDateTime.class));
+			verify(shoppingCartItemBatchRepository).deleteItems(List.of(30L));
+			verify(stockReservationService).release(user, List.of(3L));
 		}
 
 		@Test
-		void whenProductDoesNotExist_thenThrowIllegalArgumentException() {
+		void whenTargetQuantityExceedsStock_thenNothingIsWritten() {
 			// Arrange
+			Product shirt = Product.builder().id(1L).amount(2).build();
+			CartBatchRequest request = new CartBatchRequest(List.of(new CartOperation(CartOperationType.SET, 1L, 3)));
+
 			when(jwtService.getAuthenticatedUser()).thenReturn(user);
-			when(productRepository.findById(product.getId())).thenReturn(Optional.empty());
+			when(productRepository.findAllById(Set.of(1L))).thenReturn(List.of(shirt));
+			when(shoppingCartItemRepository.findByUserIdAndProductIdIn(user.getId(), Set.of(1L))).thenReturn(List.of());
 
 			// Act & Assert
-			assertThrows(IllegalArgumentException.class,
-					() -> shoppingCartItemService.addProductToCart(product.getId()));
+			assertThrows(InsufficientStockException.class, () -> shoppingCartItemService.applyBatch(request));
+			verifyNoInteractions(shoppingCartItemBatchRepository, stockReservationService);
 		}
 
 		@Test
-		void whenQuantityExceedsStock_thenThrowInsufficientStockException() {
+		void whenProductDoesNotExist_thenThrowProductNotFoundException() {
 			// Arrange
-			product.setAmount(1); // Only 1 item in stock
+			CartBatchRequest request = new CartBatchRequest(List.of(new CartOperation(CartOperationType.ADD, 9L, 1)));
+
 			when(jwtService.getAuthenticatedUser()).thenReturn(user);
-			when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
-			when(shoppingCartItemRepository.findByUserAndProduct(user, product))
-					.thenReturn(Optional.of(shoppingCartItem));
+			when(productRepository.findAllById(Set.of(9L))).thenReturn(List.of());
 
 			// Act & Assert
-			assertThrows(InsufficientStockException.class,
-					() -> shoppingCartItemService.addProductToCart(product.getId()));
+			assertThrows(ProductNotFoundException.class, () -> shoppingCartItemService.applyBatch(request));
+			verifyNoInteractions(shoppingCartItemBatchRepository, stockReservationService);
 		}
 	}
-}
\ No newline at end of file
+}
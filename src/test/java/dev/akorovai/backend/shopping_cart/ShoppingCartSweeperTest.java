@@ -0,0 +1,103 @@
+package dev.akorovai.backend.shopping_cart;
+
+import dev.akorovai.backend.reservation.StockReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShoppingCartSweeperTest {
+	private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 31, 12, 0);
+
+	@Mock
+	private ShoppingCartItemRepository shoppingCartItemRepository;
+
+	@Mock
+	private StockReservationService stockReservationService;
+
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	private ShoppingCartSweeper shoppingCartSweeper;
+
+	@BeforeEach
+	void setUp() {
+		shoppingCartSweeper = new ShoppingCartSweeper(shoppingCartItemRepository, stockReservationService, transactionTemplate,
+				2, Duration.ofDays(30));
+		when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+				invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+	}
+
+	@Test
+	void testSweep_DeletesOutOfStockLinesInChunksUntilShortChunk() {
+		// Arrange
+		when(shoppingCartItemRepository.lockOutOfStockChunk(2)).thenReturn(
+				List.of(line(1L, 10L, 100L), line(2L, 11L, 100L)),
+				List.of(line(3L, 10L, 101L), line(4L, 12L, 101L)),
+				List.of(line(5L, 13L, 100L)));
+		when(shoppingCartItemRepository.lockAbandonedChunk(NOW.minusDays(30), 2)).thenReturn(List.of());
+
+		// Act
+		shoppingCartSweeper.sweep(NOW);
+
+		// Assert
+		verify(shoppingCartItemRepository, times(3)).lockOutOfStockChunk(2);
+		verify(shoppingCartItemRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+		verify(shoppingCartItemRepository).deleteAllByIdInBatch(List.of(3L, 4L));
+		verify(shoppingCartItemRepository).deleteAllByIdInBatch(List.of(5L));
+		verify(shoppingCartItemRepository, times(1)).lockAbandonedChunk(NOW.minusDays(30), 2);
+		verify(transactionTemplate, times(4)).execute(any());
+	}
+
+	@Test
+	void testSweep_DeletesAbandonedLinesOlderThanConfiguredAge() {
+		// Arrange
+		when(shoppingCartItemRepository.lockOutOfStockChunk(2)).thenReturn(List.of());
+		when(shoppingCartItemRepository.lockAbandonedChunk(NOW.minusDays(30), 2)).thenReturn(
+				List.of(line(1L, 10L, 100L), line(2L, 11L, 100L)), List.of());
+
+		// Act
+		shoppingCartSweeper.sweep(NOW);
+
+		// Assert
+		verify(shoppingCartItemRepository, times(2)).lockAbandonedChunk(NOW.minusDays(30), 2);
+		verify(shoppingCartItemRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+		verify(shoppingCartItemRepository, never()).deleteAllInBatch(any());
+	}
+
+	@Test
+	void testSweep_ReleasesReservationsOfDeletedLinesInTheSameChunk() {
+		// Arrange
+		when(shoppingCartItemRepository.lockOutOfStockChunk(2)).thenReturn(
+				List.of(line(1L, 10L, 100L), line(2L, 10L, 101L)), List.of(line(3L, 11L, 100L)));
+		when(shoppingCartItemRepository.lockAbandonedChunk(NOW.minusDays(30), 2)).thenReturn(List.of());
+
+		// Act
+		shoppingCartSweeper.sweep(NOW);
+
+		// Assert
+		verify(stockReservationService).release(Map.of(100L, Set.of(10L), 101L, Set.of(10L)));
+		verify(stockReservationService).release(Map.of(100L, Set.of(11L)));
+		verifyNoMoreInteractions(stockReservationService);
+	}
+
+	private static CartLineKey line( Long id, Long productId, Long userId ) {
+		return new Line(id, userId, productId);
+	}
+
+	private record Line(Long getId, Long getUserId, Long getProductId) implements CartLineKey {
+	}
+}